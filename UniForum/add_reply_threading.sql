@@ -0,0 +1,9 @@
+-- Threaded replies: a reply may answer another reply of the same post (NULL = top-level comment)
+-- Foreign keys are not enforced on our connections, so ReplyDAO.deleteReply removes a subtree itself
+
+ALTER TABLE Replies ADD COLUMN parent_reply_id INTEGER REFERENCES Replies(reply_id);
+
+-- Top-level comments of a post in display order, and each reply's children in display order
+-- (ReplyDAO.getReplyThread seeks on both, so loading a page of a thread never sorts)
+CREATE INDEX IF NOT EXISTS idx_replies_post_parent_created ON Replies(post_id, parent_reply_id, created_time, reply_id);
+CREATE INDEX IF NOT EXISTS idx_replies_parent_created ON Replies(parent_reply_id, created_time, reply_id);
@@ -0,0 +1,34 @@
+-- Course catalog used by the course selection screen (loaded once by CourseCatalog)
+-- department is the code shown in the department picker; name is the full section label, which is also
+-- the name of the course's community. CourseDAO.ensureTable creates and seeds the table the same way if this
+-- script was never run.
+
+CREATE TABLE IF NOT EXISTS Courses (
+    course_id INTEGER PRIMARY KEY AUTOINCREMENT,
+    department TEXT NOT NULL,
+    code TEXT NOT NULL,      -- e.g. 'INFO 5100-04'
+    title TEXT NOT NULL,     -- e.g. 'Application Engineer & Dev'
+    name TEXT NOT NULL UNIQUE -- code || ' ' || title
+);
+
+CREATE INDEX IF NOT EXISTS idx_courses_department ON Courses(department, name);
+
+-- Sections offered so far; larger catalogs are loaded with CourseCatalog.importCsv, e.g. by starting the app
+-- with -Duniforum.courses.importCsv=<file>
+INSERT OR IGNORE INTO Courses (department, code, title, name) VALUES
+    ('IS', 'INFO 5002-01', 'Intro to Python for Info Sys', 'INFO 5002-01 Intro to Python for Info Sys'),
+    ('IS', 'INFO 5100-04', 'Application Engineer & Dev', 'INFO 5100-04 Application Engineer & Dev'),
+    ('IS', 'INFO 6105-01', 'Data Sci Eng Methods', 'INFO 6105-01 Data Sci Eng Methods'),
+    ('IS', 'INFO 6106-01', 'Neural Modeling Methods & Tool', 'INFO 6106-01 Neural Modeling Methods & Tool'),
+    ('CSYE', 'CSYE 6225-03', 'Netwrk Strctrs & Cloud Cmpting', 'CSYE 6225-03 Netwrk Strctrs & Cloud Cmpting'),
+    ('CSYE', 'CSYE 7105-01', 'Parallel Machine Learning & AI', 'CSYE 7105-01 Parallel Machine Learning & AI'),
+    ('CSYE', 'CSYE 7280-01', 'User Experience Design/Testing', 'CSYE 7280-01 User Experience Design/Testing'),
+    ('CSYE', 'CSYE 7380-02', 'Theory & Prac App AI Gen Model', 'CSYE 7380-02 Theory & Prac App AI Gen Model'),
+    ('DAMG', 'DAMG 6210-01', 'Data Mgt and Database Design', 'DAMG 6210-01 Data Mgt and Database Design'),
+    ('DAMG', 'DAMG 7250-01', 'Big Data Architec & Governance', 'DAMG 7250-01 Big Data Architec & Governance'),
+    ('DAMG', 'DAMG 7374-01', 'ST: Gen AI w/ LLM in Data Eng', 'DAMG 7374-01 ST: Gen AI w/ LLM in Data Eng'),
+    ('DAMG', 'DAMG 7245-02', 'Big Data Sys & Intel Analytics', 'DAMG 7245-02 Big Data Sys & Intel Analytics'),
+    ('TELE', 'TELE 5330-01', 'Data Networking', 'TELE 5330-01 Data Networking'),
+    ('TELE', 'TELE 6530-01', 'Connected Devices', 'TELE 6530-01 Connected Devices'),
+    ('TELE', 'TELE 7374-02', 'Special Topics: Building Digital Twins', 'TELE 7374-02 Special Topics: Building Digital Twins'),
+    ('TELE', 'TELE 5600-01', 'Linux for Network Engineers', 'TELE 5600-01 Linux for Network Engineers');
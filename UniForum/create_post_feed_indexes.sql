@@ -0,0 +1,9 @@
+-- Indexes backing the keyset-paginated feed queries in PostDAO.getFeedPage
+-- Each index matches one ORDER BY so a page is a short index range scan instead of a full sort
+
+CREATE INDEX IF NOT EXISTS idx_posts_created_id ON Posts(created_time, post_id);
+CREATE INDEX IF NOT EXISTS idx_posts_likes_id ON Posts(number_of_likes, post_id);
+CREATE INDEX IF NOT EXISTS idx_posts_community_created ON Posts(community_id, created_time, post_id);
+
+-- Speeds up the "joined communities" scope used by the Home feed
+CREATE INDEX IF NOT EXISTS idx_community_user_user ON Community_User(user_id, community_id);
@@ -0,0 +1,35 @@
+-- Full-text index behind PostDAO.searchPosts
+-- External-content FTS5 table: the text lives only in Posts, the index stores tokens and rowids
+-- Safe to re-run: the index is dropped and rebuilt from Posts, e.g. to pick up new prefix lengths
+
+DROP TABLE IF EXISTS Posts_FTS;
+
+CREATE VIRTUAL TABLE Posts_FTS USING fts5(
+    title,
+    content,
+    content = 'Posts',
+    content_rowid = 'post_id',
+    tokenize = 'unicode61 remove_diacritics 2',
+    prefix = '1 2 3 4'  -- prefix indexes so the word being typed ("j*" .. "java*") is one doclist, not a term scan
+);
+
+-- Title hits weigh more than body hits when ranking
+INSERT INTO Posts_FTS(Posts_FTS, rank) VALUES ('rank', 'bm25(10.0, 1.0)');
+
+-- Keep the index in sync with Posts; the triggers run inside the INSERT/UPDATE/DELETE statement itself,
+-- so PostDAO.createPost never leaves a post searchable-but-missing or vice versa
+CREATE TRIGGER IF NOT EXISTS posts_fts_insert AFTER INSERT ON Posts BEGIN
+    INSERT INTO Posts_FTS(rowid, title, content) VALUES (new.post_id, new.title, new.content);
+END;
+
+CREATE TRIGGER IF NOT EXISTS posts_fts_delete AFTER DELETE ON Posts BEGIN
+    INSERT INTO Posts_FTS(Posts_FTS, rowid, title, content) VALUES ('delete', old.post_id, old.title, old.content);
+END;
+
+CREATE TRIGGER IF NOT EXISTS posts_fts_update AFTER UPDATE OF title, content ON Posts BEGIN
+    INSERT INTO Posts_FTS(Posts_FTS, rowid, title, content) VALUES ('delete', old.post_id, old.title, old.content);
+    INSERT INTO Posts_FTS(rowid, title, content) VALUES (new.post_id, new.title, new.content);
+END;
+
+-- Index the posts that existed before this script ran
+INSERT INTO Posts_FTS(Posts_FTS) VALUES ('rebuild');
@@ -0,0 +1,4 @@
+-- Index for per-post reply lookups in ReplyDAO
+-- Serves the comment list of a post and lets the reply-count reconciler count by index instead of scanning Replies
+
+CREATE INDEX IF NOT EXISTS idx_replies_post_created ON Replies(post_id, created_time, reply_id);
@@ -0,0 +1,147 @@
+package edu.northeastern.uniforum.forum.controller;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import edu.northeastern.uniforum.forum.dao.PostDAO;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.VBox;
+
+// Dev-only: counts the scene-graph nodes behind the forum feed, built the old way (one card per loaded post
+// in a VBox inside a ScrollPane) and the current way (a ListView of recycled PostCardCells). Both use the
+// real card code, and CSS is applied so skin nodes are counted too. Layout is not run, because text layout
+// needs the Pango native library; the ListView's cells are therefore not created, and its cost is reported
+// as the empty skin plus nodes per card times the number of visible rows passed in.
+//
+// Runs headless under Monocle, e.g.
+//   java --module-path <javafx jars + openjfx-monocle> --add-modules javafx.controls,org.testfx.monocle \
+//        --add-exports javafx.graphics/com.sun.glass.ui=org.testfx.monocle (plus the other Monocle exports) \
+//        -Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw \
+//        -cp <classes> edu.northeastern.uniforum.forum.controller.FeedNodeCount [posts] [visibleRows]
+public final class FeedNodeCount {
+
+    public static void main(String[] args) throws Exception {
+        int posts = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int visibleRows = args.length > 1 ? Integer.parseInt(args[1]) : 12;
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Platform.startup(() -> {
+            try {
+                run(posts, visibleRows);
+                done.complete(null);
+            } catch (Throwable t) {
+                done.completeExceptionally(t);
+            }
+        });
+        try {
+            done.get();
+        } finally {
+            Platform.exit();
+        }
+    }
+
+    private static void run(int posts, int visibleRows) throws Exception {
+        ForumController controller = new ForumController();
+        Constructor<?> cellConstructor = cellConstructor();
+
+        List<PostDAO.PostDTO> feed = new ArrayList<>(posts);
+        for (int i = 0; i < posts; i++) {
+            feed.add(post(i));
+        }
+        ListView<PostDAO.PostDTO> bindingList = new ListView<>(FXCollections.observableList(feed));
+
+        // Old feed: every loaded post gets its own card tree
+        VBox postContainer = new VBox();
+        for (int i = 0; i < posts; i++) {
+            ListCell<PostDAO.PostDTO> cell = newCell(cellConstructor, controller);
+            cell.updateListView(bindingList);
+            cell.updateIndex(i);
+            Node card = cell.getGraphic();
+            cell.setGraphic(null);
+            postContainer.getChildren().add(card);
+        }
+        ScrollPane scrollPane = new ScrollPane(postContainer);
+        new Scene(scrollPane, 1400, 800);
+        long cssStart = System.nanoTime();
+        scrollPane.applyCss();
+        long cssMillis = (System.nanoTime() - cssStart) / 1_000_000;
+        int oldNodes = count(scrollPane);
+
+        // One card on its own, for the per-row cost of the ListView
+        ListCell<PostDAO.PostDTO> single = newCell(cellConstructor, controller);
+        single.updateListView(bindingList);
+        single.updateIndex(0);
+        new Scene(single, 1400, 200);
+        single.applyCss();
+        int perCell = count(single);
+
+        // Current feed: the ListView skin without cells; with items its VirtualFlow would measure a cell, which
+        // needs text layout
+        ListView<PostDAO.PostDTO> postListView = new ListView<>();
+        postListView.setCellFactory(view -> newCell(cellConstructor, controller));
+        new Scene(postListView, 1400, 800);
+        postListView.applyCss();
+        int listNodes = count(postListView);
+
+        System.out.printf("posts=%d%n", posts);
+        System.out.printf("old VBox feed: %d nodes (%.1f per card), CSS pass %d ms%n",
+                oldNodes, (double) oldNodes / posts, cssMillis);
+        System.out.printf("ListView: %d nodes without cells + %d per cell; with %d visible rows ~%d nodes%n",
+                listNodes, perCell, visibleRows, listNodes + perCell * visibleRows);
+        System.out.println("layout time: not measured (no Pango in this environment)");
+    }
+
+    private static Constructor<?> cellConstructor() throws ReflectiveOperationException {
+        for (Class<?> nested : ForumController.class.getDeclaredClasses()) {
+            if (nested.getSimpleName().equals("PostCardCell")) {
+                Constructor<?> constructor = nested.getDeclaredConstructor(ForumController.class);
+                constructor.setAccessible(true);
+                return constructor;
+            }
+        }
+        throw new IllegalStateException("ForumController.PostCardCell not found");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ListCell<PostDAO.PostDTO> newCell(Constructor<?> constructor, ForumController controller) {
+        try {
+            return (ListCell<PostDAO.PostDTO>) constructor.newInstance(controller);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static PostDAO.PostDTO post(int i) {
+        PostDAO.PostDTO post = new PostDAO.PostDTO();
+        post.postId = i + 1;
+        post.title = "Post title " + i;
+        post.content = "Body of post " + i + ", long enough to be ellipsized on a single line in the card";
+        post.upvotes = i % 50;
+        post.comments = i % 7;
+        post.author = "user" + (i % 100);
+        post.community = "INFO 5100-04 Application Engineer & Dev";
+        post.tag = i % 3 == 0 ? "" : "FAQs";
+        post.timeAgo = (i % 24) + "h ago";
+        return post;
+    }
+
+    // The node itself plus everything below it, including skin children
+    private static int count(Node node) {
+        int total = 1;
+        if (node instanceof Parent parent) {
+            for (Node child : parent.getChildrenUnmodifiable()) {
+                total += count(child);
+            }
+        }
+        return total;
+    }
+}
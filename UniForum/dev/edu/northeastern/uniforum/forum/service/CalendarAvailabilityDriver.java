@@ -0,0 +1,133 @@
+package edu.northeastern.uniforum.forum.service;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.services.calendar.Calendar;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// Dev-only: drives CalendarAvailability and MeetingScheduler.scheduleAll against a local HTTP stub of the
+// free/busy and batch endpoints, through the real GoogleCalendarClient. Tomorrow, the TA is busy 10:00-11:15
+// and 12:00-13:00, and the student's calendar is not visible. The first batch round fails one insert with 503
+// (retried) and one with 400 (reported).
+//
+//   java -cp <classes>:<lib jars>:dev-classes edu.northeastern.uniforum.forum.service.CalendarAvailabilityDriver
+public final class CalendarAvailabilityDriver {
+
+    private static final String BOUNDARY = "response_boundary";
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("uniforum.meetings.backoffMs", "20");
+        try {
+            run();
+        } finally {
+            System.exit(0);
+        }
+    }
+
+    private static void run() throws Exception {
+        ZonedDateTime day = LocalDate.now().plusDays(1).atStartOfDay(ZoneId.systemDefault());
+        AtomicInteger freeBusyCalls = new AtomicInteger();
+        AtomicInteger batchRounds = new AtomicInteger();
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/calendar/v3/freeBusy", exchange -> {
+            freeBusyCalls.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            String busy = "[" + interval(day.plusHours(10), day.plusHours(11).plusMinutes(15)) + ","
+                    + interval(day.plusHours(12), day.plusHours(13)) + "]";
+            send(exchange, "application/json", "{\"calendars\":{"
+                    + "\"ta@example.edu\":{\"busy\":" + busy + "},"
+                    + "\"student@example.edu\":{\"errors\":[{\"domain\":\"global\",\"reason\":\"notFound\"}]}}}");
+        });
+        server.createContext("/batch", exchange -> {
+            int round = batchRounds.incrementAndGet();
+            String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String boundary = contentType.substring(contentType.indexOf("boundary=") + "boundary=".length());
+            int parts = body.split("--" + boundary).length - 2;
+
+            StringBuilder out = new StringBuilder();
+            for (int i = 0; i < parts; i++) {
+                out.append("--").append(BOUNDARY).append("\r\nContent-Type: application/http\r\n")
+                        .append("Content-ID: <response-").append(i + 1).append(">\r\n\r\n");
+                if (round == 1 && i == 1) {
+                    out.append(part("503 Service Unavailable", "{\"error\":{\"code\":503,\"message\":\"busy backend\"}}"));
+                } else if (round == 1 && i == 2) {
+                    out.append(part("400 Bad Request", "{\"error\":{\"code\":400,\"message\":\"bad time\"}}"));
+                } else {
+                    out.append(part("200 OK", "{\"id\":\"e" + round + "_" + i
+                            + "\",\"hangoutLink\":\"https://meet.google.com/r" + round + "i" + i + "\"}"));
+                }
+            }
+            out.append("--").append(BOUNDARY).append("--\r\n");
+            System.out.println("batch round " + round + ": " + parts + " parts");
+            send(exchange, "multipart/mixed; boundary=" + BOUNDARY, out.toString());
+        });
+        server.start();
+
+        Calendar calendar = new Calendar.Builder(new NetHttpTransport(), GsonFactory.getDefaultInstance(), null)
+                .setRootUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/")
+                .setApplicationName("uniforum-dev")
+                .build();
+        List<String> attendees = List.of("TA@example.edu", "student@example.edu");
+
+        CalendarAvailability availability = new CalendarAvailability(() -> new GoogleCalendarClient(calendar));
+        System.out.println("free 10:30-11:30? "
+                + availability.isFree(attendees, day.plusHours(10).plusMinutes(30), day.plusHours(11).plusMinutes(30)));
+        System.out.println("free 14:00-15:00? " + availability.isFree(attendees, day.plusHours(14), day.plusHours(15)));
+        System.out.println("suggested " + availability.suggestSlots(attendees, day.plusHours(9).plusMinutes(40),
+                day.plusDays(1), Duration.ofHours(1), 4));
+        System.out.println("free/busy calls " + freeBusyCalls + ", " + availability.getStats());
+
+        CalendarAvailability fresh = new CalendarAvailability(() -> new GoogleCalendarClient(calendar));
+        ZonedDateTime busyStart = day.plusHours(10).plusMinutes(30);
+        System.out.println("suggestIfBusy 10:30 -> " + fresh.suggestIfBusy(attendees, busyStart, busyStart.plusHours(1),
+                busyStart.plusDays(3), 3));
+        System.out.println("suggestIfBusy 14:00 -> " + fresh.suggestIfBusy(attendees, day.plusHours(14),
+                day.plusHours(15), day.plusHours(14).plusDays(3), 3));
+        System.out.println("free/busy calls " + freeBusyCalls + ", " + fresh.getStats());
+
+        MeetingScheduler scheduler = new MeetingScheduler(() -> new GoogleCalendarClient(calendar));
+        List<MeetingScheduler.MeetingRequest> series = new ArrayList<>();
+        for (int week = 0; week < 4; week++) {
+            series.add(new MeetingScheduler.MeetingRequest("Office hours", "dev", day.plusWeeks(week).plusHours(15),
+                    day.plusWeeks(week).plusHours(16), List.of("ta@example.edu")));
+        }
+        for (MeetingScheduler.ScheduledMeeting outcome : scheduler.scheduleAll(series).get()) {
+            System.out.println(outcome.isCreated()
+                    ? "created " + outcome.eventId + " " + outcome.meetLink
+                    : "failed " + outcome.request.start.toLocalDate() + ": " + outcome.error);
+        }
+        System.out.println("batch rounds " + batchRounds);
+    }
+
+    private static String interval(ZonedDateTime start, ZonedDateTime end) {
+        return "{\"start\":\"" + start.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME)
+                + "\",\"end\":\"" + end.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME) + "\"}";
+    }
+
+    private static String part(String status, String json) {
+        return "HTTP/1.1 " + status + "\r\nContent-Type: application/json\r\n\r\n" + json + "\r\n";
+    }
+
+    private static void send(HttpExchange exchange, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
@@ -0,0 +1,187 @@
+package edu.northeastern.uniforum.forum.service;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.services.calendar.Calendar;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// Dev-only: drives MeetingScheduler against a local HTTP stub of the Calendar API, through the real
+// GoogleCalendarClient. Covers retry on 503, recovery when a retried insert hits 409, a non-retried 400,
+// cancelling a slow call, the MAX_CONCURRENT bound, and that cancelled or timed-out requests (also those
+// cancelled before their task started) give their permit back.
+//
+//   java -cp <classes>:<lib jars>:dev-classes edu.northeastern.uniforum.forum.service.MeetingSchedulerDriver
+public final class MeetingSchedulerDriver {
+
+    private static final String CREATED = "{\"id\":\"x\",\"conferenceData\":{\"entryPoints\":"
+            + "[{\"entryPointType\":\"video\",\"uri\":\"https://meet.google.com/abc\"}]}}";
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("uniforum.meetings.backoffMs", "20");
+        System.setProperty("uniforum.meetings.timeoutSeconds", "1");
+        try {
+            run();
+        } finally {
+            System.exit(0);
+        }
+    }
+
+    private static void run() throws Exception {
+        AtomicInteger posts = new AtomicInteger();
+        AtomicReference<String> mode = new AtomicReference<>("flaky");
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            int n = posts.incrementAndGet();
+            int code = 200;
+            String body = CREATED;
+            if (exchange.getRequestMethod().equals("POST")) {
+                switch (mode.get()) {
+                    case "flaky":
+                        if (n <= 2) {
+                            code = 503;
+                            body = error(503, "backend");
+                        }
+                        break;
+                    case "lost":
+                        code = n == 1 ? 503 : 409;
+                        body = error(code, n == 1 ? "lost" : "duplicate");
+                        break;
+                    case "slow":
+                        sleep(5000);
+                        break;
+                    case "bad":
+                        code = 400;
+                        body = error(400, "bad request");
+                        break;
+                    default:
+                        break;
+                }
+            }
+            send(exchange, code, body);
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        Calendar calendar = new Calendar.Builder(new NetHttpTransport(), GsonFactory.getDefaultInstance(), null)
+                .setRootUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/")
+                .setApplicationName("uniforum-dev")
+                .build();
+        MeetingScheduler scheduler = new MeetingScheduler(() -> new GoogleCalendarClient(calendar));
+        ZonedDateTime start = ZonedDateTime.now().plusDays(1);
+        MeetingScheduler.MeetingRequest request = new MeetingScheduler.MeetingRequest(
+                "Office hours", "dev", start, start.plusHours(1), List.of("student@example.com"));
+        int maxConcurrent = permits(scheduler).availablePermits();
+
+        System.out.println("flaky -> " + scheduler.schedule(request).get() + ", posts=" + posts);
+
+        posts.set(0);
+        mode.set("lost");
+        System.out.println("lost -> " + scheduler.schedule(request).get() + ", posts=" + posts);
+
+        posts.set(0);
+        mode.set("bad");
+        try {
+            scheduler.schedule(request).get();
+        } catch (ExecutionException e) {
+            System.out.println("bad -> " + e.getCause().getClass().getSimpleName() + ", posts=" + posts);
+        }
+
+        mode.set("slow");
+        CompletableFuture<String> slow = scheduler.schedule(request);
+        Thread.sleep(200);
+        slow.cancel(true);
+        Thread.sleep(300);
+        System.out.println("slow call cancelled: " + slow.isCancelled()
+                + ", permits " + permits(scheduler).availablePermits() + "/" + maxConcurrent);
+
+        // a client that ignores interrupts keeps its thread past the timeout; the permit must not wait for it
+        MeetingScheduler stuck = new MeetingScheduler(() -> {
+            long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+            while (System.nanoTime() < until) {
+                Thread.onSpinWait();
+            }
+            throw new IOException("finished late");
+        });
+        try {
+            stuck.schedule(request).get();
+        } catch (ExecutionException e) {
+            System.out.println("stuck -> " + e.getCause().getClass().getSimpleName()
+                    + ", permits " + permits(stuck).availablePermits() + "/" + maxConcurrent);
+        }
+
+        // cancel right after submitting, so some tasks are cancelled before they start
+        MeetingScheduler racing = new MeetingScheduler(() -> {
+            Thread.sleep(10);
+            throw new IOException("not reached often");
+        });
+        int accepted = 0;
+        for (int i = 0; i < 20_000; i++) {
+            CompletableFuture<String> future = racing.schedule(request);
+            if (!future.isCompletedExceptionally()) {
+                accepted++;
+            }
+            future.cancel(true);
+        }
+        Thread.sleep(500);
+        System.out.println("cancel race: accepted " + accepted + ", permits "
+                + permits(racing).availablePermits() + "/" + maxConcurrent);
+
+        mode.set("slow");
+        List<CompletableFuture<String>> burst = new ArrayList<>();
+        for (int i = 0; i < maxConcurrent + 2; i++) {
+            burst.add(scheduler.schedule(request));
+        }
+        int rejected = 0;
+        for (CompletableFuture<String> future : burst) {
+            if (future.isCompletedExceptionally()) {
+                rejected++;
+            }
+            future.cancel(true);
+        }
+        System.out.println("burst of " + burst.size() + ": rejected " + rejected);
+    }
+
+    private static Semaphore permits(MeetingScheduler scheduler) throws ReflectiveOperationException {
+        Field field = MeetingScheduler.class.getDeclaredField("permits");
+        field.setAccessible(true);
+        return (Semaphore) field.get(scheduler);
+    }
+
+    private static String error(int code, String message) {
+        return "{\"error\":{\"code\":" + code + ",\"message\":\"" + message + "\"}}";
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int code, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(code, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
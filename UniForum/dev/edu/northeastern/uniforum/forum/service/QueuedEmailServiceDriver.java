@@ -0,0 +1,113 @@
+package edu.northeastern.uniforum.forum.service;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Dev-only: sends OTP mail through QueuedEmailService to a fake SMTP server on a local port. The server
+// answers the first two MAIL commands with 451 (retried with backoff) and RCPT for any address containing
+// "reject" with 550 (dead-lettered), and counts connections and delivered messages, so connection reuse and
+// batching show in the output.
+//
+//   java -cp <classes>:<lib jars>:dev-classes edu.northeastern.uniforum.forum.service.QueuedEmailServiceDriver [messages]
+public final class QueuedEmailServiceDriver {
+
+    public static void main(String[] args) throws Exception {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        AtomicInteger connections = new AtomicInteger();
+        AtomicInteger delivered = new AtomicInteger();
+        AtomicInteger temporaryFailures = new AtomicInteger(2);
+
+        ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(() -> {
+            while (true) {
+                try {
+                    Socket socket = server.accept();
+                    connections.incrementAndGet();
+                    new Thread(() -> serve(socket, delivered, temporaryFailures)).start();
+                } catch (Exception e) {
+                    return;
+                }
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        Path deadLetters = Files.createTempFile("uniforum-dead-letter", ".log");
+        System.setProperty("uniforum.mail.host", "127.0.0.1");
+        System.setProperty("uniforum.mail.port", String.valueOf(server.getLocalPort()));
+        System.setProperty("uniforum.mail.backoffMs", "50");
+        System.setProperty("uniforum.mail.deadLetterFile", deadLetters.toString());
+
+        EmailService service = EmailServiceFactory.getInstance();
+        if (!(service instanceof QueuedEmailService)) {
+            System.out.println("Expected QueuedEmailService, got " + service.getClass().getSimpleName());
+            return;
+        }
+        QueuedEmailService queued = (QueuedEmailService) service;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            queued.sendOtpEmail("user" + i + "@example.com", "123456");
+        }
+        queued.sendOtpEmail("reject@example.com", "123456");
+        System.out.printf("enqueued %d in %.1f ms%n", messages + 1, (System.nanoTime() - start) / 1e6);
+
+        while (queued.getStats().getSent() + queued.getStats().getDeadLettered() < messages + 1) {
+            Thread.sleep(20);
+        }
+        System.out.printf("delivered in %.1f ms over %d connections, %d messages accepted%n",
+                (System.nanoTime() - start) / 1e6, connections.get(), delivered.get());
+        System.out.println(queued.getStats());
+        queued.shutdown(2, TimeUnit.SECONDS);
+        System.out.println("dead letters:\n" + Files.readString(deadLetters));
+        server.close();
+    }
+
+    private static void serve(Socket socket, AtomicInteger delivered, AtomicInteger temporaryFailures) {
+        try (socket) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.US_ASCII);
+            out.print("220 fake SMTP\r\n");
+            out.flush();
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith("EHLO")) {
+                    out.print("250-fake\r\n250 OK\r\n");
+                } else if (line.startsWith("MAIL")) {
+                    out.print(temporaryFailures.getAndDecrement() > 0 ? "451 try again later\r\n" : "250 OK\r\n");
+                } else if (line.startsWith("RCPT")) {
+                    out.print(line.contains("reject") ? "550 no such user\r\n" : "250 OK\r\n");
+                } else if (line.equals("DATA")) {
+                    out.print("354 go ahead\r\n");
+                    out.flush();
+                    while ((line = in.readLine()) != null && !line.equals(".")) {
+                        // skip the message body
+                    }
+                    delivered.incrementAndGet();
+                    out.print("250 queued\r\n");
+                } else if (line.equals("RSET") || line.equals("NOOP")) {
+                    out.print("250 OK\r\n");
+                } else if (line.equals("QUIT")) {
+                    out.print("221 bye\r\n");
+                    out.flush();
+                    return;
+                } else {
+                    out.print("502 not implemented\r\n");
+                }
+                out.flush();
+            }
+        } catch (Exception e) {
+            // client went away
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package edu.northeastern.uniforum.forum.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Dev-only: times splitting reply bodies into text and link runs, the old way (ReplyController compiled the
+// URL pattern and lower-cased each match on every render) against ContentTokenizer cold and cached. Only the
+// tokenizing is timed; building the Text and Hyperlink nodes costs the same either way.
+//
+//   java -cp <classes>:dev-classes edu.northeastern.uniforum.forum.util.ContentTokenizerBench [replies] [rounds]
+public final class ContentTokenizerBench {
+
+    private static final String[] WORDS = {
+            "the", "midterm", "is", "on", "thursday", "anyone", "want", "to", "study", "lab", "notes",
+            "posted", "check", "slides", "office", "hours", "moved", "assignment", "due", "friday", "thanks"
+    };
+
+    private static final String[] LINKS = {
+            "https://canvas.northeastern.edu/courses/1234/assignments/5678",
+            "http://example.com/notes.pdf",
+            "https://github.com/someone/cs5010-lab3",
+            "https://docs.oracle.com/en/java/javase/17/docs/api/java.base/java/util/regex/Pattern.html"
+    };
+
+    // Old path, without the node creation: pattern compiled per call, scheme check per match
+    private static int oldTokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+
+        Pattern urlPattern = Pattern.compile(
+            "(?i)\\b((?:https?://)" +
+            "[\\w\\-]+\\.[a-z]{2,}(?:\\.[a-z]{2,})?(?:/[\\w\\-.,@?^=%&:/~+#]*)?)",
+            Pattern.CASE_INSENSITIVE
+        );
+
+        Matcher matcher = urlPattern.matcher(text);
+        int lastEnd = 0;
+        int runs = 0;
+
+        while (matcher.find()) {
+            if (matcher.start() > lastEnd) {
+                text.substring(lastEnd, matcher.start());
+                runs++;
+            }
+            String url = matcher.group(1);
+            String fullUrl = (!url.toLowerCase().startsWith("http://") && !url.toLowerCase().startsWith("https://"))
+                ? "https://" + url
+                : url;
+            runs += fullUrl.isEmpty() ? 0 : 1;
+            lastEnd = matcher.end();
+        }
+
+        if (lastEnd < text.length()) {
+            text.substring(lastEnd);
+            runs++;
+        }
+        return runs;
+    }
+
+    private static List<String> replies(int count) {
+        Random random = new Random(42);
+        List<String> replies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder sb = new StringBuilder();
+            int words = 20 + random.nextInt(120);
+            for (int w = 0; w < words; w++) {
+                if (random.nextInt(40) == 0) {
+                    sb.append(LINKS[random.nextInt(LINKS.length)]);
+                } else {
+                    sb.append(WORDS[random.nextInt(WORDS.length)]);
+                }
+                sb.append(w % 15 == 14 ? ". " : " ");
+            }
+            replies.add(sb.toString());
+        }
+        return replies;
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        List<String> replies = replies(count);
+        long sink = 0;
+
+        // Warm up the JIT on both paths without filling the cache under the ids being measured
+        for (int r = 0; r < 5; r++) {
+            for (int i = 0; i < replies.size(); i++) {
+                sink += oldTokenize(replies.get(i));
+                sink += ContentTokenizer.tokenizePost(-1 - i, replies.get(i) + r).size();
+            }
+        }
+
+        long start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            for (String reply : replies) {
+                sink += oldTokenize(reply);
+            }
+        }
+        double oldUs = (System.nanoTime() - start) / 1000.0 / rounds / count;
+
+        // Every id is new in each round, so every call misses and scans
+        start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            for (int i = 0; i < replies.size(); i++) {
+                sink += ContentTokenizer.tokenizeReply(r * count + i, replies.get(i)).size();
+            }
+        }
+        double coldUs = (System.nanoTime() - start) / 1000.0 / rounds / count;
+
+        for (int i = 0; i < replies.size(); i++) {
+            sink += ContentTokenizer.tokenizeReply(i, replies.get(i)).size();
+        }
+
+        start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            for (int i = 0; i < replies.size(); i++) {
+                sink += ContentTokenizer.tokenizeReply(i, replies.get(i)).size();
+            }
+        }
+        double cachedUs = (System.nanoTime() - start) / 1000.0 / rounds / count;
+
+        // Fresh String instances, as a reload from the database would give, so the hash and the content
+        // comparison are paid on every lookup
+        long reloadNanos = 0;
+        for (int r = 0; r < rounds; r++) {
+            List<String> reloaded = new ArrayList<>(count);
+            for (String reply : replies) {
+                reloaded.add(new String(reply.toCharArray()));
+            }
+            start = System.nanoTime();
+            for (int i = 0; i < reloaded.size(); i++) {
+                sink += ContentTokenizer.tokenizeReply(i, reloaded.get(i)).size();
+            }
+            reloadNanos += System.nanoTime() - start;
+        }
+        double reloadedUs = reloadNanos / 1000.0 / rounds / count;
+
+        System.out.printf("replies=%d rounds=%d%n", count, rounds);
+        System.out.printf("old path:           %.2f us/reply%n", oldUs);
+        System.out.printf("tokenizer, cold:    %.2f us/reply%n", coldUs);
+        System.out.printf("tokenizer, cached:  %.2f us/reply%n", cachedUs);
+        System.out.printf("tokenizer, reload:  %.2f us/reply (new String, same content)%n", reloadedUs);
+        System.out.printf("hits=%d misses=%d (sink %d)%n",
+                ContentTokenizer.getCacheHits(), ContentTokenizer.getCacheMisses(), sink);
+    }
+}
@@ -1,5 +1,14 @@
 package application;
 
+import java.nio.file.Path;
+
+import edu.northeastern.uniforum.forum.controller.GoogleCalendarService;
+import edu.northeastern.uniforum.forum.service.AsyncService;
+import edu.northeastern.uniforum.forum.service.CourseCatalog;
+import edu.northeastern.uniforum.forum.service.EmailServiceFactory;
+import edu.northeastern.uniforum.forum.service.FxWatchdog;
+import edu.northeastern.uniforum.forum.service.ReplyCountReconciler;
+import edu.northeastern.uniforum.forum.service.ServiceRegistry;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -13,6 +22,10 @@ public class Main extends Application {
     public void start(Stage stage) {
         try {
         	primaryStage = stage;
+        	FxWatchdog.start();
+        	ReplyCountReconciler.start();
+        	warmUpServices();
+        	importCourseCatalog();
 
             Parent root = FXMLLoader.load(
                 getClass().getResource("/edu/northeastern/uniforum/forum/view/LoginView.fxml")
@@ -37,6 +50,32 @@ public class Main extends Application {
         }
     }
 
+	// Build the mail and calendar clients while the login screen is up. The calendar is skipped until the
+	// user has consented once, since building it without a stored token would open a browser at startup.
+	private static void warmUpServices() {
+		if (GoogleCalendarService.hasStoredCredential()) {
+			ServiceRegistry.warmUpInBackground(EmailServiceFactory.service(), GoogleCalendarService.service());
+		} else {
+			ServiceRegistry.warmUpInBackground(EmailServiceFactory.service());
+		}
+	}
+
+	// Load the catalog CSV named by -Duniforum.courses.importCsv in the background; sections already in the
+	// Courses table are skipped, so leaving the property set across restarts is harmless
+	private static void importCourseCatalog() {
+		String csv = System.getProperty("uniforum.courses.importCsv");
+		if (csv == null || csv.isBlank()) {
+			return;
+		}
+		AsyncService.supply(() -> CourseCatalog.getInstance().importCsv(Path.of(csv))).whenComplete((added, error) -> {
+			if (error != null) {
+				System.err.println("Course catalog import from " + csv + " failed: " + AsyncService.rootCause(error).getMessage());
+			} else {
+				System.out.println("Imported " + added + " new courses from " + csv);
+			}
+		});
+	}
+
 	public static Stage getPrimaryStage() {
 		return primaryStage;
 	}
@@ -0,0 +1,355 @@
+package edu.northeastern.uniforum.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConnectionPool implements AutoCloseable {
+
+    private final String url;
+    private final int maxSize;
+    private final long acquireTimeoutMillis;
+    private final long leakThresholdMillis;
+    private final List<String> initStatements;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<Connection> idle = new LinkedBlockingDeque<>();
+    private final Set<Lease> leased = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService leakDetector;
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder leaksReported = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private volatile boolean closed = false;
+
+    // Bounded pool; initStatements run once on every new physical connection
+    public ConnectionPool(String url, int maxSize, long acquireTimeoutMillis, long leakThresholdMillis,
+                          List<String> initStatements) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1");
+        }
+        this.url = url;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.initStatements = List.copyOf(initStatements);
+        this.permits = new Semaphore(maxSize, true);
+
+        this.leakDetector = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-leak-detector");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, leakThresholdMillis / 2);
+        leakDetector.scheduleAtFixedRate(this::reportLeaks, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // Borrow a connection; closing the returned handle gives it back to the pool
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLTimeoutException("Timed out after " + acquireTimeoutMillis
+                        + " ms waiting for a database connection (active=" + leased.size() + ", max=" + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        Connection physical = null;
+        try {
+            physical = idle.pollFirst();
+            while (physical != null && physical.isClosed()) {
+                physical = idle.pollFirst();
+            }
+            if (physical == null) {
+                physical = openPhysical();
+            }
+        } catch (SQLException e) {
+            permits.release();
+            throw e;
+        }
+
+        Lease lease = new Lease(physical);
+        leased.add(lease);
+        acquired.increment();
+        return lease.proxy;
+    }
+
+    public Stats getStats() {
+        long count = acquired.sum();
+        return new Stats(
+                leased.size(),
+                idle.size(),
+                maxSize,
+                created.sum(),
+                count,
+                timeouts.sum(),
+                leaksReported.sum(),
+                count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.sum() / count) / 1000.0,
+                TimeUnit.NANOSECONDS.toMicros(maxWaitNanos.get()) / 1000.0);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        leakDetector.shutdownNow();
+        Connection physical;
+        while ((physical = idle.pollFirst()) != null) {
+            closeQuietly(physical);
+        }
+    }
+
+    private Connection openPhysical() throws SQLException {
+        Connection physical = DriverManager.getConnection(url);
+        try (Statement statement = physical.createStatement()) {
+            for (String sql : initStatements) {
+                statement.execute(sql);
+            }
+        } catch (SQLException e) {
+            closeQuietly(physical);
+            throw e;
+        }
+        created.increment();
+        return physical;
+    }
+
+    private void release(Lease lease) {
+        if (!leased.remove(lease)) {
+            return;
+        }
+
+        Connection physical = lease.physical;
+        try {
+            if (!physical.isClosed() && !physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            physical.clearWarnings();
+
+            if (closed || physical.isClosed()) {
+                closeQuietly(physical);
+            } else {
+                idle.offerFirst(physical);
+            }
+        } catch (SQLException e) {
+            System.err.println("Discarding pooled connection after failed reset: " + e.getMessage());
+            closeQuietly(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void reportLeaks() {
+        long now = System.nanoTime();
+        for (Lease lease : leased) {
+            long heldMillis = TimeUnit.NANOSECONDS.toMillis(now - lease.acquiredAt);
+            if (heldMillis >= leakThresholdMillis && !lease.reported) {
+                lease.reported = true;
+                leaksReported.increment();
+                System.err.println("Possible connection leak: connection held for " + heldMillis
+                        + " ms by thread " + lease.ownerThread + ". Acquired at:");
+                lease.acquiredBy.printStackTrace();
+            }
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    // One checkout of a physical connection, exposed to callers through a proxy. unwrap/isWrapperFor answer
+    // with the proxy for Connection (and its super-interfaces), and statements are wrapped so their
+    // getConnection() returns the proxy too; closing either one returns the connection instead of closing it.
+    // Unwrapping to a driver class (e.g. org.sqlite.SQLiteConnection), ResultSet.getStatement() and
+    // DatabaseMetaData.getConnection() still reach the driver's own objects, which must not be closed.
+    private final class Lease implements InvocationHandler {
+        private final Connection physical;
+        private final Connection proxy;
+        private final long acquiredAt = System.nanoTime();
+        private final String ownerThread = Thread.currentThread().getName();
+        private final Throwable acquiredBy = new Throwable("Connection acquired here");
+        private volatile boolean returned = false;
+        private volatile boolean reported = false;
+
+        private Lease(Connection physical) {
+            this.physical = physical;
+            this.proxy = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!returned) {
+                        returned = true;
+                        release(this);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return returned || physical.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "PooledConnection[" + physical + (returned ? ", returned" : "") + "]";
+                }
+                case "unwrap" -> {
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    return physical.unwrap((Class<?>) args[0]);
+                }
+                case "isWrapperFor" -> {
+                    return ((Class<?>) args[0]).isInstance(proxy) || physical.isWrapperFor((Class<?>) args[0]);
+                }
+                default -> {
+                    if (returned) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    // createStatement, prepareStatement and prepareCall
+                    if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                        return new PooledStatement((Statement) result, method.getReturnType(), this.proxy).proxy;
+                    }
+                    return result;
+                }
+            }
+        }
+    }
+
+    // A statement created through a lease; reports the pooled connection as its connection
+    private static final class PooledStatement implements InvocationHandler {
+        private final Statement statement;
+        private final Statement proxy;
+        private final Connection connection;
+
+        private PooledStatement(Statement statement, Class<?> type, Connection connection) {
+            this.statement = statement;
+            this.connection = connection;
+            this.proxy = (Statement) Proxy.newProxyInstance(
+                    Statement.class.getClassLoader(), new Class<?>[] { type }, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getConnection" -> {
+                    return connection;
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "PooledStatement[" + statement + "]";
+                }
+                case "unwrap" -> {
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    return statement.unwrap((Class<?>) args[0]);
+                }
+                case "isWrapperFor" -> {
+                    return ((Class<?>) args[0]).isInstance(proxy) || statement.isWrapperFor((Class<?>) args[0]);
+                }
+                default -> {
+                    try {
+                        return method.invoke(statement, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            }
+        }
+    }
+
+    public static final class Stats {
+        private final int active;
+        private final int idle;
+        private final int maxSize;
+        private final long created;
+        private final long acquired;
+        private final long timeouts;
+        private final long leaksReported;
+        private final double avgWaitMillis;
+        private final double maxWaitMillis;
+
+        private Stats(int active, int idle, int maxSize, long created, long acquired, long timeouts,
+                      long leaksReported, double avgWaitMillis, double maxWaitMillis) {
+            this.active = active;
+            this.idle = idle;
+            this.maxSize = maxSize;
+            this.created = created;
+            this.acquired = acquired;
+            this.timeouts = timeouts;
+            this.leaksReported = leaksReported;
+            this.avgWaitMillis = avgWaitMillis;
+            this.maxWaitMillis = maxWaitMillis;
+        }
+
+        public int getActive() { return active; }
+        public int getIdle() { return idle; }
+        public int getMaxSize() { return maxSize; }
+        public long getCreated() { return created; }
+        public long getAcquired() { return acquired; }
+        public long getTimeouts() { return timeouts; }
+        public long getLeaksReported() { return leaksReported; }
+        public double getAvgWaitMillis() { return avgWaitMillis; }
+        public double getMaxWaitMillis() { return maxWaitMillis; }
+
+        @Override
+        public String toString() {
+            return String.format("active=%d idle=%d max=%d created=%d acquired=%d timeouts=%d leaks=%d avgWait=%.2fms maxWait=%.2fms",
+                    active, idle, maxSize, created, acquired, timeouts, leaksReported, avgWaitMillis, maxWaitMillis);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package edu.northeastern.uniforum.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+public class Database {
+
+    private static final String URL = System.getProperty("uniforum.db.url", "jdbc:sqlite:db/uniforum.db");
+    private static final int POOL_SIZE = Integer.getInteger("uniforum.db.poolSize", 4);
+    private static final long ACQUIRE_TIMEOUT_MS = Long.getLong("uniforum.db.acquireTimeoutMs", 10_000);
+    private static final long LEAK_THRESHOLD_MS = Long.getLong("uniforum.db.leakThresholdMs", 30_000);
+    private static final long BUSY_TIMEOUT_MS = Long.getLong("uniforum.db.busyTimeoutMs", 5_000);
+    private static final String SYNCHRONOUS = System.getProperty("uniforum.db.synchronous", "NORMAL");
+
+    private Database() {
+    }
+
+    // Pool is created on first use so merely loading the class never touches the disk
+    private static final class PoolHolder {
+        private static final ConnectionPool POOL = createPool();
+    }
+
+    private static ConnectionPool createPool() {
+        ConnectionPool pool = new ConnectionPool(URL, POOL_SIZE, ACQUIRE_TIMEOUT_MS, LEAK_THRESHOLD_MS, List.of(
+                "PRAGMA journal_mode=WAL",
+                "PRAGMA synchronous=" + SYNCHRONOUS,
+                "PRAGMA busy_timeout=" + BUSY_TIMEOUT_MS));
+        Runtime.getRuntime().addShutdownHook(new Thread(pool::close, "db-pool-shutdown"));
+        return pool;
+    }
+
+	// Borrow a pooled connection; callers must close it (try-with-resources) to return it
+	public static Connection getConnection() throws SQLException {
+        return PoolHolder.POOL.getConnection();
+    }
+
+	// Snapshot of pool usage: active/idle connections, wait times, timeouts and leaks
+	public static ConnectionPool.Stats getPoolStats() {
+        return PoolHolder.POOL.getStats();
+    }
+}
@@ -1,8 +1,10 @@
 package edu.northeastern.uniforum.forum.controller;
 
-import edu.northeastern.uniforum.forum.dao.PostDAO;
 import edu.northeastern.uniforum.forum.dao.UserDAO;
 import edu.northeastern.uniforum.forum.model.User;
+import edu.northeastern.uniforum.forum.service.AsyncService;
+import edu.northeastern.uniforum.forum.service.CommunityDirectory;
+import edu.northeastern.uniforum.forum.service.CourseCatalog;
 import edu.northeastern.uniforum.forum.util.SceneManager;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
@@ -27,13 +29,17 @@ import java.util.Map;
 
 public class CourseSelectionController {
 
+    // Course communities are created on behalf of the default moderator account
+    private static final int DEFAULT_MODERATOR_ID = 1;
+
     @FXML private ComboBox<String> deptCombo;
     @FXML private ListView<String> courseListView;
     @FXML private Button nextBtn;
     @FXML private Label selectedCoursesLabel;
 
     private User currentUser;
-    private final PostDAO postDAO = new PostDAO();
+    private final CommunityDirectory communityDirectory = CommunityDirectory.getInstance();
+    private final CourseCatalog courseCatalog = CourseCatalog.getInstance();
     private final UserDAO userDAO = new UserDAO();
 
     private Map<String, Integer> courseToCommunityMap = new HashMap<>();
@@ -41,15 +47,15 @@ public class CourseSelectionController {
 
     private List<String> allSelectedCourses = new ArrayList<>();
 
+    // One ListView model per department, built the first time that department is shown
+    private final Map<String, ObservableList<String>> coursesByDepartment = new HashMap<>();
+
     private boolean isUpdatingSelection = false;
 
     public void setCurrentUser(User user) {
         this.currentUser = user;
         if (user != null) {
             initializeCommunities();
-            Platform.runLater(() -> {
-                loadUserExistingCourses();
-            });
         }
     }
 
@@ -58,8 +64,15 @@ public class CourseSelectionController {
             return;
         }
 
-        try {
-            List<Integer> userCommunityIds = userDAO.getUserCommunities(currentUser.getUserId());
+        // Read the memberships in the background; the list is only touched again on the FX thread
+        int userId = currentUser.getUserId();
+        AsyncService.supply(() -> userDAO.getUserCommunities(userId)).whenCompleteAsync((userCommunityIds, error) -> {
+            if (error != null) {
+                Throwable cause = AsyncService.rootCause(error);
+                System.err.println("Error loading user's existing courses: " + cause.getMessage());
+                cause.printStackTrace();
+                return;
+            }
 
             allSelectedCourses.clear();
             for (Map.Entry<String, Integer> entry : courseToCommunityMap.entrySet()) {
@@ -72,23 +85,25 @@ public class CourseSelectionController {
 
             updateSelectedCoursesLabel();
 
-            if (deptCombo != null && deptCombo.getValue() != null) {
-                Platform.runLater(() -> {
-                    if (courseListView != null) {
-                        courseListView.refresh();
-                    }
-                });
+            if (deptCombo != null && deptCombo.getValue() != null && courseListView != null) {
+                courseListView.refresh();
             }
-        } catch (Exception e) {
-            System.err.println("Error loading user's existing courses: " + e.getMessage());
-            e.printStackTrace();
-        }
+        }, AsyncService.FX);
     }
 
     @FXML
     public void initialize() {
         if (deptCombo != null) {
-            deptCombo.getItems().addAll("IS", "CSYE", "DAMG", "TELE");
+            AsyncService.supply(courseCatalog::getDepartments).whenCompleteAsync((departments, error) -> {
+                if (error != null) {
+                    Throwable cause = AsyncService.rootCause(error);
+                    System.err.println("Error loading departments: " + cause.getMessage());
+                    cause.printStackTrace();
+                    showError("Could not load the course catalog: " + cause.getMessage());
+                    return;
+                }
+                deptCombo.getItems().setAll(departments);
+            }, AsyncService.FX);
             deptCombo.setOnAction(e -> updateCourseList());
 
             deptCombo.setCellFactory(listView -> {
@@ -206,35 +221,32 @@ public class CourseSelectionController {
             return;
         }
 
-        List<String> courses = new ArrayList<>();
-        switch (selectedDept) {
-            case "IS" -> courses.addAll(List.of(
-                    "INFO 5002-01 Intro to Python for Info Sys",
-                    "INFO 5100-04 Application Engineer & Dev",
-                    "INFO 6105-01 Data Sci Eng Methods",
-                    "INFO 6106-01 Neural Modeling Methods & Tool"
-            ));
-            case "CSYE" -> courses.addAll(List.of(
-                    "CSYE 6225-03 Netwrk Strctrs & Cloud Cmpting",
-                    "CSYE 7105-01 Parallel Machine Learning & AI",
-                    "CSYE 7280-01 User Experience Design/Testing",
-                    "CSYE 7380-02 Theory & Prac App AI Gen Model"
-            ));
-            case "DAMG" -> courses.addAll(List.of(
-                    "DAMG 6210-01 Data Mgt and Database Design",
-                    "DAMG 7250-01 Big Data Architec & Governance",
-                    "DAMG 7374-01 ST: Gen AI w/ LLM in Data Eng",
-                    "DAMG 7245-02 Big Data Sys & Intel Analytics"
-            ));
-            case "TELE" -> courses.addAll(List.of(
-                    "TELE 5330-01 Data Networking",
-                    "TELE 6530-01 Connected Devices",
-                    "TELE 7374-02 Special Topics: Building Digital Twins",
-                    "TELE 5600-01 Linux for Network Engineers"
-            ));
+        ObservableList<String> courses = coursesByDepartment.get(selectedDept);
+        if (courses != null) {
+            showCourses(courses);
+            return;
         }
 
-        courseListView.setItems(FXCollections.observableArrayList(courses));
+        // The first lookup may have to load the catalog, so it runs in the background; a department picked
+        // meanwhile wins and this result is only cached
+        AsyncService.supply(() -> courseCatalog.getCourses(selectedDept)).whenCompleteAsync((loaded, error) -> {
+            if (error != null) {
+                Throwable cause = AsyncService.rootCause(error);
+                System.err.println("Error loading courses for " + selectedDept + ": " + cause.getMessage());
+                cause.printStackTrace();
+                return;
+            }
+
+            ObservableList<String> model = FXCollections.unmodifiableObservableList(FXCollections.observableList(loaded));
+            coursesByDepartment.put(selectedDept, model);
+            if (selectedDept.equals(deptCombo.getValue())) {
+                showCourses(model);
+            }
+        }, AsyncService.FX);
+    }
+
+    private void showCourses(ObservableList<String> courses) {
+        courseListView.setItems(courses);
 
         Platform.runLater(() -> {
             if (courseListView != null) {
@@ -280,87 +292,43 @@ public class CourseSelectionController {
     }
 
     private boolean isCourseFromDepartment(String course, String department) {
-        switch (department) {
-            case "IS" -> {
-                return course.startsWith("INFO");
-            }
-            case "SES" -> {
-                return course.startsWith("CSYE");
-            }
-            case "DAMG" -> {
-                return course.startsWith("DAMG");
-            }
-            case "TELE" -> {
-                return course.startsWith("TELE");
-            }
-        }
-        return false;
-    }
-
-    private void initializeCommunities() {
         try {
-            List<PostDAO.CommunityDTO> existingCommunities = postDAO.getAllCommunities();
-            Map<String, Integer> existingMap = new HashMap<>();
-            for (PostDAO.CommunityDTO comm : existingCommunities) {
-                existingMap.put(comm.name, comm.id);
-            }
-
-            createCourseCommunityMapping(existingMap);
+            return department.equals(courseCatalog.getDepartment(course));
         } catch (SQLException e) {
-            System.err.println("Error initializing communities: " + e.getMessage());
-            e.printStackTrace();
+            System.err.println("Error looking up course department: " + e.getMessage());
+            return false;
         }
     }
 
-    private void createCourseCommunityMapping(Map<String, Integer> existingCommunities) {
-        courseToCommunityMap.clear();
-
-        List<String> allCourses = new ArrayList<>();
-        allCourses.add("INFO 5002-01 Intro to Python for Info Sys");
-        allCourses.add("INFO 5100-04 Application Engineer & Dev");
-        allCourses.add("INFO 6105-01 Data Sci Eng Methods");
-        allCourses.add("INFO 6106-01 Neural Modeling Methods & Tool");
-        allCourses.add("CSYE 6225-03 Netwrk Strctrs & Cloud Cmpting");
-        allCourses.add("CSYE 7105-01 Parallel Machine Learning & AI");
-        allCourses.add("CSYE 7280-01 User Experience Design/Testing");
-        allCourses.add("CSYE 7380-02 Theory & Prac App AI Gen Model");
-        allCourses.add("DAMG 6210-01 Data Mgt and Database Design");
-        allCourses.add("DAMG 7250-01 Big Data Architec & Governance");
-        allCourses.add("DAMG 7374-01 ST: Gen AI w/ LLM in Data Eng");
-        allCourses.add("DAMG 7245-02 Big Data Sys & Intel Analytics");
-        allCourses.add("TELE 5330-01 Data Networking");
-        allCourses.add("TELE 6530-01 Connected Devices");
-        allCourses.add("TELE 7374-02 Special Topics: Building Digital Twins");
-        allCourses.add("TELE 5600-01 Linux for Network Engineers");
-
-        for (String course : allCourses) {
-            if (!existingCommunities.containsKey(course)) {
-                createCommunityIfNotExists(course);
+    // Map catalog courses to their existing communities in the background, then load the user's memberships,
+    // which are matched against that map. Communities for newly selected courses are created on save, so a
+    // large catalog does not provision thousands of empty communities up front.
+    private void initializeCommunities() {
+        AsyncService.supply(this::loadCommunityMap).whenCompleteAsync((communities, error) -> {
+            if (error != null) {
+                Throwable cause = AsyncService.rootCause(error);
+                System.err.println("Error initializing communities: " + cause.getMessage());
+                cause.printStackTrace();
+                return;
             }
-        }
 
-        try {
-            List<PostDAO.CommunityDTO> allCommunities = postDAO.getAllCommunities();
-            for (PostDAO.CommunityDTO comm : allCommunities) {
-                courseToCommunityMap.put(comm.name, comm.id);
-            }
+            courseToCommunityMap = communities;
             System.out.println("Loaded " + courseToCommunityMap.size() + " communities");
-        } catch (SQLException e) {
-            System.err.println("Error loading communities: " + e.getMessage());
-        }
+            loadUserExistingCourses();
+        }, AsyncService.FX);
     }
 
-    private void createCommunityIfNotExists(String communityName) {
-        try {
-            String sql = "INSERT OR IGNORE INTO Communities (community_name, moderator_id) VALUES (?, 1)";
-            java.sql.Connection conn = edu.northeastern.uniforum.db.Database.getConnection();
-            try (java.sql.PreparedStatement ps = conn.prepareStatement(sql)) {
-                ps.setString(1, communityName);
-                ps.executeUpdate();
+    // Runs off the FX thread
+    private Map<String, Integer> loadCommunityMap() throws SQLException {
+        Map<String, Integer> communityIds = communityDirectory.getIdsByName();
+        Map<String, Integer> communities = new HashMap<>();
+        for (String course : courseCatalog.getAllCourses()) {
+            Integer communityId = communityIds.get(course);
+            if (communityId != null) {
+                communities.put(course, communityId);
             }
-        } catch (SQLException e) {
-            System.err.println("Error creating community: " + e.getMessage());
         }
+        return communities;
     }
 
     private void updateSelectedCoursesLabel() {
@@ -402,41 +370,88 @@ public class CourseSelectionController {
             return;
         }
 
-        selectedCommunityIds.clear();
-        for (String courseName : allSelectedCourses) {
-            Integer communityId = courseToCommunityMap.get(courseName);
-            if (communityId != null) {
-                selectedCommunityIds.add(communityId);
+        List<String> courses = new ArrayList<>(allSelectedCourses);
+        Map<String, Integer> knownCommunities = new HashMap<>(courseToCommunityMap);
+        int userId = currentUser.getUserId();
+        if (nextBtn != null) {
+            nextBtn.setDisable(true);
+        }
+
+        // Creating missing communities and replacing the memberships both hit the DB, so they run in the background
+        AsyncService.supply(() -> saveSelections(userId, courses, knownCommunities)).whenCompleteAsync((result, error) -> {
+            if (nextBtn != null) {
+                nextBtn.setDisable(false);
+            }
+            if (error != null) {
+                System.err.println("Error saving selections: " + AsyncService.rootCause(error).getMessage());
+                showError("Error saving selections. Please try again.");
+                return;
+            }
+
+            courseToCommunityMap.putAll(result.createdCommunities);
+            selectedCommunityIds.clear();
+            selectedCommunityIds.addAll(result.communityIds);
+
+            if (selectedCommunityIds.isEmpty()) {
+                showError("Error: Could not find or create communities for selected courses");
+            } else if (result.saved) {
+                System.out.println("Successfully updated user to " + selectedCommunityIds.size() + " communities");
+                SceneManager.switchToForum(currentUser);
             } else {
-                System.err.println("Community not found for course: " + courseName + ". Creating it now...");
-                createCommunityIfNotExists(courseName);
-                try {
-                    List<PostDAO.CommunityDTO> allCommunities = postDAO.getAllCommunities();
-                    for (PostDAO.CommunityDTO comm : allCommunities) {
-                        courseToCommunityMap.put(comm.name, comm.id);
-                    }
-                    communityId = courseToCommunityMap.get(courseName);
-                    if (communityId != null) {
-                        selectedCommunityIds.add(communityId);
-                    }
-                } catch (SQLException e) {
-                    System.err.println("Error reloading communities: " + e.getMessage());
-                }
+                showError("Error saving selections. Please try again.");
+            }
+        }, AsyncService.FX);
+    }
+
+    // Runs off the FX thread: create communities for unmapped courses, then save the user's memberships
+    private SelectionSave saveSelections(int userId, List<String> courses, Map<String, Integer> knownCommunities) {
+        List<String> unmapped = new ArrayList<>();
+        for (String courseName : courses) {
+            if (!knownCommunities.containsKey(courseName)) {
+                unmapped.add(courseName);
             }
         }
 
-        if (selectedCommunityIds.isEmpty()) {
-            selectedCoursesLabel.setText("Error: Could not find or create communities for selected courses");
-            selectedCoursesLabel.setStyle("-fx-text-fill: #FF4500; -fx-font-size: 12px; -fx-background-color: #0B1416; -fx-padding: 8; -fx-background-radius: 4; -fx-border-color: #343536; -fx-border-width: 1; -fx-border-radius: 4;");
+        Map<String, Integer> created = new HashMap<>();
+        if (!unmapped.isEmpty()) {
+            System.err.println("Communities not found for " + unmapped.size() + " courses. Creating them now...");
+            try {
+                created.putAll(communityDirectory.ensureCommunities(unmapped, DEFAULT_MODERATOR_ID));
+            } catch (SQLException e) {
+                System.err.println("Error creating communities: " + e.getMessage());
+            }
+        }
+
+        List<Integer> communityIds = new ArrayList<>();
+        for (String courseName : courses) {
+            Integer communityId = knownCommunities.containsKey(courseName)
+                    ? knownCommunities.get(courseName) : created.get(courseName);
+            if (communityId != null) {
+                communityIds.add(communityId);
+            }
+        }
+
+        boolean saved = !communityIds.isEmpty() && userDAO.updateUserCommunities(userId, communityIds);
+        return new SelectionSave(created, communityIds, saved);
+    }
+
+    private void showError(String message) {
+        if (selectedCoursesLabel == null) {
             return;
         }
+        selectedCoursesLabel.setText(message);
+        selectedCoursesLabel.setStyle("-fx-text-fill: #FF4500; -fx-font-size: 12px; -fx-background-color: #0B1416; -fx-padding: 8; -fx-background-radius: 4; -fx-border-color: #343536; -fx-border-width: 1; -fx-border-radius: 4;");
+    }
 
-        if (userDAO.updateUserCommunities(currentUser.getUserId(), selectedCommunityIds)) {
-            System.out.println("Successfully updated user to " + selectedCommunityIds.size() + " communities");
-            SceneManager.switchToForum(currentUser);
-        } else {
-            selectedCoursesLabel.setText("Error saving selections. Please try again.");
-            selectedCoursesLabel.setStyle("-fx-text-fill: #FF4500; -fx-font-size: 12px; -fx-background-color: #0B1416; -fx-padding: 8; -fx-background-radius: 4; -fx-border-color: #343536; -fx-border-width: 1; -fx-border-radius: 4;");
+    private static final class SelectionSave {
+        private final Map<String, Integer> createdCommunities;
+        private final List<Integer> communityIds;
+        private final boolean saved;
+
+        private SelectionSave(Map<String, Integer> createdCommunities, List<Integer> communityIds, boolean saved) {
+            this.createdCommunities = createdCommunities;
+            this.communityIds = communityIds;
+            this.saved = saved;
         }
     }
 }
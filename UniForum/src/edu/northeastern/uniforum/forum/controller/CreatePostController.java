@@ -2,6 +2,8 @@ package edu.northeastern.uniforum.forum.controller;
 
 import edu.northeastern.uniforum.forum.dao.PostDAO;
 import edu.northeastern.uniforum.forum.model.User;
+import edu.northeastern.uniforum.forum.service.AsyncService;
+import edu.northeastern.uniforum.forum.service.CommunityDirectory;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -15,7 +17,6 @@ import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -51,6 +52,8 @@ public class CreatePostController {
     private final PostDAO postDAO = new PostDAO();
 
     private List<String> tags = new ArrayList<>();
+    private final AsyncService.LatestRequest communitiesRequest = new AsyncService.LatestRequest();
+    private boolean submitting = false;
 
     public void setParentController(ForumController parentController) {
         this.parentController = parentController;
@@ -179,13 +182,12 @@ public class CreatePostController {
 
 	// Load available communities from database
 	private void loadCommunities() {
-        try {
-            List<PostDAO.CommunityDTO> communities = postDAO.getAllCommunities();
-            communityComboBox.getItems().setAll(communities);
-        } catch (SQLException e) {
-            e.printStackTrace();
-            System.out.println("Failed to load communities: " + e.getMessage());
-        }
+        communitiesRequest.submit(CommunityDirectory.getInstance()::getAll,
+                communities -> communityComboBox.getItems().setAll(communities),
+                error -> {
+                    error.printStackTrace();
+                    System.out.println("Failed to load communities: " + error.getMessage());
+                });
     }
 
     @FXML
@@ -289,14 +291,31 @@ public class CreatePostController {
         String tag = tags.get(0);
         showValidationMessage(null);
 
-        try {
-            if (currentUser == null) {
-                showValidationMessage("User not logged in. Please log in again.");
+        if (currentUser == null) {
+            showValidationMessage("User not logged in. Please log in again.");
+            return;
+        }
+        if (submitting) {
+            return;
+        }
+
+        int userId = currentUser.getUserId();
+        int communityId = selectedCommunity.id;
+        submitting = true;
+        AsyncService.supply(() -> {
+            postDAO.createPost(communityId, userId, title, body, tag);
+            return null;
+        }).whenCompleteAsync((ignored, error) -> {
+            submitting = false;
+
+            if (error != null) {
+                Throwable cause = AsyncService.rootCause(error);
+                cause.printStackTrace();
+                System.out.println("Error creating post: " + cause.getMessage());
+                showValidationMessage("Could not create post. Please try again.");
                 return;
             }
 
-            int userId = currentUser.getUserId();
-            postDAO.createPost(selectedCommunity.id, userId, title, body, tag);
             System.out.println("Post created successfully.");
             showValidationMessage(null);
 
@@ -305,11 +324,7 @@ public class CreatePostController {
             }
 
             onCloseClicked();
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            System.out.println("Error creating post: " + e.getMessage());
-        }
+        }, AsyncService.FX);
     }
 
     private void showValidationMessage(String message) {
@@ -324,6 +339,8 @@ public class CreatePostController {
 
     @FXML
     private void onCloseClicked() {
+        communitiesRequest.cancel();
+
         if (parentController != null) {
             parentController.closeModal();
         } else {
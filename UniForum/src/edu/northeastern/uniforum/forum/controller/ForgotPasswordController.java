@@ -1,8 +1,7 @@
 package edu.northeastern.uniforum.forum.controller;
 
 import edu.northeastern.uniforum.forum.dao.UserDAO;
-import edu.northeastern.uniforum.forum.model.User;
-import edu.northeastern.uniforum.forum.service.EmailService;
+import edu.northeastern.uniforum.forum.service.AsyncService;
 import edu.northeastern.uniforum.forum.service.EmailServiceFactory;
 import edu.northeastern.uniforum.forum.service.OtpService;
 import edu.northeastern.uniforum.forum.util.PasswordUtil;
@@ -10,6 +9,7 @@ import edu.northeastern.uniforum.forum.util.SceneManager;
 import javafx.animation.PauseTransition;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
@@ -25,9 +25,9 @@ public class ForgotPasswordController {
     @FXML private VBox otpStepContainer;
     @FXML private VBox resetStepContainer;
     @FXML private Label statusLabel;
+    @FXML private Button sendOtpButton;
 
     private final UserDAO userDAO = new UserDAO();
-    private final EmailService emailService = EmailServiceFactory.getInstance();
     private String currentEmail;
     private boolean otpVerified = false;
 
@@ -50,22 +50,44 @@ public class ForgotPasswordController {
             return;
         }
 
-        User user = userDAO.getUserByEmail(email);
-        if (user == null) {
-            showStatus("No account is registered with this email address.", false);
-            return;
-       }
-        try {
-            String otp = OtpService.generateOtp(email);
-            emailService.sendOtpEmail(email, otp);
+        setSendBusy(true);
+
+        // The lookup and the hand-off to the mail service run in the background; null means no such account
+        AsyncService.supply(() -> {
+            if (userDAO.getUserByEmail(email) == null) {
+                return null;
+            }
+            OtpService.OtpRequest request = OtpService.requestOtp(email, OtpService.localOrigin());
+            if (request.isAllowed()) {
+                EmailServiceFactory.getInstance().sendOtpEmail(email, request.otp);
+            }
+            return request;
+        }).whenCompleteAsync((request, error) -> {
+            setSendBusy(false);
+            if (error != null) {
+                showStatus("Unable to send OTP. Please try again later.", false);
+                AsyncService.rootCause(error).printStackTrace();
+                return;
+            }
+            if (request == null) {
+                showStatus("No account is registered with this email address.", false);
+                return;
+            }
+            if (!request.isAllowed()) {
+                showStatus("Too many OTP requests. Please try again in " + formatWait(request.retryAfterSeconds) + ".", false);
+                return;
+            }
             currentEmail = email;
             otpVerified = false;
             setStepVisibility(true, false);
             emailField.setDisable(true);
             showStatus("OTP sent! Please check your email. (Valid for 10 minutes)", true);
-        } catch (Exception ex) {
-            showStatus("Unable to send OTP. Please try again later.", false);
-            ex.printStackTrace();
+        }, AsyncService.FX);
+    }
+
+    private void setSendBusy(boolean busy) {
+        if (sendOtpButton != null) {
+            sendOtpButton.setDisable(busy);
         }
     }
 
@@ -82,12 +104,14 @@ public class ForgotPasswordController {
             return;
         }
 
-        if (OtpService.verifyOtp(currentEmail, otp)) {
-            otpVerified = true;
-            setStepVisibility(true, true);
-            showStatus("OTP verified! You can now set a new password.", true);
-        } else {
-            showStatus("Invalid or expired OTP. Please try again.", false);
+        switch (OtpService.verifyOtp(currentEmail, OtpService.localOrigin(), otp)) {
+            case VALID -> {
+                otpVerified = true;
+                setStepVisibility(true, true);
+                showStatus("OTP verified! You can now set a new password.", true);
+            }
+            case INVALID -> showStatus("Invalid or expired OTP. Please try again.", false);
+            case LOCKED_OUT -> showStatus("Too many incorrect attempts. Please wait a few minutes and request a new OTP.", false);
         }
     }
 
@@ -116,23 +140,29 @@ public class ForgotPasswordController {
             return;
         }
 
-        String hashed = PasswordUtil.hashPassword(newPassword);
-        boolean updated = userDAO.updatePasswordByEmail(currentEmail, hashed);
-        if (updated) {
-            showStatus("Password updated successfully! Redirecting to login...", true);
-            OtpService.invalidateOtp(currentEmail);
-            Alert alert = new Alert(Alert.AlertType.INFORMATION);
-            alert.setTitle("Password Reset");
-            alert.setHeaderText(null);
-            alert.setContentText("Your password has been updated. You can now log in with the new password.");
-            alert.show();
-
-            PauseTransition delay = new PauseTransition(Duration.seconds(2.5));
-            delay.setOnFinished(e -> SceneManager.switchToLogin());
-            delay.play();
-        } else {
-            showStatus("Something went wrong while updating the password. Please try again.", false);
-        }
+        String email = currentEmail;
+        // bcrypt and the UPDATE run in the background so the window stays responsive
+        AsyncService.supply(() -> userDAO.updatePasswordByEmail(email, PasswordUtil.hashPassword(newPassword)))
+                .whenCompleteAsync((updated, error) -> {
+                    if (error != null) {
+                        AsyncService.rootCause(error).printStackTrace();
+                    }
+                    if (error == null && updated) {
+                        showStatus("Password updated successfully! Redirecting to login...", true);
+                        OtpService.invalidateOtp(email);
+                        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+                        alert.setTitle("Password Reset");
+                        alert.setHeaderText(null);
+                        alert.setContentText("Your password has been updated. You can now log in with the new password.");
+                        alert.show();
+
+                        PauseTransition delay = new PauseTransition(Duration.seconds(2.5));
+                        delay.setOnFinished(e -> SceneManager.switchToLogin());
+                        delay.play();
+                    } else {
+                        showStatus("Something went wrong while updating the password. Please try again.", false);
+                    }
+                }, AsyncService.FX);
     }
 
     private void setStepVisibility(boolean showOtpStep, boolean showResetStep) {
@@ -155,6 +185,14 @@ public class ForgotPasswordController {
         }
     }
 
+    private String formatWait(long seconds) {
+        if (seconds < 60) {
+            return seconds + (seconds == 1 ? " second" : " seconds");
+        }
+        long minutes = (seconds + 59) / 60;
+        return minutes + (minutes == 1 ? " minute" : " minutes");
+    }
+
     private boolean isValidEmail(String email) {
         return email != null && email.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$");
     }
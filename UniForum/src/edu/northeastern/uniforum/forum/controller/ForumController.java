@@ -1,27 +1,39 @@
 package edu.northeastern.uniforum.forum.controller;
 
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 
 import edu.northeastern.uniforum.forum.dao.PostDAO;
 import edu.northeastern.uniforum.forum.dao.UserDAO;
-import edu.northeastern.uniforum.forum.model.Reply;
 import edu.northeastern.uniforum.forum.model.User;
+import edu.northeastern.uniforum.forum.service.AsyncService;
+import edu.northeastern.uniforum.forum.service.CommunityDirectory;
+import edu.northeastern.uniforum.forum.service.VoteEngine;
 import edu.northeastern.uniforum.forum.util.SceneManager;
 import edu.northeastern.uniforum.forum.util.TimeUtil;
 import javafx.animation.PauseTransition;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.geometry.Insets;
-import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.ComboBox;
+import javafx.scene.control.ContentDisplay;
 import javafx.scene.control.Dialog;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Region;
@@ -59,7 +71,7 @@ public class ForumController {
 	private Button homeNavButton;
 
 	@FXML
-	private VBox postContainer;
+	private ListView<PostDAO.PostDTO> postListView;
 
 	@FXML
 	private VBox recentPostsContainer;
@@ -85,7 +97,32 @@ public class ForumController {
 	@FXML
 	private ComboBox<String> sortByFilter;
 
+	private static final int FEED_PAGE_SIZE = 25;
+	// Start fetching the next page once a card this close to the end is bound
+	private static final int LOAD_MORE_PREFETCH = 5;
+	private static final int POST_DETAIL_CACHE_SIZE = 32;
+
+	private static final String DEFAULT_VOTE_STYLE = "-fx-background-color: transparent; -fx-text-fill: #818384; -fx-font-size: 16; -fx-cursor: hand; -fx-padding: 2 8;";
+	private static final String VOTED_UPVOTE_STYLE = "-fx-background-color: transparent; -fx-text-fill: #FF4500; -fx-font-size: 16; -fx-cursor: hand; -fx-padding: 2 8; -fx-font-weight: bold;";
+	private static final String VOTED_DOWNVOTE_STYLE = "-fx-background-color: transparent; -fx-text-fill: #7193FF; -fx-font-size: 16; -fx-cursor: hand; -fx-padding: 2 8; -fx-font-weight: bold;";
+	private static final String AUTHOR_STYLE = "-fx-text-fill: #0079D3; -fx-font-size: 12; -fx-cursor: hand;";
+	private static final String AUTHOR_HOVER_STYLE = "-fx-text-fill: #7193FF; -fx-font-size: 12; -fx-cursor: hand;";
+
 	private List<PostDAO.PostDTO> cachedPosts = new ArrayList<>();
+	private final Map<Integer, Integer> userVotes = new HashMap<>();
+	private PostDAO.FeedCursor nextCursor;
+	private boolean hasMorePosts = false;
+	// First-page reloads and next-page fetches share one slot, so a reload drops any page still in flight
+	private final AsyncService.LatestRequest feedRequest = new AsyncService.LatestRequest();
+	private final Set<Integer> votesInFlight = new HashSet<>();
+	private final AsyncService.LatestRequest postDetailRequest = new AsyncService.LatestRequest();
+	// Recently opened posts with full content, least recently opened evicted first
+	private final Map<Integer, PostDAO.PostDTO> postDetailCache = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, PostDAO.PostDTO> eldest) {
+			return size() > POST_DETAIL_CACHE_SIZE;
+		}
+	};
 	private PauseTransition searchDebounce;
 	private User currentUser;
 	private final PostDAO postDAO = new PostDAO();
@@ -100,41 +137,56 @@ public class ForumController {
 
 		setupFilterControls();
 
+		setupPostList();
+
 		loadPostsFromDB();
 	}
 
+	// Virtualized feed: only the visible cards exist and they are rebound as the user scrolls
+	private void setupPostList() {
+		if (postListView == null) {
+			return;
+		}
+
+		postListView.setCellFactory(listView -> new PostCardCell());
+	}
+
 	// Configure dropdown filters for communities, tags, and sorting
 	private void setupFilterControls() {
-		try {
-			List<PostDAO.CommunityDTO> communities = postDAO.getAllCommunities();
-			if (communityFilter != null) {
-				communityFilter.getItems().clear();
-				communityFilter.getItems().add("All Communities");
+		if (communityFilter != null) {
+			communityFilter.getItems().clear();
+			communityFilter.getItems().add("All Communities");
+			communityFilter.setOnAction(e -> applyFilters());
+			// The directory may have to load the Communities table, so it is read in the background like the tags
+			AsyncService.supply(CommunityDirectory.getInstance()::getAll).whenCompleteAsync((communities, error) -> {
+				if (error != null) {
+					System.err.println("Error loading communities for filter: " + AsyncService.rootCause(error).getMessage());
+					return;
+				}
 				for (PostDAO.CommunityDTO comm : communities) {
 					communityFilter.getItems().add(comm.name);
 				}
-				communityFilter.setOnAction(e -> applyFilters());
-			}
-		} catch (SQLException e) {
-			System.err.println("Error loading communities for filter: " + e.getMessage());
-		}
-
-		try {
-			List<String> tags = postDAO.getAllTags();
-			if (tagFilter != null) {
-				tagFilter.getItems().clear();
-				tagFilter.getItems().add("All Tags");
+			}, AsyncService.FX);
+		}
+
+		if (tagFilter != null) {
+			tagFilter.getItems().clear();
+			tagFilter.getItems().add("All Tags");
+			tagFilter.setOnAction(e -> applyFilters());
+			// The distinct-tags query runs in the background; the options appear when it returns
+			AsyncService.supply(postDAO::getAllTags).whenCompleteAsync((tags, error) -> {
+				if (error != null) {
+					System.err.println("Error loading tags for filter: " + AsyncService.rootCause(error).getMessage());
+					return;
+				}
 				tagFilter.getItems().addAll(tags);
-				tagFilter.setOnAction(e -> applyFilters());
-			}
-		} catch (SQLException e) {
-			System.err.println("Error loading tags for filter: " + e.getMessage());
+			}, AsyncService.FX);
 		}
 
 		if (sortByFilter != null) {
 			sortByFilter.getItems().addAll("Most Liked", "Least Liked", "Latest", "Oldest");
 			sortByFilter.setValue("Most Liked");
-			sortByFilter.setOnAction(e -> applyFilters());
+			sortByFilter.setOnAction(e -> applySortOrder());
 		}
 
 		applyDarkThemeToComboBox(communityFilter);
@@ -221,31 +273,100 @@ public class ForumController {
 		searchField.setOnAction(e -> performSearch());
 	}
 
-	// Load posts from database based on user's joined communities
+	// Reload the feed from its first page for the current view (Home or Explore) and search keyword
 	public void loadPostsFromDB() {
-		try {
-			if (currentUser != null) {
-				List<PostDAO.PostDTO> posts = postDAO.getPostsFromJoinedCommunities(currentUser.getUserId());
-				cachedPosts = posts != null ? posts : new ArrayList<>();
-				System.out.println("Controller: Home posts.size = " + cachedPosts.size());
-			} else {
-				List<PostDAO.PostDTO> posts = postDAO.getAllPosts();
-				cachedPosts = posts != null ? posts : new ArrayList<>();
-				System.out.println("Controller: posts.size = " + cachedPosts.size());
-			}
+		feedRequest.submit(feedQuery(null), load -> {
+			cachedPosts = new ArrayList<>(load.page.posts);
+			userVotes.clear();
+			userVotes.putAll(load.votes);
+			nextCursor = load.page.next;
+			hasMorePosts = load.page.hasMore();
 
-			performSearch();
+			renderPosts(cachedPosts);
+		}, error -> {
+			error.printStackTrace();
+			System.out.println("Error loading DB posts: " + error.getMessage());
+			cachedPosts = new ArrayList<>();
+			userVotes.clear();
+			hasMorePosts = false;
 
-		} catch (Exception e) {
-			e.printStackTrace();
-			System.out.println("Error loading DB posts: " + e.getMessage());
+			renderPosts(cachedPosts);
+		});
+	}
+
+	// Append the next keyset page to the feed; no-op while a page is loading or at the end
+	private void loadNextPage() {
+		if (feedRequest.isRunning() || !hasMorePosts) {
+			return;
 		}
+
+		feedRequest.submit(feedQuery(nextCursor), load -> {
+			cachedPosts.addAll(load.page.posts);
+			userVotes.putAll(load.votes);
+			nextCursor = load.page.next;
+			hasMorePosts = load.page.hasMore();
+
+			postListView.getItems().addAll(load.page.posts);
+		}, error -> {
+			System.err.println("Error loading next page of posts: " + error.getMessage());
+			hasMorePosts = false;
+		});
 	}
 
-	// Display posts in the main container with Reddit-style cards
-	private void renderPosts(List<PostDAO.PostDTO> postsToRender) {
-		postContainer.getChildren().clear();
+	// Filter state is read here on the FX thread; the returned query only touches the database
+	private Callable<FeedLoad> feedQuery(PostDAO.FeedCursor after) {
+		Integer userId = currentUser != null ? currentUser.getUserId() : null;
+		PostDAO.FeedOrder order = isExploreView ? selectedFeedOrder() : PostDAO.FeedOrder.LATEST;
+		Integer scopeUserId = isExploreView ? null : userId;
+		String community = isExploreView ? selectedCommunity() : null;
+		String tag = isExploreView ? selectedTag() : null;
+		String keyword = hasKeyword() ? searchField.getText() : null;
+
+		return () -> {
+			// A keyword switches the feed to ranked full-text results within the same scope and filters
+			PostDAO.FeedPage page = keyword != null
+					? postDAO.searchPosts(keyword, scopeUserId, community, tag, after, FEED_PAGE_SIZE)
+					: postDAO.getFeedPage(order, scopeUserId, community, tag, after, FEED_PAGE_SIZE);
+			Map<Integer, Integer> votes = VoteEngine.getInstance().overlay(userId, page.posts,
+					loadUserVotes(userId, page.posts));
+			return new FeedLoad(page, votes);
+		};
+	}
+
+	private PostDAO.FeedOrder selectedFeedOrder() {
+		String sortOption = sortByFilter != null ? sortByFilter.getValue() : null;
+		if (sortOption == null) {
+			return PostDAO.FeedOrder.MOST_LIKED;
+		}
+		switch (sortOption) {
+		case "Least Liked":
+			return PostDAO.FeedOrder.LEAST_LIKED;
+		case "Latest":
+			return PostDAO.FeedOrder.LATEST;
+		case "Oldest":
+			return PostDAO.FeedOrder.OLDEST;
+		default:
+			return PostDAO.FeedOrder.MOST_LIKED;
+		}
+	}
+
+	private String selectedCommunity() {
+		String value = communityFilter != null ? communityFilter.getValue() : null;
+		return value == null || value.equals("All Communities") ? null : value;
+	}
 
+	private String selectedTag() {
+		String value = tagFilter != null ? tagFilter.getValue() : null;
+		return value == null || value.equals("All Tags") ? null : value;
+	}
+
+	private boolean hasKeyword() {
+		String keyword = searchField != null ? searchField.getText() : "";
+		return keyword != null && !keyword.trim().isEmpty();
+	}
+
+	// Show posts in the virtualized feed; cards are created only for the visible rows
+	private void renderPosts(List<PostDAO.PostDTO> postsToRender) {
 		if (postsToRender == null || postsToRender.isEmpty()) {
 			String message = "No posts available.";
 			String keyword = searchField != null ? searchField.getText() : "";
@@ -255,218 +376,224 @@ public class ForumController {
 
 			Label emptyLabel = new Label(message);
 			emptyLabel.setStyle("-fx-text-fill: #555555; -fx-font-size: 14; -fx-padding: 24;");
-			postContainer.getChildren().add(emptyLabel);
+			postListView.setPlaceholder(emptyLabel);
+			postListView.getItems().clear();
 			return;
 		}
 
-		for (PostDAO.PostDTO post : postsToRender) {
-			createRedditStylePost(post.postId, post.community, post.author, post.timeAgo, post.title, post.content,
-					post.upvotes, post.comments, post.tag, false);
-		}
+		postListView.getItems().setAll(postsToRender);
 	}
 
-	private Node createReplyNode(Reply reply, int level) {
-
-		HBox row = new HBox(6);
-
-		if (level > 0) {
-			VBox lineBox = new VBox();
-			lineBox.setPrefWidth(16);
-			lineBox.setAlignment(Pos.TOP_CENTER);
-
-			Region vertical = new Region();
-			VBox.setVgrow(vertical, Priority.ALWAYS);
-			vertical.setStyle("-fx-border-color: #cccccc; -fx-border-width: 0 0 0 2;");
-
-			lineBox.getChildren().add(vertical);
-			row.getChildren().add(lineBox);
+	// Fetch the user's vote state for every rendered post in one query
+	private Map<Integer, Integer> loadUserVotes(Integer userId, List<PostDAO.PostDTO> posts) {
+		if (userId == null) {
+			return Collections.emptyMap();
 		}
 
-		VBox card = new VBox(4);
-		card.setPadding(new Insets(4, 8, 4, 8));
-
-		String style = "-fx-background-color: transparent;";
-		if (level > 0) {
-			style += "-fx-border-color: #cccccc; -fx-border-width: 1 0 0 0;";
+		List<Integer> postIds = new ArrayList<>(posts.size());
+		for (PostDAO.PostDTO post : posts) {
+			postIds.add(post.postId);
 		}
-		card.setStyle(style);
 
-		Label text = new Label(reply.getText());
-		text.setWrapText(true);
-		text.setStyle("-fx-font-size: 12; -fx-text-fill: #555555;");
+		try {
+			return postDAO.getUserVotes(userId, postIds);
+		} catch (SQLException e) {
+			System.err.println("Error checking user votes: " + e.getMessage());
+			return Collections.emptyMap();
+		}
+	}
 
-		card.getChildren().add(text);
+	private static final class FeedLoad {
+		private final PostDAO.FeedPage page;
+		private final Map<Integer, Integer> votes;
 
-		if (reply.getChildren() != null && !reply.getChildren().isEmpty()) {
-			VBox childrenBox = new VBox(2);
-			for (Reply child : reply.getChildren()) {
-				Node childNode = createReplyNode(child, level + 1);
-				childrenBox.getChildren().add(childNode);
-			}
-			card.getChildren().add(childrenBox);
+		private FeedLoad(PostDAO.FeedPage page, Map<Integer, Integer> votes) {
+			this.page = page;
+			this.votes = votes;
 		}
-
-		row.getChildren().add(card);
-		return row;
 	}
 
-	// Create a Reddit-style post card with voting and interaction buttons
-	private void createRedditStylePost(int postId, String community, String author, String timeAgo, String title,
-			String content, int upvotes, int comments, String tag, boolean hasJoinButton) {
-		HBox postCard = new HBox(8);
-		postCard.setPadding(new Insets(12));
-		postCard.setStyle(
-				"-fx-background-color: #1A1A1B; -fx-border-color: #343536; -fx-border-width: 1; -fx-cursor: hand; -fx-background-radius: 4;");
+	// Reddit-style post card; its node tree is built once and rebound to whichever post scrolls into view
+	private class PostCardCell extends ListCell<PostDAO.PostDTO> {
+
+		private final HBox postCard = new HBox(8);
+		private final Button upvoteBtn = new Button("▲");
+		private final Button downvoteBtn = new Button("▼");
+		private final Label voteCount = new Label();
+		private final Label communityLabel = new Label();
+		private final Label authorNameLabel = new Label();
+		private final Label timeLabel = new Label();
+		private final HBox tagBox = new HBox(6);
+		private final Label tagLabel = new Label();
+		private final Label titleLabel = new Label();
+		private final Label contentLabel = new Label();
+		private final Label commentCount = new Label();
+
+		PostCardCell() {
+			postCard.setPadding(new Insets(12));
+			postCard.setStyle(
+					"-fx-background-color: #1A1A1B; -fx-border-color: #343536; -fx-border-width: 1; -fx-cursor: hand; -fx-background-radius: 4;");
+			postCard.setOnMouseClicked(e -> {
+				if (getItem() != null) {
+					openPostDetail(getItem().postId);
+				}
+			});
 
-		postCard.setOnMouseClicked(e -> openPostDetail(postId));
+			VBox voteBox = new VBox(4);
+			voteBox.setAlignment(Pos.TOP_CENTER);
+			voteBox.setPrefWidth(40);
+			voteBox.setMinWidth(40);
+			voteBox.setStyle("-fx-padding: 4 0;");
 
-		VBox voteBox = new VBox(4);
-		voteBox.setAlignment(Pos.TOP_CENTER);
-		voteBox.setPrefWidth(40);
-		voteBox.setStyle("-fx-padding: 4 0;");
+			voteCount.setStyle("-fx-text-fill: white; -fx-font-size: 12; -fx-font-weight: bold;");
 
-		Label voteCount = new Label(String.valueOf(upvotes));
-		voteCount.setStyle("-fx-text-fill: white; -fx-font-size: 12; -fx-font-weight: bold;");
+			upvoteBtn.setOnMouseClicked(e -> {
+				e.consume();
+				if (getItem() != null) {
+					handleUpvote(getItem().postId);
+				}
+			});
 
-		int userVote = 0;
-		if (currentUser != null) {
-			try {
-				userVote = postDAO.getUserVote(postId, currentUser.getUserId());
-			} catch (SQLException e) {
-				System.err.println("Error checking user vote: " + e.getMessage());
-			}
-		}
+			downvoteBtn.setOnMouseClicked(e -> {
+				e.consume();
+				if (getItem() != null) {
+					handleDownvote(getItem().postId);
+				}
+			});
 
-		String defaultUpvoteStyle = "-fx-background-color: transparent; -fx-text-fill: #818384; -fx-font-size: 16; -fx-cursor: hand; -fx-padding: 2 8;";
-		String defaultDownvoteStyle = "-fx-background-color: transparent; -fx-text-fill: #818384; -fx-font-size: 16; -fx-cursor: hand; -fx-padding: 2 8;";
-		String votedUpvoteStyle = "-fx-background-color: transparent; -fx-text-fill: #FF4500; -fx-font-size: 16; -fx-cursor: hand; -fx-padding: 2 8; -fx-font-weight: bold;";
-		String votedDownvoteStyle = "-fx-background-color: transparent; -fx-text-fill: #7193FF; -fx-font-size: 16; -fx-cursor: hand; -fx-padding: 2 8; -fx-font-weight: bold;";
+			voteBox.getChildren().addAll(upvoteBtn, voteCount, downvoteBtn);
 
-		Button upvoteBtn = new Button("▲");
-		Button downvoteBtn = new Button("▼");
+			VBox contentBox = new VBox(6);
+			contentBox.setPadding(new Insets(4, 0, 4, 0));
+			HBox.setHgrow(contentBox, Priority.ALWAYS);
 
-		upvoteBtn.setStyle(userVote == 1 ? votedUpvoteStyle : defaultUpvoteStyle);
-		downvoteBtn.setStyle(userVote == -1 ? votedDownvoteStyle : defaultDownvoteStyle);
+			HBox metaRow = new HBox(8);
+			metaRow.setAlignment(Pos.CENTER_LEFT);
 
-		upvoteBtn.setOnMouseClicked(e -> {
-			e.consume();
-			handleUpvote(postId, voteCount, upvoteBtn, downvoteBtn);
-		});
+			communityLabel.setStyle("-fx-text-fill: white; -fx-font-size: 12; -fx-font-weight: bold; -fx-cursor: hand;");
 
-		downvoteBtn.setOnMouseClicked(e -> {
-			e.consume();
-			handleDownvote(postId, voteCount, upvoteBtn, downvoteBtn);
-		});
+			HBox authorTimeBox = new HBox(4);
+			authorTimeBox.setAlignment(Pos.CENTER_LEFT);
 
-		voteBox.getChildren().addAll(upvoteBtn, voteCount, downvoteBtn);
+			Label postedByLabel = new Label("Posted by ");
+			postedByLabel.setStyle("-fx-text-fill: #818384; -fx-font-size: 12;");
 
-		VBox contentBox = new VBox(6);
-		contentBox.setPadding(new Insets(4, 0, 4, 0));
-		VBox.setVgrow(contentBox, Priority.ALWAYS);
+			authorNameLabel.setStyle(AUTHOR_STYLE);
+			authorNameLabel.setOnMouseClicked(e -> {
+				if (getItem() != null) {
+					navigateToUserSettings(getItem().author);
+				}
+			});
+			authorNameLabel.setOnMouseEntered(e -> authorNameLabel.setStyle(AUTHOR_HOVER_STYLE));
+			authorNameLabel.setOnMouseExited(e -> authorNameLabel.setStyle(AUTHOR_STYLE));
 
-		HBox metaRow = new HBox(8);
-		metaRow.setAlignment(Pos.CENTER_LEFT);
+			timeLabel.setStyle("-fx-text-fill: #818384; -fx-font-size: 12;");
 
-		Label communityLabel = new Label(community);
-		communityLabel.setStyle("-fx-text-fill: white; -fx-font-size: 12; -fx-font-weight: bold; -fx-cursor: hand;");
+			authorTimeBox.getChildren().addAll(postedByLabel, authorNameLabel, timeLabel);
 
-		HBox authorTimeBox = new HBox(4);
-		authorTimeBox.setAlignment(Pos.CENTER_LEFT);
+			tagBox.setAlignment(Pos.CENTER_LEFT);
+			tagBox.setStyle("-fx-background-color: #FF4500; -fx-background-radius: 12; -fx-padding: 4 8;");
+			tagLabel.setStyle("-fx-text-fill: white; -fx-font-size: 11; -fx-font-weight: 600;");
+			tagBox.getChildren().add(tagLabel);
 
-		Label postedByLabel = new Label("Posted by ");
-		postedByLabel.setStyle("-fx-text-fill: #818384; -fx-font-size: 12;");
+			metaRow.getChildren().addAll(communityLabel, authorTimeBox, tagBox);
 
-		Label authorNameLabel = new Label(author);
-		authorNameLabel.setStyle("-fx-text-fill: #0079D3; -fx-font-size: 12; -fx-cursor: hand;");
-		authorNameLabel.setOnMouseClicked(e -> navigateToUserSettings(author));
-		authorNameLabel.setOnMouseEntered(
-				e -> authorNameLabel.setStyle("-fx-text-fill: #7193FF; -fx-font-size: 12; -fx-cursor: hand;"));
-		authorNameLabel.setOnMouseExited(
-				e -> authorNameLabel.setStyle("-fx-text-fill: #0079D3; -fx-font-size: 12; -fx-cursor: hand;"));
+			titleLabel.setStyle(
+					"-fx-text-fill: white; -fx-font-size: 16; -fx-font-weight: 600; -fx-cursor: hand; -fx-wrap-text: true;");
+			titleLabel.setWrapText(true);
 
-		Label timeLabel = new Label(" • " + timeAgo);
-		timeLabel.setStyle("-fx-text-fill: #818384; -fx-font-size: 12;");
+			contentLabel.setStyle("-fx-text-fill: #D7DADC; -fx-font-size: 14;");
+			contentLabel.setWrapText(false);
+			contentLabel.setMaxWidth(Double.MAX_VALUE);
+			contentLabel.setTextOverrun(javafx.scene.control.OverrunStyle.ELLIPSIS);
 
-		authorTimeBox.getChildren().addAll(postedByLabel, authorNameLabel, timeLabel);
+			HBox actionRow = new HBox(16);
+			actionRow.setAlignment(Pos.CENTER_LEFT);
+			actionRow.setStyle("-fx-padding: 8 0 0 0;");
 
-		if (tag != null && !tag.trim().isEmpty()) {
-			HBox tagBox = new HBox(6);
-			tagBox.setAlignment(Pos.CENTER_LEFT);
-			tagBox.setStyle("-fx-background-color: #FF4500; -fx-background-radius: 12; -fx-padding: 4 8;");
+			Button commentBtn = createActionButton("💬 Comment", commentCount);
+			commentBtn.setOnMouseClicked(e -> {
+				e.consume();
+				if (getItem() != null) {
+					openPostDetail(getItem().postId);
+				}
+			});
 
-			Label tagLabel = new Label(tag);
-			tagLabel.setStyle("-fx-text-fill: white; -fx-font-size: 11; -fx-font-weight: 600;");
+			actionRow.getChildren().addAll(commentBtn);
 
-			tagBox.getChildren().add(tagLabel);
+			contentBox.getChildren().addAll(metaRow, titleLabel, contentLabel, actionRow);
 
-			if (hasJoinButton) {
-				Button joinBtn = new Button("Join");
-				joinBtn.setStyle(
-						"-fx-background-color: transparent; -fx-text-fill: white; -fx-font-size: 11; -fx-font-weight: bold; -fx-background-radius: 20; -fx-padding: 4 16; -fx-cursor: hand; -fx-border-color: #FF4500; -fx-border-width: 1; -fx-border-radius: 20;");
-				metaRow.getChildren().addAll(communityLabel, authorTimeBox, tagBox, new Region(), joinBtn);
-				HBox.setHgrow(metaRow.getChildren().get(3), Priority.ALWAYS);
-			} else {
-				metaRow.getChildren().addAll(communityLabel, authorTimeBox, tagBox);
-			}
-		} else {
-			if (hasJoinButton) {
-				Button joinBtn = new Button("Join");
-				joinBtn.setStyle(
-						"-fx-background-color: transparent; -fx-text-fill: white; -fx-font-size: 11; -fx-font-weight: bold; -fx-background-radius: 20; -fx-padding: 4 16; -fx-cursor: hand; -fx-border-color: #FF4500; -fx-border-width: 1; -fx-border-radius: 20;");
-				metaRow.getChildren().addAll(communityLabel, authorTimeBox, new Region(), joinBtn);
-				HBox.setHgrow(metaRow.getChildren().get(2), Priority.ALWAYS);
-			} else {
-				metaRow.getChildren().addAll(communityLabel, authorTimeBox);
-			}
+			postCard.getChildren().addAll(voteBox, contentBox);
+
+			// Zero pref width lets the cell follow the list width so titles wrap instead of widening the list
+			setPrefWidth(0);
+			setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+			setStyle("-fx-background-color: transparent; -fx-padding: 0 0 10 0;");
 		}
 
-		Label titleLabel = new Label(title);
-		titleLabel.setStyle(
-				"-fx-text-fill: white; -fx-font-size: 16; -fx-font-weight: 600; -fx-cursor: hand; -fx-wrap-text: true;");
-		titleLabel.setWrapText(true);
+		@Override
+		protected void updateItem(PostDAO.PostDTO post, boolean empty) {
+			super.updateItem(post, empty);
+
+			if (empty || post == null) {
+				setGraphic(null);
+				return;
+			}
 
-		Label contentLabel = new Label(content);
-		contentLabel.setStyle("-fx-text-fill: #D7DADC; -fx-font-size: 14;");
-		contentLabel.setWrapText(false);
-		contentLabel.setMaxWidth(Double.MAX_VALUE);
-		contentLabel.setTextOverrun(javafx.scene.control.OverrunStyle.ELLIPSIS);
+			int userVote = userVotes.getOrDefault(post.postId, 0);
+			voteCount.setText(String.valueOf(post.upvotes));
+			upvoteBtn.setStyle(userVote == 1 ? VOTED_UPVOTE_STYLE : DEFAULT_VOTE_STYLE);
+			downvoteBtn.setStyle(userVote == -1 ? VOTED_DOWNVOTE_STYLE : DEFAULT_VOTE_STYLE);
 
-		HBox actionRow = new HBox(16);
-		actionRow.setAlignment(Pos.CENTER_LEFT);
-		actionRow.setStyle("-fx-padding: 8 0 0 0;");
+			communityLabel.setText(post.community);
+			authorNameLabel.setText(post.author);
+			authorNameLabel.setStyle(AUTHOR_STYLE);
+			timeLabel.setText(" • " + post.timeAgo);
 
-		Button commentBtn = createActionButton("💬 Comment", String.valueOf(comments));
-		commentBtn.setOnMouseClicked(e -> {
-			e.consume();
-			openPostDetail(postId);
-		});
+			boolean hasTag = post.tag != null && !post.tag.trim().isEmpty();
+			tagLabel.setText(hasTag ? post.tag : "");
+			tagBox.setVisible(hasTag);
+			tagBox.setManaged(hasTag);
 
-		actionRow.getChildren().addAll(commentBtn);
+			titleLabel.setText(post.title);
+			contentLabel.setText(post.content);
+			commentCount.setText(String.valueOf(post.comments));
 
-		contentBox.getChildren().addAll(metaRow, titleLabel, contentLabel, actionRow);
+			setGraphic(postCard);
 
-		postCard.getChildren().addAll(voteBox, contentBox);
-		postContainer.getChildren().add(postCard);
+			if (getIndex() >= getListView().getItems().size() - LOAD_MORE_PREFETCH) {
+				loadNextPage();
+			}
+		}
 	}
 
-	// Open post detail modal with comments and replies
+	// Open post detail modal with comments and replies; recently opened posts skip the database entirely
 	private void openPostDetail(int postId) {
-		try {
-			PostDAO.PostDTO postData = null;
-
-			var allPosts = postDAO.getAllPosts();
-			for (PostDAO.PostDTO post : allPosts) {
-				if (post.postId == postId) {
-					postData = post;
-					break;
-				}
+		PostDAO.PostDTO cached = postDetailCache.get(postId);
+		if (cached != null) {
+			if (cached.createdEpochMillis > 0) {
+				cached.timeAgo = TimeUtil.timeAgo(new Timestamp(cached.createdEpochMillis).toLocalDateTime());
 			}
+			showPostDetail(cached);
+			return;
+		}
 
+		postDetailRequest.submit(() -> postDAO.getPostById(postId), postData -> {
 			if (postData == null) {
 				System.out.println("Post not found with id: " + postId);
 				return;
 			}
 
+			postDetailCache.put(postId, postData);
+			showPostDetail(postData);
+		}, error -> {
+			error.printStackTrace();
+			System.out.println("Error opening post detail: " + error.getMessage());
+		});
+	}
+
+	private void showPostDetail(PostDAO.PostDTO postData) {
+		try {
 			FXMLLoader loader = new FXMLLoader(
 					getClass().getResource("/edu/northeastern/uniforum/forum/view/post_detail.fxml"));
 			Parent dialogContent = loader.load();
@@ -522,15 +649,14 @@ public class ForumController {
 		}
 	}
 
-	private Button createActionButton(String text, String count) {
+	private Button createActionButton(String text, Label countLabel) {
 		HBox btnContent = new HBox(4);
 		btnContent.setAlignment(Pos.CENTER);
 
 		Label textLabel = new Label(text);
 		textLabel.setStyle("-fx-text-fill: #818384; -fx-font-size: 12; -fx-font-weight: 600;");
 
-		if (!count.isEmpty()) {
-			Label countLabel = new Label(count);
+		if (countLabel != null) {
 			countLabel.setStyle("-fx-text-fill: #818384; -fx-font-size: 12; -fx-font-weight: 600;");
 			btnContent.getChildren().addAll(textLabel, countLabel);
 		} else {
@@ -586,109 +712,9 @@ public class ForumController {
 		performSearch();
 	}
 
-	// Filter and sort posts based on search criteria and view mode
+	// Search runs in the database, so a keyword change simply reloads the feed from its first page
 	private void performSearch() {
-		if (cachedPosts == null) {
-			cachedPosts = new ArrayList<>();
-		}
-
-		String keyword = searchField != null ? searchField.getText() : "";
-		List<PostDAO.PostDTO> filtered = new ArrayList<>(cachedPosts);
-
-		if (keyword != null && !keyword.trim().isEmpty()) {
-			String lowered = keyword.trim().toLowerCase();
-			filtered.removeIf(post -> {
-				String title = post.title != null ? post.title.toLowerCase() : "";
-				String content = post.content != null ? post.content.toLowerCase() : "";
-				return !title.contains(lowered) && !content.contains(lowered);
-			});
-		}
-
-		if (isExploreView) {
-			if (communityFilter != null && communityFilter.getValue() != null
-					&& !communityFilter.getValue().equals("All Communities")) {
-				String selectedCommunity = communityFilter.getValue();
-				filtered.removeIf(post -> !post.community.equals(selectedCommunity));
-			}
-
-			if (tagFilter != null && tagFilter.getValue() != null && !tagFilter.getValue().equals("All Tags")) {
-				String selectedTag = tagFilter.getValue();
-				filtered.removeIf(post -> post.tag == null || !post.tag.equals(selectedTag));
-			}
-
-			if (sortByFilter != null && sortByFilter.getValue() != null) {
-				String sortOption = sortByFilter.getValue();
-				switch (sortOption) {
-				case "Most Liked":
-					filtered.sort((a, b) -> Integer.compare(b.upvotes, a.upvotes));
-					break;
-				case "Least Liked":
-					filtered.sort((a, b) -> Integer.compare(a.upvotes, b.upvotes));
-					break;
-				case "Latest":
-					try {
-						List<PostDAO.PostDTO> timeSorted = postDAO.getAllPosts();
-						if (keyword != null && !keyword.trim().isEmpty()) {
-							String lowered = keyword.trim().toLowerCase();
-							timeSorted.removeIf(post -> {
-								String title = post.title != null ? post.title.toLowerCase() : "";
-								String content = post.content != null ? post.content.toLowerCase() : "";
-								return !title.contains(lowered) && !content.contains(lowered);
-							});
-						}
-						if (communityFilter != null && communityFilter.getValue() != null
-								&& !communityFilter.getValue().equals("All Communities")) {
-							String selectedCommunity = communityFilter.getValue();
-							timeSorted.removeIf(post -> !post.community.equals(selectedCommunity));
-						}
-						if (tagFilter != null && tagFilter.getValue() != null
-								&& !tagFilter.getValue().equals("All Tags")) {
-							String selectedTag = tagFilter.getValue();
-							timeSorted.removeIf(post -> post.tag == null || !post.tag.equals(selectedTag));
-						}
-						filtered = timeSorted;
-					} catch (SQLException e) {
-						System.err.println("Error reloading posts for latest sort: " + e.getMessage());
-					}
-					break;
-				case "Oldest":
-					try {
-						List<PostDAO.PostDTO> timeSorted = postDAO.getAllPosts();
-						if (keyword != null && !keyword.trim().isEmpty()) {
-							String lowered = keyword.trim().toLowerCase();
-							timeSorted.removeIf(post -> {
-								String title = post.title != null ? post.title.toLowerCase() : "";
-								String content = post.content != null ? post.content.toLowerCase() : "";
-								return !title.contains(lowered) && !content.contains(lowered);
-							});
-						}
-						if (communityFilter != null && communityFilter.getValue() != null
-								&& !communityFilter.getValue().equals("All Communities")) {
-							String selectedCommunity = communityFilter.getValue();
-							timeSorted.removeIf(post -> !post.community.equals(selectedCommunity));
-						}
-						if (tagFilter != null && tagFilter.getValue() != null
-								&& !tagFilter.getValue().equals("All Tags")) {
-							String selectedTag = tagFilter.getValue();
-							timeSorted.removeIf(post -> post.tag == null || !post.tag.equals(selectedTag));
-						}
-						java.util.Collections.reverse(timeSorted);
-						filtered = timeSorted;
-					} catch (SQLException e) {
-						System.err.println("Error reloading posts for oldest sort: " + e.getMessage());
-					}
-					break;
-				}
-			} else {
-				filtered.sort((a, b) -> Integer.compare(b.upvotes, a.upvotes));
-			}
-		} else {
-			if (keyword != null && !keyword.trim().isEmpty()) {
-				filtered.sort((a, b) -> Integer.compare(b.upvotes, a.upvotes));
-			}
-		}
-
-		renderPosts(filtered);
+		loadPostsFromDB();
 	}
 
 	// Open create post modal dialog
@@ -812,21 +838,12 @@ public class ForumController {
 			filterStrip.setManaged(false);
 		}
 
-		try {
-			List<PostDAO.PostDTO> posts = postDAO.getPostsFromJoinedCommunities(currentUser.getUserId());
-			cachedPosts = posts != null ? posts : new ArrayList<>();
-
-			System.out.println("Controller: Home posts.size = " + cachedPosts.size());
-
-			if (searchField != null) {
-				searchField.clear();
-			}
-
-			renderPosts(cachedPosts);
-		} catch (SQLException e) {
-			System.err.println("Error loading home posts: " + e.getMessage());
-			e.printStackTrace();
+		if (searchField != null) {
+			searchField.clear();
+			searchDebounce.stop();
 		}
+
+		loadPostsFromDB();
 	}
 
 	@FXML
@@ -842,40 +859,40 @@ public class ForumController {
 			filterStrip.setManaged(true);
 		}
 
-		try {
-			List<PostDAO.PostDTO> posts = postDAO.getAllPostsSortedByLikes();
-			cachedPosts = posts != null ? posts : new ArrayList<>();
-
-			System.out.println("Controller: Explore posts.size = " + cachedPosts.size());
+		if (searchField != null) {
+			searchField.clear();
+			searchDebounce.stop();
+		}
 
-			if (searchField != null) {
-				searchField.clear();
-			}
+		applyFilters();
+	}
 
-			applyFilters();
-		} catch (SQLException e) {
-			System.err.println("Error loading explore posts: " + e.getMessage());
-			e.printStackTrace();
+	private void applyFilters() {
+		if (!isExploreView) {
+			return;
 		}
+
+		loadPostsFromDB();
 	}
 
-	private void applyFilters() {
+	// Re-sort in memory when every matching post is already loaded; otherwise the new order needs a fresh first page
+	private void applySortOrder() {
 		if (!isExploreView) {
 			return;
 		}
 
-		if (sortByFilter != null && sortByFilter.getValue() != null) {
-			String sortOption = sortByFilter.getValue();
-			if (sortOption.equals("Latest") || sortOption.equals("Oldest")) {
-				try {
-					cachedPosts = postDAO.getAllPosts();
-				} catch (SQLException e) {
-					System.err.println("Error reloading posts for time-based sort: " + e.getMessage());
-				}
-			}
+		// Search results are ranked by relevance, so the chosen order only takes effect once the search is cleared
+		if (hasKeyword()) {
+			return;
 		}
 
-		performSearch();
+		if (hasMorePosts || feedRequest.isRunning()) {
+			loadPostsFromDB();
+			return;
+		}
+
+		cachedPosts.sort(selectedFeedOrder().comparator());
+		renderPosts(cachedPosts);
 	}
 
 	@FXML
@@ -899,107 +916,70 @@ public class ForumController {
 	}
 
 	private void navigateToUserSettings(String username) {
-		UserDAO userDAO = new UserDAO();
-		User user = userDAO.getUserByUsername(username);
-		if (user != null && currentUser != null) {
-			SceneManager.switchToSettings(currentUser, user);
-		} else {
-			System.out.println("User not found: " + username);
-		}
-	}
-
-	private void handleUpvote(int postId, Label voteCountLabel, Button upvoteBtn, Button downvoteBtn) {
-		if (currentUser == null) {
-			System.out.println("User must be logged in to vote.");
-			return;
-		}
-
-		try {
-			boolean voteAdded = postDAO.handleUpvote(postId, currentUser.getUserId());
-
-			int newCount = postDAO.getVoteCount(postId);
-			voteCountLabel.setText(String.valueOf(newCount));
-
-			for (PostDAO.PostDTO post : cachedPosts) {
-				if (post.postId == postId) {
-					post.upvotes = newCount;
-					break;
-				}
-			}
-
-			String defaultUpvoteStyle = "-fx-background-color: transparent; -fx-text-fill: #555555; -fx-font-size: 16; -fx-cursor: hand; -fx-padding: 2 8;";
-			String defaultDownvoteStyle = "-fx-background-color: transparent; -fx-text-fill: #555555; -fx-font-size: 16; -fx-cursor: hand; -fx-padding: 2 8;";
-			String votedUpvoteStyle = "-fx-background-color: transparent; -fx-text-fill: #7678ED; -fx-font-size: 16; -fx-cursor: hand; -fx-padding: 2 8; -fx-font-weight: bold;";
-			String votedDownvoteStyle = "-fx-background-color: transparent; -fx-text-fill: #7678ED; -fx-font-size: 16; -fx-cursor: hand; -fx-padding: 2 8; -fx-font-weight: bold;";
-
-			if (voteAdded) {
-				int currentVote = postDAO.getUserVote(postId, currentUser.getUserId());
-				if (currentVote == 1) {
-					upvoteBtn.setStyle(votedUpvoteStyle);
-					downvoteBtn.setStyle(defaultDownvoteStyle);
-				} else {
-					upvoteBtn.setStyle(defaultUpvoteStyle);
-					downvoteBtn.setStyle(defaultDownvoteStyle);
-				}
+		AsyncService.supply(() -> new UserDAO().getUserByUsername(username)).whenCompleteAsync((user, error) -> {
+			if (error != null) {
+				System.err.println("Error loading user " + username + ": " + AsyncService.rootCause(error).getMessage());
+			} else if (user != null && currentUser != null) {
+				SceneManager.switchToSettings(currentUser, user);
 			} else {
-				upvoteBtn.setStyle(defaultUpvoteStyle);
-				downvoteBtn.setStyle(defaultDownvoteStyle);
+				System.out.println("User not found: " + username);
 			}
+		}, AsyncService.FX);
+	}
 
-			if (!voteAdded) {
-				System.out.println("Upvote removed (user had already upvoted).");
-			}
-		} catch (SQLException e) {
-			System.err.println("Error handling upvote: " + e.getMessage());
-			e.printStackTrace();
-		}
+	private void handleUpvote(int postId) {
+		submitVote(postId, true);
+	}
+
+	private void handleDownvote(int postId) {
+		submitVote(postId, false);
 	}
 
-	private void handleDownvote(int postId, Label voteCountLabel, Button upvoteBtn, Button downvoteBtn) {
+	// Toggle the vote through the write-behind engine, then rebind the visible cards from the updated model
+	private void submitVote(int postId, boolean upvote) {
 		if (currentUser == null) {
 			System.out.println("User must be logged in to vote.");
 			return;
 		}
+		if (!votesInFlight.add(postId)) {
+			return;
+		}
 
-		try {
-			boolean voteAdded = postDAO.handleDownvote(postId, currentUser.getUserId());
+		int userId = currentUser.getUserId();
+		// Usually answered from memory; only a post or vote untouched since the last flush costs a read
+		AsyncService.supply(() -> VoteEngine.getInstance().vote(postId, userId, upvote ? 1 : -1)).whenCompleteAsync((result, error) -> {
+			votesInFlight.remove(postId);
 
-			int newCount = postDAO.getVoteCount(postId);
-			voteCountLabel.setText(String.valueOf(newCount));
+			if (error != null) {
+				Throwable cause = AsyncService.rootCause(error);
+				System.err.println("Error handling " + (upvote ? "upvote" : "downvote") + ": " + cause.getMessage());
+				cause.printStackTrace();
+				return;
+			}
 
 			for (PostDAO.PostDTO post : cachedPosts) {
 				if (post.postId == postId) {
-					post.upvotes = newCount;
+					post.upvotes = result.upvotes;
 					break;
 				}
 			}
+			PostDAO.PostDTO detail = postDetailCache.get(postId);
+			if (detail != null) {
+				detail.upvotes = result.upvotes;
+			}
 
-			String defaultUpvoteStyle = "-fx-background-color: transparent; -fx-text-fill: #555555; -fx-font-size: 16; -fx-cursor: hand; -fx-padding: 2 8;";
-			String defaultDownvoteStyle = "-fx-background-color: transparent; -fx-text-fill: #555555; -fx-font-size: 16; -fx-cursor: hand; -fx-padding: 2 8;";
-			String votedUpvoteStyle = "-fx-background-color: transparent; -fx-text-fill: #7678ED; -fx-font-size: 16; -fx-cursor: hand; -fx-padding: 2 8; -fx-font-weight: bold;";
-			String votedDownvoteStyle = "-fx-background-color: transparent; -fx-text-fill: #7678ED; -fx-font-size: 16; -fx-cursor: hand; -fx-padding: 2 8; -fx-font-weight: bold;";
-
-			if (voteAdded) {
-				int currentVote = postDAO.getUserVote(postId, currentUser.getUserId());
-				if (currentVote == -1) {
-					upvoteBtn.setStyle(defaultUpvoteStyle);
-					downvoteBtn.setStyle(votedDownvoteStyle);
-				} else {
-					upvoteBtn.setStyle(defaultUpvoteStyle);
-					downvoteBtn.setStyle(defaultDownvoteStyle);
-				}
+			if (result.userVote != 0) {
+				userVotes.put(postId, result.userVote);
 			} else {
-				upvoteBtn.setStyle(defaultUpvoteStyle);
-				downvoteBtn.setStyle(defaultDownvoteStyle);
+				userVotes.remove(postId);
+				System.out.println((upvote ? "Upvote" : "Downvote") + " removed (user had already "
+						+ (upvote ? "upvoted" : "downvoted") + ").");
 			}
 
-			if (!voteAdded) {
-				System.out.println("Downvote removed (user had already downvoted).");
+			if (postListView != null) {
+				postListView.refresh();
 			}
-		} catch (SQLException e) {
-			System.err.println("Error handling downvote: " + e.getMessage());
-			e.printStackTrace();
-		}
+		}, AsyncService.FX);
 	}
 
 	private void setupNavButtonHovers() {
@@ -5,10 +5,16 @@ import com.google.api.client.json.JsonFactory;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.client.util.store.FileDataStoreFactory;
 import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeFlow;
+import com.google.api.client.googleapis.auth.oauth2.GoogleClientSecrets;
 import com.google.api.client.auth.oauth2.Credential;
 import com.google.api.services.calendar.Calendar;
 import com.google.api.services.calendar.CalendarScopes;
 
+import edu.northeastern.uniforum.forum.service.CalendarAvailability;
+import edu.northeastern.uniforum.forum.service.GoogleCalendarClient;
+import edu.northeastern.uniforum.forum.service.MeetingScheduler;
+import edu.northeastern.uniforum.forum.service.ServiceRegistry;
+
 import java.io.FileInputStream;
 import java.io.InputStreamReader;
 import java.util.Collections;
@@ -19,7 +25,17 @@ public class GoogleCalendarService {
     private static final JsonFactory JSON_FACTORY = GsonFactory.getDefaultInstance();
     private static final java.io.File TOKENS_DIRECTORY = new java.io.File("tokens");
 
-    private static Calendar serviceInstance;
+    private static class Holder {
+        private static final ServiceRegistry.Service<Calendar> SERVICE =
+                ServiceRegistry.register("GoogleCalendarService", GoogleCalendarService::create);
+    }
+
+    private static class SchedulerHolder {
+        private static final MeetingScheduler INSTANCE =
+                new MeetingScheduler(() -> new GoogleCalendarClient(getInstance()));
+        private static final CalendarAvailability AVAILABILITY =
+                new CalendarAvailability(() -> new GoogleCalendarClient(getInstance()));
+    }
 
     private static final String CREDENTIALS_FILE_PATH = "client_secret.json";
 
@@ -55,14 +71,39 @@ public class GoogleCalendarService {
         return CREDENTIALS_FILE_PATH;
     }
 
-    public static Calendar getInstance() throws Exception {
-        if (serviceInstance != null) return serviceInstance;
+	// Shared Calendar client; the first call builds the HTTP transport and runs the OAuth flow exactly once
+	public static Calendar getInstance() throws Exception {
+        return Holder.SERVICE.get();
+    }
+
+	// Registry slot, for warming the client up at startup
+	public static ServiceRegistry.Service<Calendar> service() {
+        return Holder.SERVICE;
+    }
 
+	// Shared scheduler that creates meetings through this client
+	public static MeetingScheduler getScheduler() {
+        return SchedulerHolder.INSTANCE;
+    }
+
+	// Shared free/busy cache for the same account
+	public static CalendarAvailability getAvailability() {
+        return SchedulerHolder.AVAILABILITY;
+    }
+
+	// True when an OAuth token from an earlier consent is on disk, so building the client will not open a browser
+	public static boolean hasStoredCredential() {
+        return new java.io.File(TOKENS_DIRECTORY, "StoredCredential").isFile();
+    }
+
+    private static Calendar create() throws Exception {
         var httpTransport = GoogleNetHttpTransport.newTrustedTransport();
 
         String credentialsPath = getCredentialsFilePath();
-        var in = new FileInputStream(credentialsPath);
-        var clientSecrets = com.google.api.client.googleapis.auth.oauth2.GoogleClientSecrets.load(JSON_FACTORY, new InputStreamReader(in));
+        GoogleClientSecrets clientSecrets;
+        try (var in = new FileInputStream(credentialsPath)) {
+            clientSecrets = GoogleClientSecrets.load(JSON_FACTORY, new InputStreamReader(in));
+        }
 
         var flow = new GoogleAuthorizationCodeFlow.Builder(
                 httpTransport, JSON_FACTORY, clientSecrets, Collections.singleton(CalendarScopes.CALENDAR))
@@ -74,10 +115,8 @@ public class GoogleCalendarService {
                 flow, new com.google.api.client.extensions.jetty.auth.oauth2.LocalServerReceiver())
                 .authorize("user");
 
-        serviceInstance = new Calendar.Builder(httpTransport, JSON_FACTORY, credential)
+        return new Calendar.Builder(httpTransport, JSON_FACTORY, credential)
                 .setApplicationName(APPLICATION_NAME)
                 .build();
-
-        return serviceInstance;
     }
 }
@@ -2,9 +2,11 @@ package edu.northeastern.uniforum.forum.controller;
 
 import edu.northeastern.uniforum.forum.dao.UserDAO;
 import edu.northeastern.uniforum.forum.model.User;
+import edu.northeastern.uniforum.forum.service.AsyncService;
 import edu.northeastern.uniforum.forum.util.PasswordUtil;
 import edu.northeastern.uniforum.forum.util.SceneManager;
 import javafx.fxml.FXML;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
@@ -13,8 +15,10 @@ public class LoginController {
     @FXML private TextField usernameField;
     @FXML private PasswordField passwordField;
     @FXML private Label messageLabel;
+    @FXML private Button loginButton;
 
     private final UserDAO userDAO = new UserDAO();
+    private final AsyncService.LatestRequest loginRequest = new AsyncService.LatestRequest();
 
 	// Authenticate user and redirect to appropriate screen
 	@FXML
@@ -27,18 +31,43 @@ public class LoginController {
             return;
         }
 
-        User user = userDAO.getUserByUsername(username);
+        setBusy(true);
+        messageLabel.setText("Signing in...");
+
+        // bcrypt and both lookups run in the background so the window stays responsive
+        loginRequest.submit(() -> authenticate(username, password), result -> {
+            setBusy(false);
+            if (result == null) {
+                messageLabel.setText("Invalid username or password.");
+                return;
+            }
 
-        if (user != null && PasswordUtil.checkPassword(password, user.getPasswordHash())) {
-            messageLabel.setText("Login Successful! Welcome, " + user.getUsername());
+            messageLabel.setText("Login Successful! Welcome, " + result.user.getUsername());
 
-            if (!userDAO.hasUserJoinedCommunities(user.getUserId())) {
-                SceneManager.switchToCourseSelection(user);
+            if (!result.hasJoinedCommunities) {
+                SceneManager.switchToCourseSelection(result.user);
             } else {
-                SceneManager.switchToForum(user);
+                SceneManager.switchToForum(result.user);
             }
-        } else {
-            messageLabel.setText("Invalid username or password.");
+        }, error -> {
+            setBusy(false);
+            System.err.println("Error during login: " + error.getMessage());
+            messageLabel.setText("Login failed. Please try again.");
+        });
+    }
+
+	// Runs off the FX thread; returns null when the credentials do not match
+	private LoginResult authenticate(String username, String password) {
+        User user = userDAO.getUserByUsername(username);
+        if (user == null || !PasswordUtil.checkPassword(password, user.getPasswordHash())) {
+            return null;
+        }
+        return new LoginResult(user, userDAO.hasUserJoinedCommunities(user.getUserId()));
+    }
+
+    private void setBusy(boolean busy) {
+        if (loginButton != null) {
+            loginButton.setDisable(busy);
         }
     }
 
@@ -53,4 +82,14 @@ public class LoginController {
 	public void handleForgotPasswordAction() {
         SceneManager.switchToForgotPassword();
     }
+
+    private static final class LoginResult {
+        private final User user;
+        private final boolean hasJoinedCommunities;
+
+        private LoginResult(User user, boolean hasJoinedCommunities) {
+            this.user = user;
+            this.hasJoinedCommunities = hasJoinedCommunities;
+        }
+    }
 }
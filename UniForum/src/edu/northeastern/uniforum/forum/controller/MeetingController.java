@@ -2,22 +2,28 @@ package edu.northeastern.uniforum.forum.controller;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.application.Platform;
+import javafx.stage.WindowEvent;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-
-import com.google.api.services.calendar.model.*;
-import com.google.api.services.calendar.Calendar;
-import com.google.api.client.util.DateTime;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
 
 import edu.northeastern.uniforum.forum.model.User;
+import edu.northeastern.uniforum.forum.service.AsyncService;
+import edu.northeastern.uniforum.forum.service.CalendarAvailability;
+import edu.northeastern.uniforum.forum.service.MeetingScheduler;
 
 public class MeetingController {
 
@@ -25,10 +31,19 @@ public class MeetingController {
     @FXML private DatePicker datePicker;
     @FXML private TextField timeField;
     @FXML private TextField emailField;
+    @FXML private Spinner<Integer> repeatWeeksSpinner;
     @FXML private Label statusLabel;
 
     private User loggedInUser;
     private User targetUser;
+    private static final int SUGGESTION_DAYS = 3;
+    private static final int SUGGESTION_COUNT = 3;
+    private static final DateTimeFormatter SLOT_FORMAT = DateTimeFormatter.ofPattern("EEE MMM d, H:mm");
+
+    private CompletableFuture<?> pendingMeeting;
+    // Booking the user was warned about; scheduling exactly the same one again skips the availability check
+    private BusySlot acceptedBusySlot;
+    private boolean closeHandlerInstalled;
 
     public void setLoggedInUser(User user) {
         this.loggedInUser = user;
@@ -47,6 +62,9 @@ public class MeetingController {
 	// Schedule Google Calendar meeting with validation and error handling
 	@FXML
 	public void handleScheduleMeeting() {
+        if (pendingMeeting != null) {
+            return; // the previous click is still being scheduled
+        }
         if (statusLabel != null) {
             statusLabel.setText("");
             statusLabel.setStyle("-fx-text-fill: #4caf50; -fx-font-size: 14px;");
@@ -102,57 +120,33 @@ public class MeetingController {
             LocalDateTime endDT = startDT.plusHours(1);
 
             if (statusLabel != null) {
-                statusLabel.setText("Creating meeting...");
+                statusLabel.setText("Checking availability...");
                 statusLabel.setStyle("-fx-text-fill: #2196F3; -fx-font-size: 14px;");
             }
 
-            new Thread(() -> {
-                try {
-                    System.out.println("DEBUG: Starting meeting creation...");
-                    System.out.println("DEBUG: Subject: " + subject);
-                    System.out.println("DEBUG: Start: " + startDT);
-                    System.out.println("DEBUG: End: " + endDT);
-                    System.out.println("DEBUG: Attendee: " + email);
-
-                    String meetLink = createGoogleMeet(subject, startDT, endDT, email);
-
-                    System.out.println("DEBUG: Meeting created successfully!");
-                    System.out.println("DEBUG: Meet Link: " + meetLink);
-
-                    Platform.runLater(() -> {
-                        if (statusLabel != null) {
-                            statusLabel.setText("✓ Meeting created successfully!");
-                            statusLabel.setStyle("-fx-text-fill: #4caf50; -fx-font-size: 12px;");
-                        }
-
-                        Alert alert = new Alert(Alert.AlertType.INFORMATION);
-                        alert.setTitle("Meeting Scheduled ✅");
-                        alert.setHeaderText("Your meeting has been created!");
-                        alert.setContentText("Google Meet Link:\n" + meetLink + 
-                                           "\n\nEmail invitations sent to:\n• " + email +
-                                           (loggedInUser != null && loggedInUser.getEmail() != null ? "\n• " + loggedInUser.getEmail() : "") +
-                                           "\n\nCheck your Gmail for the calendar invite!");
-                        alert.showAndWait();
-
-                        try {
-                            ((javafx.stage.Stage) subjectField.getScene().getWindow()).close();
-                        } catch (Exception e) {
-                            System.err.println("Could not close window: " + e.getMessage());
-                        }
-                    });
-                } catch (Exception ex) {
-                    System.err.println("ERROR: Failed to create meeting");
-                    ex.printStackTrace();
-
-                    Platform.runLater(() -> {
-                        String errorMsg = ex.getMessage();
-                        if (errorMsg == null || errorMsg.isEmpty()) {
-                            errorMsg = "Unknown error occurred. Check console for details.";
-                        }
-                        showError("Failed to create meeting:\n" + errorMsg);
-                    });
-                }
-            }).start();
+            List<String> attendees = new ArrayList<>();
+            attendees.add(email);
+            if (loggedInUser != null && loggedInUser.getEmail() != null &&
+                !loggedInUser.getEmail().equals(email)) {
+                attendees.add(loggedInUser.getEmail());
+            }
+
+            // "Repeat weekly" books the same slot on each of the next N weeks in one batch
+            ZoneId zoneId = ZoneId.systemDefault();
+            int weeks = repeatWeeksSpinner != null && repeatWeeksSpinner.getValue() != null ? repeatWeeksSpinner.getValue() : 1;
+            List<MeetingScheduler.MeetingRequest> requests = new ArrayList<>(weeks);
+            for (int week = 0; week < weeks; week++) {
+                requests.add(new MeetingScheduler.MeetingRequest(
+                        subject, "Meeting scheduled via UniForum",
+                        startDT.plusWeeks(week).atZone(zoneId), endDT.plusWeeks(week).atZone(zoneId), attendees));
+            }
+
+            cancelOnClose();
+            if (acceptedBusySlot != null && acceptedBusySlot.matches(requests)) {
+                scheduleMeetings(requests, email);
+            } else {
+                checkAvailabilityThenSchedule(requests, email);
+            }
 
         } catch (Exception ex) {
             ex.printStackTrace();
@@ -172,101 +166,198 @@ public class MeetingController {
         }
     }
 
-    private String createGoogleMeet(String summary,
-                                    LocalDateTime start,
-                                    LocalDateTime end,
-                                    String attendeeEmail) throws Exception {
+    // Look the attendees up for the first meeting, with one free/busy query that also covers the suggestion
+    // window; when someone is busy, offer free slots instead of booking a clash. A second click on the same
+    // time books it anyway.
+    private void checkAvailabilityThenSchedule(List<MeetingScheduler.MeetingRequest> requests, String email) {
+        CalendarAvailability availability = GoogleCalendarService.getAvailability();
+        MeetingScheduler.MeetingRequest request = requests.get(0);
+        CompletableFuture<List<ZonedDateTime>> check = AsyncService.supply(() ->
+                availability.suggestIfBusy(request.attendeeEmails, request.start, request.end,
+                        request.start.plusDays(SUGGESTION_DAYS), SUGGESTION_COUNT));
+        pendingMeeting = check;
+
+        check.whenCompleteAsync((suggestions, error) -> {
+            if (pendingMeeting != check) {
+                return; // dialog was closed
+            }
+            pendingMeeting = null;
+            if (error != null) {
+                // availability is only advisory; do not block scheduling on it
+                System.err.println("Free/busy lookup failed: " + AsyncService.rootCause(error).getMessage());
+                scheduleMeetings(requests, email);
+            } else if (suggestions == null) {
+                scheduleMeetings(requests, email);
+            } else {
+                acceptedBusySlot = new BusySlot(requests);
+                showError(busyMessage(suggestions));
+            }
+        }, AsyncService.FX);
+    }
 
-        System.out.println("DEBUG: Getting Google Calendar service...");
-        Calendar service = GoogleCalendarService.getInstance();
-        System.out.println("DEBUG: Calendar service obtained successfully");
+    private void scheduleMeetings(List<MeetingScheduler.MeetingRequest> requests, String email) {
+        if (statusLabel != null) {
+            statusLabel.setText(requests.size() > 1 ? "Creating " + requests.size() + " meetings..." : "Creating meeting...");
+            statusLabel.setStyle("-fx-text-fill: #2196F3; -fx-font-size: 14px;");
+        }
 
-        System.out.println("DEBUG: Creating event object...");
-        Event event = new Event();
-        event.setSummary(summary);
-        event.setDescription("Meeting scheduled via UniForum");
-        System.out.println("DEBUG: Event object created");
+        if (requests.size() > 1) {
+            scheduleSeries(requests, email);
+            return;
+        }
 
-        ZoneId zoneId = ZoneId.systemDefault();
-        long startMillis = start.atZone(zoneId).toInstant().toEpochMilli();
-        long endMillis = end.atZone(zoneId).toInstant().toEpochMilli();
+        MeetingScheduler.MeetingRequest request = requests.get(0);
+        CompletableFuture<String> meeting = GoogleCalendarService.getScheduler().schedule(request);
+        pendingMeeting = meeting;
+        meeting.whenCompleteAsync((meetLink, error) -> {
+            if (pendingMeeting != meeting) {
+                return;
+            }
+            pendingMeeting = null;
+            if (error != null) {
+                showScheduleFailure(AsyncService.rootCause(error));
+            } else {
+                acceptedBusySlot = null;
+                GoogleCalendarService.getAvailability().invalidate(request.attendeeEmails);
+                showMeetingCreated(meetLink, email);
+            }
+        }, AsyncService.FX);
+    }
 
-        DateTime startDateTime = new DateTime(startMillis);
-        DateTime endDateTime = new DateTime(endMillis);
+    // Weekly series: one batch request for all occurrences, then one summary of what was created
+    private void scheduleSeries(List<MeetingScheduler.MeetingRequest> requests, String email) {
+        CompletableFuture<List<MeetingScheduler.ScheduledMeeting>> series =
+                GoogleCalendarService.getScheduler().scheduleAll(requests);
+        pendingMeeting = series;
+        series.whenCompleteAsync((outcomes, error) -> {
+            if (pendingMeeting != series) {
+                return;
+            }
+            pendingMeeting = null;
+            if (error != null) {
+                showScheduleFailure(AsyncService.rootCause(error));
+                return;
+            }
 
-        EventDateTime startEventDateTime = new EventDateTime()
-                .setDateTime(startDateTime)
-                .setTimeZone(zoneId.getId());
+            GoogleCalendarService.getAvailability().invalidate(requests.get(0).attendeeEmails);
+            StringBuilder failures = new StringBuilder();
+            int created = 0;
+            for (MeetingScheduler.ScheduledMeeting outcome : outcomes) {
+                if (outcome.isCreated()) {
+                    created++;
+                } else {
+                    failures.append("\n• ").append(outcome.request.start.format(SLOT_FORMAT)).append(": ").append(outcome.error);
+                }
+            }
 
-        EventDateTime endEventDateTime = new EventDateTime()
-                .setDateTime(endDateTime)
-                .setTimeZone(zoneId.getId());
+            if (created == 0) {
+                showError("Failed to create meetings:" + failures);
+                return;
+            }
+            acceptedBusySlot = null;
+            if (failures.length() > 0) {
+                // keep the dialog open so the missing weeks can be booked again
+                showError("Created " + created + " of " + outcomes.size() + " meetings. Not created:" + failures);
+                return;
+            }
+            showMeetingCreated(outcomes.get(0).meetLink + "\n(" + created + " weekly meetings, each with its own link)", email);
+        }, AsyncService.FX);
+    }
 
-        event.setStart(startEventDateTime);
-        event.setEnd(endEventDateTime);
+    private String busyMessage(List<ZonedDateTime> suggestions) {
+        StringBuilder message = new StringBuilder("An attendee is busy at that time.");
+        if (suggestions.isEmpty()) {
+            message.append("\nNo free slot found in the next ").append(SUGGESTION_DAYS).append(" days.");
+        } else {
+            message.append("\nFree slots:");
+            for (ZonedDateTime slot : suggestions) {
+                message.append("\n• ").append(slot.format(SLOT_FORMAT));
+            }
+        }
+        return message.append("\nClick Schedule Meeting again to book it anyway.").toString();
+    }
 
-        EventAttendee attendee = new EventAttendee().setEmail(attendeeEmail);
+    private void showMeetingCreated(String meetLink, String email) {
+        if (statusLabel != null) {
+            statusLabel.setText("✓ Meeting created successfully!");
+            statusLabel.setStyle("-fx-text-fill: #4caf50; -fx-font-size: 12px;");
+        }
 
-        List<EventAttendee> attendees = new java.util.ArrayList<>();
-        attendees.add(attendee);
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Meeting Scheduled ✅");
+        alert.setHeaderText("Your meeting has been created!");
+        alert.setContentText("Google Meet Link:\n" + meetLink +
+                           "\n\nEmail invitations sent to:\n• " + email +
+                           (loggedInUser != null && loggedInUser.getEmail() != null ? "\n• " + loggedInUser.getEmail() : "") +
+                           "\n\nCheck your Gmail for the calendar invite!");
+        alert.showAndWait();
 
-        if (loggedInUser != null && loggedInUser.getEmail() != null && 
-            !loggedInUser.getEmail().equals(attendeeEmail)) {
-            attendees.add(new EventAttendee().setEmail(loggedInUser.getEmail()));
+        try {
+            ((javafx.stage.Stage) subjectField.getScene().getWindow()).close();
+        } catch (Exception e) {
+            System.err.println("Could not close window: " + e.getMessage());
         }
+    }
 
-        event.setAttendees(attendees);
-        System.out.println("DEBUG: Attendees added: " + attendees.size());
-
-        System.out.println("DEBUG: Setting up Google Meet conference...");
-        ConferenceData conferenceData = new ConferenceData();
-        CreateConferenceRequest createRequest = new CreateConferenceRequest();
-        createRequest.setRequestId("meet-" + System.currentTimeMillis());
-        createRequest.setConferenceSolutionKey(new ConferenceSolutionKey().setType("hangoutsMeet"));
-
-        conferenceData.setCreateRequest(createRequest);
-        event.setConferenceData(conferenceData);
-        System.out.println("DEBUG: Conference data configured");
-
-        System.out.println("DEBUG: Inserting event into Google Calendar...");
-        System.out.println("DEBUG: This may take a few seconds...");
-        Event createdEvent = service.events()
-                .insert("primary", event)
-                .setConferenceDataVersion(1)
-                .setSendUpdates("all")
-                .execute();
-        System.out.println("DEBUG: Event inserted successfully!");
-
-        System.out.println("DEBUG: Extracting Google Meet link...");
-        String meetLink = null;
-        if (createdEvent.getConferenceData() != null && 
-            createdEvent.getConferenceData().getEntryPoints() != null) {
-            System.out.println("DEBUG: Conference data found, checking entry points...");
-            for (EntryPoint entryPoint : createdEvent.getConferenceData().getEntryPoints()) {
-                if ("video".equals(entryPoint.getEntryPointType())) {
-                    meetLink = entryPoint.getUri();
-                    System.out.println("DEBUG: Found video entry point: " + meetLink);
-                    break;
-                }
+    private void showScheduleFailure(Throwable error) {
+        if (error instanceof CancellationException) {
+            return; // dialog was closed
+        }
+        System.err.println("ERROR: Failed to create meeting");
+        error.printStackTrace();
+
+        String errorMsg;
+        if (error instanceof TimeoutException) {
+            errorMsg = "Google Calendar did not respond in time. Please try again.";
+        } else {
+            errorMsg = error.getMessage();
+            if (errorMsg == null || errorMsg.isEmpty()) {
+                errorMsg = "Unknown error occurred. Check console for details.";
             }
         }
+        showError("Failed to create meeting:\n" + errorMsg);
+    }
 
-        if (meetLink == null || meetLink.isEmpty()) {
-            System.out.println("DEBUG: No entry points found, trying hangoutLink...");
-            meetLink = createdEvent.getHangoutLink();
-            if (meetLink != null) {
-                System.out.println("DEBUG: Found hangoutLink: " + meetLink);
+    // Closing the dialog abandons the meeting that is still being created
+    private void cancelOnClose() {
+        if (closeHandlerInstalled || subjectField == null || subjectField.getScene() == null
+                || subjectField.getScene().getWindow() == null) {
+            return;
+        }
+        subjectField.getScene().getWindow().addEventHandler(WindowEvent.WINDOW_HIDDEN, e -> {
+            if (pendingMeeting != null) {
+                pendingMeeting.cancel(true);
+                pendingMeeting = null;
             }
+        });
+        closeHandlerInstalled = true;
+    }
+
+    // A warned-about booking: same first start, attendees and number of weeks. Changing any of them, e.g. adding
+    // an attendee who may be the busy one, checks availability again.
+    private static final class BusySlot {
+        private final ZonedDateTime start;
+        private final Set<String> attendeeEmails;
+        private final int weeks;
+
+        private BusySlot(List<MeetingScheduler.MeetingRequest> requests) {
+            this.start = requests.get(0).start;
+            this.attendeeEmails = normalized(requests.get(0).attendeeEmails);
+            this.weeks = requests.size();
         }
 
-        if (meetLink == null || meetLink.isEmpty()) {
-            System.err.println("ERROR: No Google Meet link found in created event");
-            System.err.println("DEBUG: Event ID: " + createdEvent.getId());
-            System.err.println("DEBUG: Event HTML Link: " + createdEvent.getHtmlLink());
-            throw new Exception("Failed to generate Google Meet link. Event created but no Meet link available.");
+        private boolean matches(List<MeetingScheduler.MeetingRequest> requests) {
+            MeetingScheduler.MeetingRequest first = requests.get(0);
+            return weeks == requests.size() && start.equals(first.start)
+                    && attendeeEmails.equals(normalized(first.attendeeEmails));
         }
 
-        System.out.println("DEBUG: Successfully extracted Meet link: " + meetLink);
-        return meetLink;
+        private static Set<String> normalized(List<String> emails) {
+            Set<String> set = new HashSet<>();
+            for (String email : emails) {
+                set.add(email.trim().toLowerCase(Locale.ROOT));
+            }
+            return set;
+        }
     }
-}
\ No newline at end of file
+}
@@ -2,9 +2,11 @@ package edu.northeastern.uniforum.forum.controller;
 
 import edu.northeastern.uniforum.forum.dao.UserDAO;
 import edu.northeastern.uniforum.forum.model.User;
+import edu.northeastern.uniforum.forum.service.AsyncService;
 import edu.northeastern.uniforum.forum.util.PasswordUtil;
 import edu.northeastern.uniforum.forum.util.SceneManager;
 import javafx.fxml.FXML;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
@@ -14,6 +16,7 @@ public class RegistrationController {
     @FXML private TextField emailField;
     @FXML private PasswordField passwordField;
     @FXML private Label messageLabel;
+    @FXML private Button registerButton;
 
     private final UserDAO userDAO = new UserDAO();
 
@@ -41,30 +44,42 @@ public class RegistrationController {
             return;
         }
 
-        try {
-            String passwordHash = PasswordUtil.hashPassword(password);
+        setBusy(true);
+        messageLabel.setText("Creating account...");
 
-            User newUser = new User(username, passwordHash, email);
+        // bcrypt and the INSERT run in the background so the window stays responsive
+        AsyncService.supply(() -> userDAO.registerUser(new User(username, PasswordUtil.hashPassword(password), email)))
+                .whenCompleteAsync((registered, error) -> {
+                    setBusy(false);
+                    if (error != null) {
+                        Throwable cause = AsyncService.rootCause(error);
+                        messageLabel.setText("Registration error: " + cause.getMessage());
+                        System.err.println("Registration exception: ");
+                        cause.printStackTrace();
+                        return;
+                    }
 
-            if (userDAO.registerUser(newUser)) {
-                messageLabel.setText("Registration successful! Redirecting to login...");
-                new Thread(() -> {
-                    try {
-                        Thread.sleep(1500);
-                        javafx.application.Platform.runLater(() -> {
-                            SceneManager.switchToLogin();
-                        });
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
+                    if (registered) {
+                        messageLabel.setText("Registration successful! Redirecting to login...");
+                        new Thread(() -> {
+                            try {
+                                Thread.sleep(1500);
+                                javafx.application.Platform.runLater(() -> {
+                                    SceneManager.switchToLogin();
+                                });
+                            } catch (InterruptedException e) {
+                                e.printStackTrace();
+                            }
+                        }).start();
+                    } else {
+                        messageLabel.setText("Registration failed. Username or email may already exist.");
                     }
-                }).start();
-            } else {
-                messageLabel.setText("Registration failed. Username or email may already exist.");
-            }
-        } catch (Exception e) {
-            messageLabel.setText("Registration error: " + e.getMessage());
-            System.err.println("Registration exception: ");
-            e.printStackTrace();
+                }, AsyncService.FX);
+    }
+
+    private void setBusy(boolean busy) {
+        if (registerButton != null) {
+            registerButton.setDisable(busy);
         }
     }
 
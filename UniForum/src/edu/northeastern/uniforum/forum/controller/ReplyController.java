@@ -3,16 +3,22 @@ package edu.northeastern.uniforum.forum.controller;
 import edu.northeastern.uniforum.forum.dao.PostDAO;
 import edu.northeastern.uniforum.forum.dao.ReplyDAO;
 import edu.northeastern.uniforum.forum.dao.UserDAO;
+import edu.northeastern.uniforum.forum.model.Reply;
 import edu.northeastern.uniforum.forum.model.User;
+import edu.northeastern.uniforum.forum.service.AsyncService;
+import edu.northeastern.uniforum.forum.util.ContentTokenizer;
 import edu.northeastern.uniforum.forum.util.SceneManager;
 import javafx.fxml.FXML;
-import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
+import javafx.scene.control.ContentDisplay;
 import javafx.scene.control.Hyperlink;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextArea;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Text;
@@ -21,9 +27,8 @@ import javafx.stage.Stage;
 
 import java.awt.Desktop;
 import java.net.URI;
-import java.sql.SQLException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.List;
 
 public class ReplyController {
 
@@ -34,7 +39,7 @@ public class ReplyController {
     private VBox postContentContainer;
 
     @FXML
-    private VBox repliesContainer;
+    private ListView<ThreadRow> replyListView;
 
     @FXML
     private TextArea replyTextArea;
@@ -45,11 +50,33 @@ public class ReplyController {
     @FXML
     private VBox replyEditorSection;
 
+    @FXML
+    private Label replyEditorTitle;
+
+    private static final int REPLY_PAGE_SIZE = 20;
+    private static final int CHILD_PAGE_SIZE = 5;
+    private static final int THREAD_DEPTH = 3;
+    private static final int LOAD_MORE_PREFETCH = 5;
+    private static final int MAX_INDENT_LEVELS = 6;
+    private static final double INDENT_WIDTH = 20;
+
+    private static final String AUTHOR_STYLE = "-fx-text-fill: #0079D3; -fx-font-size: 11; -fx-cursor: hand;";
+    private static final String AUTHOR_HOVER_STYLE = "-fx-text-fill: #7193FF; -fx-font-size: 11; -fx-cursor: hand;";
+
     private ForumController parentController;
     private PostDAO.PostDTO postData;
     private int postId;
     private User currentUser;
     private final ReplyDAO replyDAO = new ReplyDAO();
+    private final AsyncService.LatestRequest repliesRequest = new AsyncService.LatestRequest();
+    private boolean postingReply = false;
+    private Reply replyingTo;
+    private ReplyDAO.ReplyCursor nextCursor;
+
+    @FXML
+    private void initialize() {
+        setupReplyList();
+    }
 
     public void setParentController(ForumController parentController) {
         this.parentController = parentController;
@@ -110,126 +137,187 @@ public class ReplyController {
         titleLabel.setStyle("-fx-text-fill: white; -fx-font-size: 18; -fx-font-weight: bold; -fx-wrap-text: true;");
         titleLabel.setWrapText(true);
 
-        TextFlow contentFlow = createTextFlowWithLinks(postData.content);
+        TextFlow contentFlow = createTextFlowWithLinks(ContentTokenizer.tokenizePost(postData.postId, postData.content));
 
         postContentContainer.getChildren().addAll(metaRow, titleLabel, contentFlow);
     }
 
-    private void loadReplies() {
-        repliesContainer.getChildren().clear();
+    // Virtualized comment list: only the visible cards exist and they are rebound as the user scrolls
+    private void setupReplyList() {
+        replyListView.setCellFactory(listView -> new ReplyCell());
+        replyListView.setPlaceholder(createPlaceholder("Loading comments..."));
+    }
 
-        try {
-            var replies = replyDAO.getRepliesByPostId(postId);
+    private void loadReplies() {
+        int requestedPostId = postId;
+        repliesRequest.submit(() -> replyDAO.getReplyThread(requestedPostId, null, null,
+                REPLY_PAGE_SIZE, CHILD_PAGE_SIZE, THREAD_DEPTH), page -> {
+            nextCursor = page.next;
+            replyListView.setPlaceholder(createPlaceholder("No comments yet. Be the first to comment!"));
+            replyListView.getItems().setAll(flatten(page.replies));
+        }, error -> {
+            error.printStackTrace();
+            System.out.println("Error loading replies: " + error.getMessage());
+        });
+    }
 
-            if (replies.isEmpty()) {
-                Label noRepliesLabel = new Label("No comments yet. Be the first to comment!");
-                noRepliesLabel.setStyle("-fx-text-fill: #555555; -fx-font-size: 14; -fx-padding: 16;");
-                repliesContainer.getChildren().add(noRepliesLabel);
-            } else {
-                for (ReplyDAO.ReplyDTO reply : replies) {
-                    createReplyCard(reply);
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            System.out.println("Error loading replies: " + e.getMessage());
+    // Append the next page of top-level comments; called as the last cards scroll into view
+    private void loadNextPage() {
+        if (nextCursor == null || repliesRequest.isRunning()) {
+            return;
         }
+
+        int requestedPostId = postId;
+        ReplyDAO.ReplyCursor after = nextCursor;
+        repliesRequest.submit(() -> replyDAO.getReplyThread(requestedPostId, null, after,
+                REPLY_PAGE_SIZE, CHILD_PAGE_SIZE, THREAD_DEPTH), page -> {
+            nextCursor = page.next;
+            replyListView.getItems().addAll(flatten(page.replies));
+        }, error -> {
+            error.printStackTrace();
+            System.out.println("Error loading replies: " + error.getMessage());
+        });
     }
 
-    private void createReplyCard(ReplyDAO.ReplyDTO reply) {
-        HBox replyCard = new HBox(8);
-        replyCard.setStyle("-fx-background-color: #272729; -fx-background-radius: 4; -fx-padding: 12; -fx-border-color: #343536; -fx-border-radius: 4;");
+    // Fetch the next replies under the row's parent and splice them in where the "load more" row was
+    private void loadMoreReplies(ThreadRow row) {
+        if (row.loading) {
+            return;
+        }
+        row.loading = true;
+        replyListView.refresh();
+
+        int requestedPostId = postId;
+        Reply parent = row.parent;
+        AsyncService.supply(() -> replyDAO.getReplyThread(requestedPostId, parent.getReplyId(), row.after,
+                CHILD_PAGE_SIZE, CHILD_PAGE_SIZE, THREAD_DEPTH)).whenCompleteAsync((page, error) -> {
+            row.loading = false;
+            int index = replyListView.getItems().indexOf(row);
+            if (requestedPostId != postId || index < 0) {
+                return;
+            }
 
-        VBox voteBox = new VBox(4);
-        voteBox.setAlignment(Pos.TOP_CENTER);
-        voteBox.setPrefWidth(40);
+            if (error != null) {
+                replyListView.refresh();
+                Throwable cause = AsyncService.rootCause(error);
+                cause.printStackTrace();
+                System.out.println("Error loading replies: " + cause.getMessage());
+                return;
+            }
 
-        VBox contentBox = new VBox(4);
-        contentBox.setPadding(new Insets(0, 0, 0, 0));
+            for (Reply reply : page.replies) {
+                parent.addChild(reply);
+            }
+            if (!page.hasMore()) {
+                // the thread may have shrunk since the count was read; nothing is left to load either way
+                parent.setChildCount(parent.getChildren().size());
+            }
 
-        HBox authorTimeBox = new HBox(4);
-        authorTimeBox.setAlignment(Pos.CENTER_LEFT);
+            List<ThreadRow> rows = new ArrayList<>();
+            for (Reply reply : page.replies) {
+                addRows(rows, reply, row.depth);
+            }
+            if (page.hasMore()) {
+                rows.add(new ThreadRow(parent, page.next, row.depth));
+            }
+            replyListView.getItems().remove(index);
+            replyListView.getItems().addAll(index, rows);
+        }, AsyncService.FX);
+    }
+
+    // Depth-first flattening of reply trees into list rows, with a "load more" row wherever children were cut off
+    private static List<ThreadRow> flatten(List<Reply> replies) {
+        List<ThreadRow> rows = new ArrayList<>();
+        for (Reply reply : replies) {
+            addRows(rows, reply, 0);
+        }
+        return rows;
+    }
+
+    private static void addRows(List<ThreadRow> rows, Reply reply, int depth) {
+        rows.add(new ThreadRow(reply, depth));
+        for (Reply child : reply.getChildren()) {
+            addRows(rows, child, depth + 1);
+        }
 
-        Label authorNameLabel = new Label(reply.author);
-        authorNameLabel.setStyle("-fx-text-fill: #0079D3; -fx-font-size: 11; -fx-cursor: hand;");
-        authorNameLabel.setOnMouseClicked(e -> navigateToUserSettings(reply.author));
-        authorNameLabel.setOnMouseEntered(e -> authorNameLabel.setStyle("-fx-text-fill: #7193FF; -fx-font-size: 11; -fx-cursor: hand;"));
-        authorNameLabel.setOnMouseExited(e -> authorNameLabel.setStyle("-fx-text-fill: #0079D3; -fx-font-size: 11; -fx-cursor: hand;"));
+        if (reply.hasUnloadedChildren()) {
+            List<Reply> loaded = reply.getChildren();
+            ReplyDAO.ReplyCursor after = loaded.isEmpty() ? null : cursorOf(loaded.get(loaded.size() - 1));
+            rows.add(new ThreadRow(reply, after, depth + 1));
+        }
+    }
 
-        Label timeLabel = new Label(" • " + reply.timeAgo);
-        timeLabel.setStyle("-fx-text-fill: #818384; -fx-font-size: 11;");
+    private static String moreRepliesText(Reply parent) {
+        if (parent.getChildren().isEmpty()) {
+            return "Continue this thread";
+        }
+        int remaining = parent.getChildCount() - parent.getChildren().size();
+        if (remaining <= 0) {
+            return "Load more replies";
+        }
+        return remaining == 1 ? "Load 1 more reply" : "Load " + remaining + " more replies";
+    }
 
-        authorTimeBox.getChildren().addAll(authorNameLabel, timeLabel);
+    private static ReplyDAO.ReplyCursor cursorOf(Reply reply) {
+        return new ReplyDAO.ReplyCursor(reply.getCreatedTime(), reply.getReplyId());
+    }
 
-        TextFlow contentFlow = createTextFlowWithLinks(reply.content);
+    private static Label createPlaceholder(String text) {
+        Label label = new Label(text);
+        label.setStyle("-fx-text-fill: #555555; -fx-font-size: 14; -fx-padding: 16;");
+        return label;
+    }
 
-        contentBox.getChildren().addAll(authorTimeBox, contentFlow);
-        replyCard.getChildren().addAll(voteBox, contentBox);
-        repliesContainer.getChildren().add(replyCard);
+    // Open the editor for an answer to `reply` instead of a top-level comment
+    private void startReplyTo(Reply reply) {
+        replyingTo = reply;
+        replyEditorTitle.setText("Reply to " + reply.getAuthor());
+        replyEditorSection.setVisible(true);
+        replyEditorSection.setManaged(true);
+        replyTextArea.requestFocus();
     }
 
-    private TextFlow createTextFlowWithLinks(String text) {
+    private void resetReplyTarget() {
+        replyingTo = null;
+        replyEditorTitle.setText("Add a comment");
+    }
+
+    private TextFlow createTextFlowWithLinks(List<ContentTokenizer.Token> tokens) {
         TextFlow textFlow = new TextFlow();
         textFlow.setStyle("-fx-text-fill: #D7DADC; -fx-font-size: 14;");
         textFlow.setLineSpacing(2.0);
+        setTextWithLinks(textFlow, tokens);
+        return textFlow;
+    }
 
-        if (text == null || text.isEmpty()) {
-            return textFlow;
-        }
-
-        Pattern urlPattern = Pattern.compile(
-            "(?i)\\b((?:https?://)" +
-            "[\\w\\-]+\\.[a-z]{2,}(?:\\.[a-z]{2,})?(?:/[\\w\\-.,@?^=%&:/~+#]*)?)",
-            Pattern.CASE_INSENSITIVE
-        );
-
-        Matcher matcher = urlPattern.matcher(text);
-        int lastEnd = 0;
-
-        while (matcher.find()) {
-            if (matcher.start() > lastEnd) {
-                String beforeText = text.substring(lastEnd, matcher.start());
-                Text beforeTextNode = new Text(beforeText);
-                beforeTextNode.setStyle("-fx-fill: #D7DADC; -fx-font-size: 14;");
-                textFlow.getChildren().add(beforeTextNode);
+    // Replace the flow's content with the tokens, turning links into hyperlinks; tokens come from a shared cache
+    private void setTextWithLinks(TextFlow textFlow, List<ContentTokenizer.Token> tokens) {
+        textFlow.getChildren().clear();
+
+        for (ContentTokenizer.Token token : tokens) {
+            if (token.getType() == ContentTokenizer.TokenType.LINK) {
+                String url = token.getText();
+                Hyperlink link = new Hyperlink(url);
+                link.setStyle("-fx-text-fill: #0079D3; -fx-font-size: 14; -fx-underline: true;");
+                link.setOnAction(e -> openUrl(url));
+                textFlow.getChildren().add(link);
+            } else {
+                Text textNode = new Text(token.getText());
+                textNode.setStyle("-fx-fill: #D7DADC; -fx-font-size: 14;");
+                textFlow.getChildren().add(textNode);
             }
-
-            String url = matcher.group(1);
-            final String fullUrl = (!url.toLowerCase().startsWith("http://") && !url.toLowerCase().startsWith("https://"))
-                ? "https://" + url
-                : url;
-
-            Hyperlink link = new Hyperlink(url);
-            link.setStyle("-fx-text-fill: #0079D3; -fx-font-size: 14; -fx-underline: true;");
-            link.setOnAction(e -> {
-                try {
-                    Desktop desktop = Desktop.getDesktop();
-                    if (desktop.isSupported(Desktop.Action.BROWSE)) {
-                        desktop.browse(new URI(fullUrl));
-                    }
-                } catch (Exception ex) {
-                    System.out.println("Error opening URL: " + ex.getMessage());
-                }
-            });
-            textFlow.getChildren().add(link);
-
-            lastEnd = matcher.end();
-        }
-
-        if (lastEnd < text.length()) {
-            String afterText = text.substring(lastEnd);
-            Text afterTextNode = new Text(afterText);
-            afterTextNode.setStyle("-fx-fill: #D7DADC; -fx-font-size: 14;");
-            textFlow.getChildren().add(afterTextNode);
         }
+    }
 
-        if (textFlow.getChildren().isEmpty()) {
-            Text textNode = new Text(text);
-            textNode.setStyle("-fx-fill: #D7DADC; -fx-font-size: 14;");
-            textFlow.getChildren().add(textNode);
+    private void openUrl(String url) {
+        try {
+            Desktop desktop = Desktop.getDesktop();
+            if (desktop.isSupported(Desktop.Action.BROWSE)) {
+                desktop.browse(new URI(url));
+            }
+        } catch (Exception ex) {
+            System.out.println("Error opening URL: " + ex.getMessage());
         }
-
-        return textFlow;
     }
 
     @FXML
@@ -241,17 +329,35 @@ public class ReplyController {
             return;
         }
 
-        try {
-            if (currentUser == null) {
-                System.out.println("User not logged in. Please log in again.");
+        if (currentUser == null) {
+            System.out.println("User not logged in. Please log in again.");
+            return;
+        }
+        if (postingReply) {
+            return;
+        }
+
+        int userId = currentUser.getUserId();
+        int replyPostId = postId;
+        Integer parentReplyId = replyingTo != null ? replyingTo.getReplyId() : null;
+        postingReply = true;
+        AsyncService.supply(() -> {
+            replyDAO.createReply(replyPostId, userId, replyText, parentReplyId);
+            return null;
+        }).whenCompleteAsync((ignored, error) -> {
+            postingReply = false;
+
+            if (error != null) {
+                Throwable cause = AsyncService.rootCause(error);
+                cause.printStackTrace();
+                System.out.println("Error posting reply: " + cause.getMessage());
                 return;
             }
 
-            int userId = currentUser.getUserId();
-            replyDAO.createReply(postId, userId, replyText);
             System.out.println("Reply posted successfully.");
 
             replyTextArea.clear();
+            resetReplyTarget();
 
             replyEditorSection.setVisible(false);
             replyEditorSection.setManaged(false);
@@ -261,15 +367,12 @@ public class ReplyController {
             if (parentController != null) {
                 parentController.loadPostsFromDB();
             }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            System.out.println("Error posting reply: " + e.getMessage());
-        }
+        }, AsyncService.FX);
     }
 
     @FXML
     private void onAddCommentClicked() {
+        resetReplyTarget();
         boolean isVisible = replyEditorSection.isVisible();
         replyEditorSection.setVisible(!isVisible);
         replyEditorSection.setManaged(!isVisible);
@@ -282,12 +385,15 @@ public class ReplyController {
     @FXML
     private void onCancelClicked() {
         replyTextArea.clear();
+        resetReplyTarget();
         replyEditorSection.setVisible(false);
         replyEditorSection.setManaged(false);
     }
 
     @FXML
     private void onCloseClicked() {
+        repliesRequest.cancel();
+
         if (parentController != null) {
             parentController.closeModal();
         } else {
@@ -309,12 +415,140 @@ public class ReplyController {
     }
 
     private void navigateToUserSettings(String username) {
-        UserDAO userDAO = new UserDAO();
-        User user = userDAO.getUserByUsername(username);
-        if (user != null && currentUser != null) {
-            SceneManager.switchToSettings(currentUser, user);
-        } else {
-            System.out.println("User not found: " + username);
+        AsyncService.supply(() -> new UserDAO().getUserByUsername(username)).whenCompleteAsync((user, error) -> {
+            if (error != null) {
+                System.err.println("Error loading user " + username + ": " + AsyncService.rootCause(error).getMessage());
+            } else if (user != null && currentUser != null) {
+                SceneManager.switchToSettings(currentUser, user);
+            } else {
+                System.out.println("User not found: " + username);
+            }
+        }, AsyncService.FX);
+    }
+
+    // One line of the flattened thread: a reply, or the "load more" link for the rest of a parent's replies
+    private static final class ThreadRow {
+        private final Reply reply;
+        private final Reply parent;
+        private final ReplyDAO.ReplyCursor after;
+        private final int depth;
+        private boolean loading;
+
+        private ThreadRow(Reply reply, int depth) {
+            this.reply = reply;
+            this.parent = null;
+            this.after = null;
+            this.depth = depth;
+        }
+
+        private ThreadRow(Reply parent, ReplyDAO.ReplyCursor after, int depth) {
+            this.reply = null;
+            this.parent = parent;
+            this.after = after;
+            this.depth = depth;
+        }
+    }
+
+    // Comment card; its node tree is built once and rebound to whichever row scrolls into view
+    private class ReplyCell extends ListCell<ThreadRow> {
+
+        private final HBox row = new HBox(0);
+        private final Region indent = new Region();
+        private final HBox replyCard = new HBox(8);
+        private final Label authorNameLabel = new Label();
+        private final Label timeLabel = new Label();
+        private final TextFlow contentFlow = new TextFlow();
+        private final Button loadMoreButton = new Button();
+
+        ReplyCell() {
+            indent.setStyle("-fx-border-color: transparent #343536 transparent transparent; -fx-border-width: 0 2 0 0;");
+
+            replyCard.setStyle("-fx-background-color: #272729; -fx-background-radius: 4; -fx-padding: 12; -fx-border-color: #343536; -fx-border-radius: 4;");
+            HBox.setHgrow(replyCard, Priority.ALWAYS);
+
+            VBox voteBox = new VBox(4);
+            voteBox.setAlignment(Pos.TOP_CENTER);
+            voteBox.setPrefWidth(40);
+            voteBox.setMinWidth(40);
+
+            VBox contentBox = new VBox(4);
+            HBox.setHgrow(contentBox, Priority.ALWAYS);
+
+            HBox authorTimeBox = new HBox(4);
+            authorTimeBox.setAlignment(Pos.CENTER_LEFT);
+
+            authorNameLabel.setStyle(AUTHOR_STYLE);
+            authorNameLabel.setOnMouseClicked(e -> {
+                if (getItem() != null && getItem().reply != null) {
+                    navigateToUserSettings(getItem().reply.getAuthor());
+                }
+            });
+            authorNameLabel.setOnMouseEntered(e -> authorNameLabel.setStyle(AUTHOR_HOVER_STYLE));
+            authorNameLabel.setOnMouseExited(e -> authorNameLabel.setStyle(AUTHOR_STYLE));
+
+            timeLabel.setStyle("-fx-text-fill: #818384; -fx-font-size: 11;");
+
+            authorTimeBox.getChildren().addAll(authorNameLabel, timeLabel);
+
+            contentFlow.setStyle("-fx-text-fill: #D7DADC; -fx-font-size: 14;");
+            contentFlow.setLineSpacing(2.0);
+
+            Label replyLabel = new Label("Reply");
+            replyLabel.setStyle("-fx-text-fill: #818384; -fx-font-size: 11; -fx-font-weight: bold; -fx-cursor: hand;");
+            replyLabel.setOnMouseClicked(e -> {
+                if (getItem() != null && getItem().reply != null) {
+                    startReplyTo(getItem().reply);
+                }
+            });
+
+            contentBox.getChildren().addAll(authorTimeBox, contentFlow, replyLabel);
+            replyCard.getChildren().addAll(voteBox, contentBox);
+
+            loadMoreButton.setStyle("-fx-background-color: transparent; -fx-text-fill: #0079D3; -fx-font-size: 12; -fx-font-weight: bold; -fx-cursor: hand; -fx-padding: 2 0 2 12;");
+            loadMoreButton.setOnAction(e -> {
+                if (getItem() != null && getItem().parent != null) {
+                    loadMoreReplies(getItem());
+                }
+            });
+
+            // Zero pref width lets the cell follow the list width so comments wrap instead of widening the list
+            setPrefWidth(0);
+            setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+            setStyle("-fx-background-color: transparent; -fx-padding: 0 0 8 0;");
+        }
+
+        @Override
+        protected void updateItem(ThreadRow item, boolean empty) {
+            super.updateItem(item, empty);
+
+            if (empty || item == null) {
+                setGraphic(null);
+                return;
+            }
+
+            double indentWidth = Math.min(item.depth, MAX_INDENT_LEVELS) * INDENT_WIDTH;
+            indent.setMinWidth(indentWidth);
+            indent.setPrefWidth(indentWidth);
+            indent.setVisible(item.depth > 0);
+            indent.setManaged(item.depth > 0);
+
+            if (item.reply != null) {
+                Reply reply = item.reply;
+                authorNameLabel.setText(reply.getAuthor());
+                authorNameLabel.setStyle(AUTHOR_STYLE);
+                timeLabel.setText(" • " + reply.getTimeAgo());
+                setTextWithLinks(contentFlow, ContentTokenizer.tokenizeReply(reply.getReplyId(), reply.getText()));
+                row.getChildren().setAll(indent, replyCard);
+            } else {
+                loadMoreButton.setText(item.loading ? "Loading..." : moreRepliesText(item.parent));
+                loadMoreButton.setDisable(item.loading);
+                row.getChildren().setAll(indent, loadMoreButton);
+            }
+            setGraphic(row);
+
+            if (getIndex() >= getListView().getItems().size() - LOAD_MORE_PREFETCH) {
+                loadNextPage();
+            }
         }
     }
 }
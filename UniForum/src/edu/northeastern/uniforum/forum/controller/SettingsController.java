@@ -3,6 +3,7 @@ package edu.northeastern.uniforum.forum.controller;
 import application.Main;
 import edu.northeastern.uniforum.forum.dao.UserDAO;
 import edu.northeastern.uniforum.forum.model.User;
+import edu.northeastern.uniforum.forum.service.AsyncService;
 import edu.northeastern.uniforum.forum.util.PasswordUtil;
 import edu.northeastern.uniforum.forum.util.SceneManager;
 import javafx.fxml.FXML;
@@ -170,7 +171,6 @@ public class SettingsController {
         }
 
         boolean changingPassword = !currentPassword.isEmpty() || !newPassword.isEmpty() || !confirmPassword.isEmpty();
-        String newPasswordHash = null;
 
         if (changingPassword) {
             if (currentPassword.isEmpty() || newPassword.isEmpty() || confirmPassword.isEmpty()) {
@@ -180,13 +180,6 @@ public class SettingsController {
                 return;
             }
 
-            if (!PasswordUtil.checkPassword(currentPassword, viewedUser.getPasswordHash())) {
-                if (messageLabel != null) {
-                    messageLabel.setText("Current password is incorrect.");
-                }
-                return;
-            }
-
             if (!newPassword.equals(confirmPassword)) {
                 if (messageLabel != null) {
                     messageLabel.setText("New passwords do not match.");
@@ -200,8 +193,6 @@ public class SettingsController {
                 }
                 return;
             }
-
-            newPasswordHash = PasswordUtil.hashPassword(newPassword);
         }
 
         boolean usernameChanged = !newUsername.equals(viewedUser.getUsername());
@@ -210,16 +201,6 @@ public class SettingsController {
         boolean githubChanged = !newGithubUrl.equals(viewedUser.getGithubUrl() != null ? viewedUser.getGithubUrl() : "");
         boolean departmentChanged = !newDepartment.equals(viewedUser.getDepartment() != null ? viewedUser.getDepartment() : "");
 
-        if (usernameChanged) {
-            User existingUser = userDAO.getUserByUsername(newUsername);
-            if (existingUser != null && existingUser.getUserId() != viewedUser.getUserId()) {
-                if (messageLabel != null) {
-                    messageLabel.setText("Username already exists. Please choose a different username.");
-                }
-                return;
-            }
-        }
-
         if (currentUser == null || viewedUser == null || currentUser.getUserId() != viewedUser.getUserId()) {
             if (messageLabel != null) {
                 messageLabel.setText("You can only edit your own profile.");
@@ -227,51 +208,104 @@ public class SettingsController {
             return;
         }
 
-        boolean updateSuccess = userDAO.updateUser(
-            viewedUser.getUserId(),
-            usernameChanged ? newUsername : null,
-            emailChanged ? newEmail : null,
-            newPasswordHash,
-            linkedinChanged ? newLinkedinUrl : null,
-            githubChanged ? newGithubUrl : null,
-            departmentChanged ? newDepartment : null
-        );
-
-        if (updateSuccess) {
-            String updatedUsername = usernameChanged ? newUsername : viewedUser.getUsername();
-            String updatedEmail = emailChanged ? newEmail : viewedUser.getEmail();
-            String updatedPasswordHash = newPasswordHash != null ? newPasswordHash : viewedUser.getPasswordHash();
-            String updatedLinkedinUrl = linkedinChanged ? newLinkedinUrl : (viewedUser.getLinkedinUrl() != null ? viewedUser.getLinkedinUrl() : "");
-            String updatedGithubUrl = githubChanged ? newGithubUrl : (viewedUser.getGithubUrl() != null ? viewedUser.getGithubUrl() : "");
-            String updatedDepartment = departmentChanged ? newDepartment : (viewedUser.getDepartment() != null ? viewedUser.getDepartment() : "");
-
-            viewedUser = new User(
-                viewedUser.getUserId(),
-                updatedUsername,
-                updatedPasswordHash,
-                updatedEmail,
-                updatedLinkedinUrl,
-                updatedGithubUrl,
-                updatedDepartment
+        User editedUser = viewedUser;
+        setBusy(true);
+
+        // Both bcrypt calls and the UPDATE run in the background so the window stays responsive
+        AsyncService.supply(() -> {
+            String newPasswordHash = null;
+            if (changingPassword) {
+                if (!PasswordUtil.checkPassword(currentPassword, editedUser.getPasswordHash())) {
+                    return SaveResult.WRONG_PASSWORD;
+                }
+                newPasswordHash = PasswordUtil.hashPassword(newPassword);
+            }
+
+            UserDAO.UpdateResult update = userDAO.updateUser(
+                editedUser.getUserId(),
+                usernameChanged ? newUsername : null,
+                emailChanged ? newEmail : null,
+                newPasswordHash,
+                linkedinChanged ? newLinkedinUrl : null,
+                githubChanged ? newGithubUrl : null,
+                departmentChanged ? newDepartment : null
             );
+            return new SaveResult(update, newPasswordHash);
+        }).whenCompleteAsync((saved, error) -> {
+            setBusy(false);
+            if (error != null) {
+                System.err.println("Error saving settings: " + AsyncService.rootCause(error).getMessage());
+                if (messageLabel != null) {
+                    messageLabel.setStyle("-fx-text-fill: #F35B04; -fx-font-weight: bold;");
+                    messageLabel.setText("Error saving settings. Please try again.");
+                }
+                return;
+            }
 
-            if (usernameLabel != null) {
-                usernameLabel.setText(updatedUsername);
+            if (saved == SaveResult.WRONG_PASSWORD) {
+                if (messageLabel != null) {
+                    messageLabel.setText("Current password is incorrect.");
+                }
+                return;
             }
 
-            if (messageLabel != null) {
-                messageLabel.setStyle("-fx-text-fill: #28a745; -fx-font-weight: bold;");
-                messageLabel.setText("Settings saved successfully!");
+            UserDAO.UpdateResult result = saved.update;
+            if (result.hasConflict()) {
+                if (messageLabel != null) {
+                    messageLabel.setStyle("-fx-text-fill: #F35B04; -fx-font-weight: bold;");
+                    if (result.usernameTaken && result.emailTaken) {
+                        messageLabel.setText("Username and email are already in use. Please choose different ones.");
+                    } else if (result.usernameTaken) {
+                        messageLabel.setText("Username already exists. Please choose a different username.");
+                    } else {
+                        messageLabel.setText("Email is already registered to another account.");
+                    }
+                }
+                return;
             }
 
-            currentPasswordField.clear();
-            newPasswordField.clear();
-            confirmPasswordField.clear();
-        } else {
-            if (messageLabel != null) {
-                messageLabel.setStyle("-fx-text-fill: #F35B04; -fx-font-weight: bold;");
-                messageLabel.setText("Error saving settings. Please try again.");
+            if (result.updated) {
+                String updatedUsername = usernameChanged ? newUsername : editedUser.getUsername();
+                String updatedEmail = emailChanged ? newEmail : editedUser.getEmail();
+                String updatedPasswordHash = saved.newPasswordHash != null ? saved.newPasswordHash : editedUser.getPasswordHash();
+                String updatedLinkedinUrl = linkedinChanged ? newLinkedinUrl : (editedUser.getLinkedinUrl() != null ? editedUser.getLinkedinUrl() : "");
+                String updatedGithubUrl = githubChanged ? newGithubUrl : (editedUser.getGithubUrl() != null ? editedUser.getGithubUrl() : "");
+                String updatedDepartment = departmentChanged ? newDepartment : (editedUser.getDepartment() != null ? editedUser.getDepartment() : "");
+
+                viewedUser = new User(
+                    editedUser.getUserId(),
+                    updatedUsername,
+                    updatedPasswordHash,
+                    updatedEmail,
+                    updatedLinkedinUrl,
+                    updatedGithubUrl,
+                    updatedDepartment
+                );
+
+                if (usernameLabel != null) {
+                    usernameLabel.setText(updatedUsername);
+                }
+
+                if (messageLabel != null) {
+                    messageLabel.setStyle("-fx-text-fill: #28a745; -fx-font-weight: bold;");
+                    messageLabel.setText("Settings saved successfully!");
+                }
+
+                currentPasswordField.clear();
+                newPasswordField.clear();
+                confirmPasswordField.clear();
+            } else {
+                if (messageLabel != null) {
+                    messageLabel.setStyle("-fx-text-fill: #F35B04; -fx-font-weight: bold;");
+                    messageLabel.setText("Error saving settings. Please try again.");
+                }
             }
+        }, AsyncService.FX);
+    }
+
+    private void setBusy(boolean busy) {
+        if (saveButton != null) {
+            saveButton.setDisable(busy);
         }
     }
 
@@ -419,4 +453,17 @@ public class SettingsController {
 
         SceneManager.switchToLogin();
     }
+
+    // Outcome of the background part of a save; WRONG_PASSWORD when the current password did not match
+    private static final class SaveResult {
+        private static final SaveResult WRONG_PASSWORD = new SaveResult(null, null);
+
+        private final UserDAO.UpdateResult update;
+        private final String newPasswordHash;
+
+        private SaveResult(UserDAO.UpdateResult update, String newPasswordHash) {
+            this.update = update;
+            this.newPasswordHash = newPasswordHash;
+        }
+    }
 }
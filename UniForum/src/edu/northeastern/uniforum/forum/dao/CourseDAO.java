@@ -0,0 +1,166 @@
+package edu.northeastern.uniforum.forum.dao;
+
+import edu.northeastern.uniforum.db.Database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class CourseDAO {
+
+    // Rows per executeBatch when importing a catalog
+    private static final int IMPORT_BATCH_SIZE = 500;
+
+    // Sections seeded when the table has to be created; same rows as create_courses_table.sql
+    private static final List<CourseDTO> DEFAULT_SECTIONS = List.of(
+            new CourseDTO("IS", "INFO 5002-01", "Intro to Python for Info Sys"),
+            new CourseDTO("IS", "INFO 5100-04", "Application Engineer & Dev"),
+            new CourseDTO("IS", "INFO 6105-01", "Data Sci Eng Methods"),
+            new CourseDTO("IS", "INFO 6106-01", "Neural Modeling Methods & Tool"),
+            new CourseDTO("CSYE", "CSYE 6225-03", "Netwrk Strctrs & Cloud Cmpting"),
+            new CourseDTO("CSYE", "CSYE 7105-01", "Parallel Machine Learning & AI"),
+            new CourseDTO("CSYE", "CSYE 7280-01", "User Experience Design/Testing"),
+            new CourseDTO("CSYE", "CSYE 7380-02", "Theory & Prac App AI Gen Model"),
+            new CourseDTO("DAMG", "DAMG 6210-01", "Data Mgt and Database Design"),
+            new CourseDTO("DAMG", "DAMG 7250-01", "Big Data Architec & Governance"),
+            new CourseDTO("DAMG", "DAMG 7374-01", "ST: Gen AI w/ LLM in Data Eng"),
+            new CourseDTO("DAMG", "DAMG 7245-02", "Big Data Sys & Intel Analytics"),
+            new CourseDTO("TELE", "TELE 5330-01", "Data Networking"),
+            new CourseDTO("TELE", "TELE 6530-01", "Connected Devices"),
+            new CourseDTO("TELE", "TELE 7374-02", "Special Topics: Building Digital Twins"),
+            new CourseDTO("TELE", "TELE 5600-01", "Linux for Network Engineers"));
+
+    public static class CourseDTO {
+        public String department;
+        public String code;
+        public String title;
+        public String name;
+
+        public CourseDTO() {
+        }
+
+        public CourseDTO(String department, String code, String title) {
+            this.department = department;
+            this.code = code;
+            this.title = title;
+            this.name = code + " " + title;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+	// Create the Courses table and seed the default sections if create_courses_table.sql was never run.
+	// Returns true if the table had to be created.
+	public boolean ensureTable() throws SQLException {
+        try (Connection conn = Database.getConnection()) {
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'Courses'");
+                 ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return false;
+                }
+            }
+
+            try (Statement st = conn.createStatement()) {
+                st.executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS Courses (
+                        course_id INTEGER PRIMARY KEY AUTOINCREMENT,
+                        department TEXT NOT NULL,
+                        code TEXT NOT NULL,
+                        title TEXT NOT NULL,
+                        name TEXT NOT NULL UNIQUE
+                    )
+                    """);
+                st.executeUpdate("CREATE INDEX IF NOT EXISTS idx_courses_department ON Courses(department, name)");
+            }
+        }
+        importCourses(DEFAULT_SECTIONS);
+        return true;
+    }
+
+	// Load the whole catalog ordered by department, then course name
+	public List<CourseDTO> getAllCourses() throws SQLException {
+        String sql = """
+            SELECT department, code, title, name
+            FROM Courses
+            ORDER BY department, name
+            """;
+
+        List<CourseDTO> courses = new ArrayList<>();
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+
+            while (rs.next()) {
+                CourseDTO course = new CourseDTO();
+                course.department = rs.getString("department");
+                course.code = rs.getString("code");
+                course.title = rs.getString("title");
+                course.name = rs.getString("name");
+                courses.add(course);
+            }
+        }
+        return courses;
+    }
+
+	// Insert courses in batches inside one transaction; sections already in the catalog are skipped.
+	// Returns how many new courses were added.
+	public int importCourses(Collection<CourseDTO> courses) throws SQLException {
+        if (courses == null || courses.isEmpty()) {
+            return 0;
+        }
+
+        String sql = "INSERT OR IGNORE INTO Courses (department, code, title, name) VALUES (?, ?, ?, ?)";
+
+        try (Connection conn = Database.getConnection()) {
+            boolean wasAutoCommit = conn.getAutoCommit();
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                conn.setAutoCommit(false);
+
+                int inserted = 0;
+                int pending = 0;
+                for (CourseDTO course : courses) {
+                    ps.setString(1, course.department);
+                    ps.setString(2, course.code);
+                    ps.setString(3, course.title);
+                    ps.setString(4, course.name);
+                    ps.addBatch();
+
+                    if (++pending == IMPORT_BATCH_SIZE) {
+                        inserted += countInserted(ps.executeBatch());
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    inserted += countInserted(ps.executeBatch());
+                }
+
+                conn.commit();
+                return inserted;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(wasAutoCommit);
+            }
+        }
+    }
+
+    private static int countInserted(int[] results) {
+        int inserted = 0;
+        for (int result : results) {
+            if (result > 0) {
+                inserted += result;
+            }
+        }
+        return inserted;
+    }
+}
@@ -6,7 +6,14 @@ import edu.northeastern.uniforum.forum.util.TimeUtil;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -14,6 +21,88 @@ import java.sql.SQLException;
 
 public class PostDAO {
 
+    // Keeps IN (...) lists well under SQLite's bound-parameter limit
+    private static final int IN_LIST_CHUNK = 500;
+
+    // Feed rows only carry a preview of the body; the card shows a single ellipsized line
+    private static final int PREVIEW_LENGTH = 500;
+
+    // Newest matches ranked per search; older matches of very common terms are not reached
+    private static final int SEARCH_CANDIDATES = Integer.getInteger("uniforum.search.candidates", 1000);
+
+    // A word being typed that is at most this long is matched by recency rather than ranked
+    private static final int SHORT_PREFIX_LENGTH = 2;
+
+    private static final Comparator<PostDTO> BY_CREATED = Comparator
+            .comparingLong((PostDTO post) -> post.createdEpochMillis)
+            .thenComparingInt(post -> post.postId);
+    private static final Comparator<PostDTO> BY_LIKES = Comparator
+            .comparingInt((PostDTO post) -> post.upvotes)
+            .thenComparingInt(post -> post.postId);
+
+    public enum FeedOrder {
+        LATEST("p.created_time DESC, p.post_id DESC", "(p.created_time, p.post_id) < (?, ?)", BY_CREATED.reversed()),
+        OLDEST("p.created_time ASC, p.post_id ASC", "(p.created_time, p.post_id) > (?, ?)", BY_CREATED),
+        MOST_LIKED("p.number_of_likes DESC, p.post_id DESC", "(p.number_of_likes, p.post_id) < (?, ?)", BY_LIKES.reversed()),
+        LEAST_LIKED("p.number_of_likes ASC, p.post_id ASC", "(p.number_of_likes, p.post_id) > (?, ?)", BY_LIKES);
+
+        private final String orderBy;
+        private final String after;
+        private final Comparator<PostDTO> comparator;
+
+        FeedOrder(String orderBy, String after, Comparator<PostDTO> comparator) {
+            this.orderBy = orderBy;
+            this.after = after;
+            this.comparator = comparator;
+        }
+
+        // Same order as the SQL ORDER BY, for re-sorting rows that are already loaded
+        public Comparator<PostDTO> comparator() {
+            return comparator;
+        }
+
+        private boolean byTime() {
+            return this == LATEST || this == OLDEST;
+        }
+    }
+
+    // Sort key of the last row of a page; the next page starts strictly after it
+    public static class FeedCursor {
+        public final String createdTime;
+        public final int likes;
+        public final double rank;
+        public final int postId;
+
+        public FeedCursor(String createdTime, int likes, int postId) {
+            this.createdTime = createdTime;
+            this.likes = likes;
+            this.rank = 0;
+            this.postId = postId;
+        }
+
+        // Cursor for search pages, which are ordered by FTS5 rank (lower is more relevant)
+        public FeedCursor(double rank, int postId) {
+            this.createdTime = null;
+            this.likes = 0;
+            this.rank = rank;
+            this.postId = postId;
+        }
+    }
+
+    public static class FeedPage {
+        public final List<PostDTO> posts;
+        public final FeedCursor next;
+
+        public FeedPage(List<PostDTO> posts, FeedCursor next) {
+            this.posts = posts;
+            this.next = next;
+        }
+
+        public boolean hasMore() {
+            return next != null;
+        }
+    }
+
     public static class PostDTO {
         public int postId;
         public String community;
@@ -24,12 +113,11 @@ public class PostDAO {
         public String tag;
         public int upvotes;
         public int comments;
+        public long createdEpochMillis;
     }
 
-	// Retrieve all posts ordered by creation time (newest first)
-	public List<PostDTO> getAllPosts() throws SQLException {
-        List<PostDTO> list = new ArrayList<>();
-
+	// Load a single post with its full content by primary key; returns null when it does not exist
+	public PostDTO getPostById(int postId) throws SQLException {
         String sql = """
             SELECT p.post_id,
                    p.title,
@@ -43,48 +131,26 @@ public class PostDAO {
             FROM Posts p
             JOIN Users u       ON p.user_id = u.user_id
             JOIN Communities c ON p.community_id = c.community_id
-            ORDER BY p.created_time DESC
+            WHERE p.post_id = ?
             """;
 
         try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
-
-            while (rs.next()) {
-                PostDTO dto = new PostDTO();
-                dto.postId   = rs.getInt("post_id");
-                dto.title     = rs.getString("title");
-                dto.content   = rs.getString("content");
-                dto.upvotes   = rs.getInt("number_of_likes");
-                dto.comments  = rs.getInt("number_of_replies");
-                dto.author    = rs.getString("user_name");
-                dto.community = rs.getString("community_name");
-                dto.tag = rs.getString("tag");
-
-                Timestamp ts = rs.getTimestamp("created_time");
-                if (ts != null) {
-                    LocalDateTime created = ts.toLocalDateTime();
-                    dto.timeAgo = TimeUtil.timeAgo(created);
-                } else {
-                    dto.timeAgo = "unknown";
-                }
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, postId);
 
-                list.add(dto);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? mapPost(rs) : null;
             }
         }
-
-        System.out.println("DAO: loaded posts count = " + list.size());
-        return list;
     }
 
-	// Get posts sorted by upvotes for Explore view
-	public List<PostDTO> getAllPostsSortedByLikes() throws SQLException {
-        List<PostDTO> list = new ArrayList<>();
-
-        String sql = """
+	// Fetch one keyset page of the feed; joinedByUserId, community and tag are optional filters
+	public FeedPage getFeedPage(FeedOrder order, Integer joinedByUserId, String community, String tag,
+                                FeedCursor after, int limit) throws SQLException {
+        StringBuilder sql = new StringBuilder("""
             SELECT p.post_id,
                    p.title,
-                   p.content,
+                   substr(p.content, 1, %d) AS content,
                    p.tag,
                    p.number_of_likes,
                    p.number_of_replies,
@@ -94,92 +160,206 @@ public class PostDAO {
             FROM Posts p
             JOIN Users u       ON p.user_id = u.user_id
             JOIN Communities c ON p.community_id = c.community_id
-            ORDER BY p.number_of_likes DESC, p.created_time DESC
-            """;
+            WHERE 1 = 1
+            """.formatted(PREVIEW_LENGTH));
+        List<Object> params = new ArrayList<>();
+
+        appendFeedFilters(sql, params, joinedByUserId, community, tag);
+        if (after != null) {
+            sql.append(" AND ").append(order.after);
+            params.add(order.byTime() ? after.createdTime : after.likes);
+            params.add(after.postId);
+        }
+        sql.append(" ORDER BY ").append(order.orderBy).append(" LIMIT ?");
+        params.add(limit + 1);
+
+        List<PostDTO> list = new ArrayList<>();
+        FeedCursor next = null;
 
         try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
-
-            while (rs.next()) {
-                PostDTO dto = new PostDTO();
-                dto.postId   = rs.getInt("post_id");
-                dto.title     = rs.getString("title");
-                dto.content   = rs.getString("content");
-                dto.upvotes   = rs.getInt("number_of_likes");
-                dto.comments  = rs.getInt("number_of_replies");
-                dto.author    = rs.getString("user_name");
-                dto.community = rs.getString("community_name");
-                dto.tag = rs.getString("tag");
-
-                Timestamp ts = rs.getTimestamp("created_time");
-                if (ts != null) {
-                    LocalDateTime created = ts.toLocalDateTime();
-                    dto.timeAgo = TimeUtil.timeAgo(created);
-                } else {
-                    dto.timeAgo = "unknown";
-                }
+             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
 
-                list.add(dto);
+            try (ResultSet rs = ps.executeQuery()) {
+                String lastCreatedTime = null;
+                while (rs.next()) {
+                    if (list.size() == limit) {
+                        PostDTO last = list.get(list.size() - 1);
+                        next = new FeedCursor(lastCreatedTime, last.upvotes, last.postId);
+                        break;
+                    }
+                    lastCreatedTime = rs.getString("created_time");
+                    list.add(mapPost(rs));
+                }
             }
         }
 
-        System.out.println("DAO: loaded posts sorted by likes count = " + list.size());
-        return list;
+        return new FeedPage(list, next);
     }
 
-	// Fetch posts from communities the user has joined
-	public List<PostDTO> getPostsFromJoinedCommunities(int userId) throws SQLException {
-        List<PostDTO> list = new ArrayList<>();
+	// Ranked full-text search over title and content (see create_post_search_index.sql).
+	// The last word is prefix-matched while the user is still typing it; filters match getFeedPage.
+	// Only the newest SEARCH_CANDIDATES matches are ranked, so a common word costs about the same as a rare
+	// one instead of running bm25 over every post containing it. While the word being typed is still one or
+	// two characters, its prefix matches most of the index and results are simply listed newest first.
+	public FeedPage searchPosts(String keyword, Integer joinedByUserId, String community, String tag,
+                                FeedCursor after, int limit) throws SQLException {
+        String match = toMatchQuery(keyword);
+        if (match == null) {
+            return new FeedPage(Collections.emptyList(), null);
+        }
 
-        String sql = """
+        // A negated rowid sorts newest first and keeps the (rank, post_id) cursor working unchanged
+        String lastTerm = match.substring(match.lastIndexOf(' ') + 1);
+        boolean byRecency = lastTerm.endsWith("*") && lastTerm.length() - 3 <= SHORT_PREFIX_LENGTH;
+        String rank = byRecency ? "-Posts_FTS.rowid" : "Posts_FTS.rank";
+
+        // FTS5 walks the doclist in rowid order and stops at the LIMIT, computing rank only for those rows
+        StringBuilder candidates = new StringBuilder("""
+            SELECT Posts_FTS.rowid AS post_id, %s AS search_rank
+            FROM Posts_FTS
+            JOIN Posts p       ON p.post_id = Posts_FTS.rowid
+            JOIN Communities c ON p.community_id = c.community_id
+            WHERE Posts_FTS MATCH ?
+            """.formatted(rank));
+        List<Object> params = new ArrayList<>();
+        params.add(match);
+        appendFeedFilters(candidates, params, joinedByUserId, community, tag);
+        candidates.append(" ORDER BY Posts_FTS.rowid DESC LIMIT ?");
+        params.add(SEARCH_CANDIDATES);
+
+        StringBuilder sql = new StringBuilder("""
             SELECT p.post_id,
                    p.title,
-                   p.content,
+                   substr(p.content, 1, %d) AS content,
                    p.tag,
                    p.number_of_likes,
                    p.number_of_replies,
                    p.created_time,
                    u.user_name,
-                   c.community_name
-            FROM Posts p
+                   c.community_name,
+                   m.search_rank
+            FROM (%s) m
+            JOIN Posts p       ON p.post_id = m.post_id
             JOIN Users u       ON p.user_id = u.user_id
             JOIN Communities c ON p.community_id = c.community_id
-            JOIN Community_User cu ON c.community_id = cu.community_id
-            WHERE cu.user_id = ?
-            ORDER BY p.created_time DESC
-            """;
+            """.formatted(PREVIEW_LENGTH, candidates));
+        if (after != null) {
+            sql.append(" WHERE (m.search_rank, p.post_id) > (?, ?)");
+            params.add(after.rank);
+            params.add(after.postId);
+        }
+        sql.append(" ORDER BY m.search_rank, p.post_id LIMIT ?");
+        params.add(limit + 1);
+
+        List<PostDTO> list = new ArrayList<>();
+        FeedCursor next = null;
 
         try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, userId);
+             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+
             try (ResultSet rs = ps.executeQuery()) {
+                double lastRank = 0;
                 while (rs.next()) {
-                    PostDTO dto = new PostDTO();
-                    dto.postId   = rs.getInt("post_id");
-                    dto.title     = rs.getString("title");
-                    dto.content   = rs.getString("content");
-                    dto.upvotes   = rs.getInt("number_of_likes");
-                    dto.comments  = rs.getInt("number_of_replies");
-                    dto.author    = rs.getString("user_name");
-                    dto.community = rs.getString("community_name");
-                    dto.tag = rs.getString("tag");
-
-                    Timestamp ts = rs.getTimestamp("created_time");
-                    if (ts != null) {
-                        LocalDateTime created = ts.toLocalDateTime();
-                        dto.timeAgo = TimeUtil.timeAgo(created);
-                    } else {
-                        dto.timeAgo = "unknown";
+                    if (list.size() == limit) {
+                        next = new FeedCursor(lastRank, list.get(list.size() - 1).postId);
+                        break;
                     }
-
-                    list.add(dto);
+                    lastRank = rs.getDouble("search_rank");
+                    list.add(mapPost(rs));
                 }
             }
         }
 
-        System.out.println("DAO: loaded posts from joined communities count = " + list.size());
-        return list;
+        return new FeedPage(list, next);
+    }
+
+	// Turn free text into an FTS5 query: every word is required and quoted so input such as AND, NEAR
+	// or stray quotes is never parsed as query syntax. Only the word being typed gets a prefix '*';
+	// prefix terms are far more expensive to evaluate than exact ones on a large index.
+	private static String toMatchQuery(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+
+        List<String> words = new ArrayList<>();
+        for (String word : keyword.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        if (words.isEmpty()) {
+            return null;
+        }
+
+        boolean typingLastWord = Character.isLetterOrDigit(keyword.charAt(keyword.length() - 1));
+        StringBuilder match = new StringBuilder();
+        for (int i = 0; i < words.size(); i++) {
+            if (i > 0) {
+                match.append(' ');
+            }
+            match.append('"').append(words.get(i)).append('"');
+            if (i == words.size() - 1 && typingLastWord) {
+                match.append('*');
+            }
+        }
+        return match.toString();
+    }
+
+    private static void appendFeedFilters(StringBuilder sql, List<Object> params, Integer joinedByUserId,
+                                          String community, String tag) {
+        if (joinedByUserId != null) {
+            sql.append(" AND p.community_id IN (SELECT community_id FROM Community_User WHERE user_id = ?)");
+            params.add(joinedByUserId);
+        }
+        if (community != null) {
+            sql.append(" AND c.community_name = ?");
+            params.add(community);
+        }
+        if (tag != null) {
+            sql.append(" AND p.tag = ?");
+            params.add(tag);
+        }
+    }
+
+    private PostDTO mapPost(ResultSet rs) throws SQLException {
+        PostDTO dto = new PostDTO();
+        dto.postId    = rs.getInt("post_id");
+        dto.title     = rs.getString("title");
+        dto.content   = rs.getString("content");
+        dto.upvotes   = rs.getInt("number_of_likes");
+        dto.comments  = rs.getInt("number_of_replies");
+        dto.author    = rs.getString("user_name");
+        dto.community = rs.getString("community_name");
+        dto.tag       = rs.getString("tag");
+
+        Timestamp ts = rs.getTimestamp("created_time");
+        if (ts != null) {
+            LocalDateTime created = ts.toLocalDateTime();
+            dto.timeAgo = TimeUtil.timeAgo(created);
+            dto.createdEpochMillis = ts.getTime();
+        } else {
+            dto.timeAgo = "unknown";
+        }
+        return dto;
+    }
+
+    // Final vote of one user on one post (1=upvote, -1=downvote, 0=none)
+    public static class VoteState {
+        public final int postId;
+        public final int userId;
+        public final int vote;
+
+        public VoteState(int postId, int userId, int vote) {
+            this.postId = postId;
+            this.userId = userId;
+            this.vote = vote;
+        }
     }
 
     public static class CommunityDTO {
@@ -217,6 +397,75 @@ public class PostDAO {
     	 return list;
     	}
 
+    	// Make sure a community exists for every name and return name -> id for all of them. Missing ones are
+    	// inserted with one batch; lookups, inserts and the final read share one connection and one transaction.
+	public Map<String, Integer> createCommunities(Collection<String> names, int moderatorId) throws SQLException {
+    	    Map<String, Integer> ids = new LinkedHashMap<>();
+    	    if (names == null || names.isEmpty()) {
+    	        return ids;
+    	    }
+
+    	    List<String> distinct = new ArrayList<>(new LinkedHashSet<>(names));
+    	    String insertSql = "INSERT OR IGNORE INTO Communities (community_name, moderator_id) VALUES (?, ?)";
+
+    	    try (Connection conn = Database.getConnection()) {
+    	        boolean wasAutoCommit = conn.getAutoCommit();
+    	        try {
+    	            conn.setAutoCommit(false);
+
+    	            Map<String, Integer> existing = findCommunityIds(conn, distinct);
+    	            if (existing.size() < distinct.size()) {
+    	                try (PreparedStatement ps = conn.prepareStatement(insertSql)) {
+    	                    for (String name : distinct) {
+    	                        if (!existing.containsKey(name)) {
+    	                            ps.setString(1, name);
+    	                            ps.setInt(2, moderatorId);
+    	                            ps.addBatch();
+    	                        }
+    	                    }
+    	                    ps.executeBatch();
+    	                }
+    	                existing = findCommunityIds(conn, distinct);
+    	            }
+
+    	            conn.commit();
+    	            for (String name : distinct) {
+    	                Integer id = existing.get(name);
+    	                if (id != null) {
+    	                    ids.put(name, id);
+    	                }
+    	            }
+    	            return ids;
+    	        } catch (SQLException e) {
+    	            conn.rollback();
+    	            throw e;
+    	        } finally {
+    	            conn.setAutoCommit(wasAutoCommit);
+    	        }
+    	    }
+    	}
+
+	private Map<String, Integer> findCommunityIds(Connection conn, List<String> names) throws SQLException {
+    	    Map<String, Integer> ids = new HashMap<>();
+    	    for (int from = 0; from < names.size(); from += IN_LIST_CHUNK) {
+    	        List<String> chunk = names.subList(from, Math.min(from + IN_LIST_CHUNK, names.size()));
+    	        String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+    	        String sql = "SELECT community_id, community_name FROM Communities WHERE community_name IN (" + placeholders + ")";
+
+    	        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+    	            for (int i = 0; i < chunk.size(); i++) {
+    	                ps.setString(i + 1, chunk.get(i));
+    	            }
+    	            try (ResultSet rs = ps.executeQuery()) {
+    	                while (rs.next()) {
+    	                    ids.put(rs.getString("community_name"), rs.getInt("community_id"));
+    	                }
+    	            }
+    	        }
+    	    }
+    	    return ids;
+    	}
+
     	// Get distinct tags from all posts for filtering
 	public List<String> getAllTags() throws SQLException {
     	 List<String> list = new ArrayList<>();
@@ -267,7 +516,39 @@ public class PostDAO {
 
     	// Get user's vote status for a post (1=upvote, -1=downvote, 0=none)
 	public int getUserVote(int postId, int userId) throws SQLException {
-    	    return getUserVote(postId, userId, Database.getConnection());
+    	    try (Connection conn = Database.getConnection()) {
+    	        return getUserVote(postId, userId, conn);
+    	    }
+    	}
+
+    	// Get user's votes for many posts at once (postId -> 1/-1); posts without a vote are absent
+	public Map<Integer, Integer> getUserVotes(int userId, Collection<Integer> postIds) throws SQLException {
+    	    Map<Integer, Integer> votes = new HashMap<>();
+    	    if (postIds == null || postIds.isEmpty()) {
+    	        return votes;
+    	    }
+
+    	    List<Integer> ids = new ArrayList<>(postIds);
+    	    try (Connection conn = Database.getConnection()) {
+    	        for (int from = 0; from < ids.size(); from += IN_LIST_CHUNK) {
+    	            List<Integer> chunk = ids.subList(from, Math.min(from + IN_LIST_CHUNK, ids.size()));
+    	            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+    	            String sql = "SELECT post_id, vote_type FROM Post_Votes WHERE user_id = ? AND post_id IN (" + placeholders + ")";
+
+    	            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+    	                ps.setInt(1, userId);
+    	                for (int i = 0; i < chunk.size(); i++) {
+    	                    ps.setInt(i + 2, chunk.get(i));
+    	                }
+    	                try (ResultSet rs = ps.executeQuery()) {
+    	                    while (rs.next()) {
+    	                        votes.put(rs.getInt("post_id"), rs.getInt("vote_type"));
+    	                    }
+    	                }
+    	            }
+    	        }
+    	    }
+    	    return votes;
     	}
 
     	private int getUserVote(int postId, int userId, Connection conn) throws SQLException {
@@ -284,134 +565,64 @@ public class PostDAO {
     	    return 0;
     	}
 
-    	// Process upvote with state transitions and database transaction
-	public boolean handleUpvote(int postId, int userId) throws SQLException {
-    	    Connection conn = Database.getConnection();
-    	    boolean wasAutoCommit = conn.getAutoCommit();
-    	    try {
-    	        conn.setAutoCommit(false);
-    	        int existingVote = getUserVote(postId, userId, conn);
-
-    	            if (existingVote == 1) {
-    	                String deleteSql = "DELETE FROM Post_Votes WHERE post_id = ? AND user_id = ?";
-    	                try (PreparedStatement ps = conn.prepareStatement(deleteSql)) {
-    	                    ps.setInt(1, postId);
-    	                    ps.setInt(2, userId);
-    	                    ps.executeUpdate();
-    	                }
-
-    	                String updateSql = "UPDATE Posts SET number_of_likes = CASE WHEN number_of_likes > 0 THEN number_of_likes - 1 ELSE 0 END WHERE post_id = ?";
-    	                try (PreparedStatement ps = conn.prepareStatement(updateSql)) {
-    	                    ps.setInt(1, postId);
-    	                    ps.executeUpdate();
-    	                }
+    	// Persist final per-(post, user) vote states in one transaction; each post's like count moves by the
+    	// difference between the stored vote and the new one, so re-applying the same states is a no-op
+	public void saveVotes(Collection<VoteState> states) throws SQLException {
+    	    if (states == null || states.isEmpty()) {
+    	        return;
+    	    }
 
-    	                conn.commit();
-    	                return false;
-    	            } else if (existingVote == -1) {
-    	                String updateVoteSql = "UPDATE Post_Votes SET vote_type = 1 WHERE post_id = ? AND user_id = ?";
-    	                try (PreparedStatement ps = conn.prepareStatement(updateVoteSql)) {
-    	                    ps.setInt(1, postId);
-    	                    ps.setInt(2, userId);
-    	                    ps.executeUpdate();
+    	    String upsertSql = """
+    	        INSERT INTO Post_Votes (post_id, user_id, vote_type) VALUES (?, ?, ?)
+    	        ON CONFLICT(post_id, user_id) DO UPDATE SET vote_type = excluded.vote_type
+    	        """;
+    	    String deleteSql = "DELETE FROM Post_Votes WHERE post_id = ? AND user_id = ?";
+    	    String countSql = "UPDATE Posts SET number_of_likes = MAX(0, number_of_likes + ?) WHERE post_id = ?";
+
+    	    try (Connection conn = Database.getConnection()) {
+    	        boolean wasAutoCommit = conn.getAutoCommit();
+    	        try (PreparedStatement upsert = conn.prepareStatement(upsertSql);
+    	             PreparedStatement delete = conn.prepareStatement(deleteSql);
+    	             PreparedStatement count = conn.prepareStatement(countSql)) {
+    	            conn.setAutoCommit(false);
+
+    	            Map<Integer, Integer> likeDeltas = new HashMap<>();
+    	            for (VoteState state : states) {
+    	                int existingVote = getUserVote(state.postId, state.userId, conn);
+    	                if (existingVote == state.vote) {
+    	                    continue;
     	                }
 
-    	                String updatePostSql = "UPDATE Posts SET number_of_likes = number_of_likes + 2 WHERE post_id = ?";
-    	                try (PreparedStatement ps = conn.prepareStatement(updatePostSql)) {
-    	                    ps.setInt(1, postId);
-    	                    ps.executeUpdate();
+    	                PreparedStatement ps = state.vote == 0 ? delete : upsert;
+    	                ps.setInt(1, state.postId);
+    	                ps.setInt(2, state.userId);
+    	                if (state.vote != 0) {
+    	                    ps.setInt(3, state.vote);
     	                }
+    	                ps.addBatch();
 
-    	                conn.commit();
-    	                return true;
-    	            } else {
-    	                String insertSql = "INSERT INTO Post_Votes (post_id, user_id, vote_type) VALUES (?, ?, 1)";
-    	                try (PreparedStatement ps = conn.prepareStatement(insertSql)) {
-    	                    ps.setInt(1, postId);
-    	                    ps.setInt(2, userId);
-    	                    ps.executeUpdate();
-    	                }
-
-    	                String updatePostSql = "UPDATE Posts SET number_of_likes = number_of_likes + 1 WHERE post_id = ?";
-    	                try (PreparedStatement ps = conn.prepareStatement(updatePostSql)) {
-    	                    ps.setInt(1, postId);
-    	                    ps.executeUpdate();
-    	                }
-
-    	                conn.commit();
-    	                return true;
+    	                likeDeltas.merge(state.postId, state.vote - existingVote, Integer::sum);
     	            }
-    	        } catch (SQLException e) {
-    	            conn.rollback();
-    	            throw e;
-    	        } finally {
-    	            conn.setAutoCommit(wasAutoCommit);
-    	        }
-    	}
-
-    	// Process downvote with state transitions and rollback support
-	public boolean handleDownvote(int postId, int userId) throws SQLException {
-    	    Connection conn = Database.getConnection();
-    	    boolean wasAutoCommit = conn.getAutoCommit();
-    	    try {
-    	        conn.setAutoCommit(false);
-    	        int existingVote = getUserVote(postId, userId, conn);
-
-    	            if (existingVote == -1) {
-    	                String deleteSql = "DELETE FROM Post_Votes WHERE post_id = ? AND user_id = ?";
-    	                try (PreparedStatement ps = conn.prepareStatement(deleteSql)) {
-    	                    ps.setInt(1, postId);
-    	                    ps.setInt(2, userId);
-    	                    ps.executeUpdate();
-    	                }
-
-    	                String updateSql = "UPDATE Posts SET number_of_likes = number_of_likes + 1 WHERE post_id = ?";
-    	                try (PreparedStatement ps = conn.prepareStatement(updateSql)) {
-    	                    ps.setInt(1, postId);
-    	                    ps.executeUpdate();
-    	                }
-
-    	                conn.commit();
-    	                return false;
-    	            } else if (existingVote == 1) {
-    	                String updateVoteSql = "UPDATE Post_Votes SET vote_type = -1 WHERE post_id = ? AND user_id = ?";
-    	                try (PreparedStatement ps = conn.prepareStatement(updateVoteSql)) {
-    	                    ps.setInt(1, postId);
-    	                    ps.setInt(2, userId);
-    	                    ps.executeUpdate();
-    	                }
 
-    	                String updatePostSql = "UPDATE Posts SET number_of_likes = CASE WHEN number_of_likes >= 2 THEN number_of_likes - 2 ELSE 0 END WHERE post_id = ?";
-    	                try (PreparedStatement ps = conn.prepareStatement(updatePostSql)) {
-    	                    ps.setInt(1, postId);
-    	                    ps.executeUpdate();
+    	            for (Map.Entry<Integer, Integer> entry : likeDeltas.entrySet()) {
+    	                if (entry.getValue() != 0) {
+    	                    count.setInt(1, entry.getValue());
+    	                    count.setInt(2, entry.getKey());
+    	                    count.addBatch();
     	                }
-
-    	                conn.commit();
-    	                return true;
-    	            } else {
-    	                String insertSql = "INSERT INTO Post_Votes (post_id, user_id, vote_type) VALUES (?, ?, -1)";
-    	                try (PreparedStatement ps = conn.prepareStatement(insertSql)) {
-    	                    ps.setInt(1, postId);
-    	                    ps.setInt(2, userId);
-    	                    ps.executeUpdate();
-    	                }
-
-    	                String updatePostSql = "UPDATE Posts SET number_of_likes = CASE WHEN number_of_likes > 0 THEN number_of_likes - 1 ELSE 0 END WHERE post_id = ?";
-    	                try (PreparedStatement ps = conn.prepareStatement(updatePostSql)) {
-    	                    ps.setInt(1, postId);
-    	                    ps.executeUpdate();
-    	                }
-
-    	                conn.commit();
-    	                return true;
     	            }
+
+    	            upsert.executeBatch();
+    	            delete.executeBatch();
+    	            count.executeBatch();
+    	            conn.commit();
     	        } catch (SQLException e) {
     	            conn.rollback();
     	            throw e;
     	        } finally {
     	            conn.setAutoCommit(wasAutoCommit);
     	        }
+    	    }
     	}
 
     	public int getVoteCount(int postId) throws SQLException {
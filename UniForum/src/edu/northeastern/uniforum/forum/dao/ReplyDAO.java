@@ -1,97 +1,260 @@
 package edu.northeastern.uniforum.forum.dao;
 
 import edu.northeastern.uniforum.db.Database;
+import edu.northeastern.uniforum.forum.model.Reply;
 import edu.northeastern.uniforum.forum.util.TimeUtil;
 
 import java.sql.*;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ReplyDAO {
 
-    public static class ReplyDTO {
-        public int replyId;
-        public int postId;
-        public String author;
-        public String content;
-        public String timeAgo;
-        public int likes;
-        public Integer parentReplyId;
+    // Position of the last reply of a page among its siblings; the next page starts strictly after it
+    public static class ReplyCursor {
+        public final String createdTime;
+        public final int replyId;
+
+        public ReplyCursor(String createdTime, int replyId) {
+            this.createdTime = createdTime;
+            this.replyId = replyId;
+        }
     }
 
-    public List<ReplyDTO> getRepliesByPostId(int postId) throws SQLException {
-        List<ReplyDTO> list = new ArrayList<>();
+    public static class ReplyPage {
+        public final List<Reply> replies;
+        public final ReplyCursor next;
 
-        String sql = """
-            SELECT r.reply_id, r.post_id, r.content, r.number_of_likes, r.created_time,
-                   u.user_name
-            FROM Replies r
-            JOIN Users u ON r.user_id = u.user_id
-            WHERE r.post_id = ?
-            ORDER BY r.created_time ASC
-            """;
+        public ReplyPage(List<Reply> replies, ReplyCursor next) {
+            this.replies = replies;
+            this.next = next;
+        }
 
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        public boolean hasMore() {
+            return next != null;
+        }
+    }
 
-            ps.setInt(1, postId);
+	// Load one page of a thread in a single recursive query: up to `limit` replies under parentReplyId
+	// (null = top-level comments) after the cursor, each with at most `childLimit` replies per level down to
+	// `maxDepth` levels. Anything cut off is reported through Reply.getChildCount so the UI can load it lazily.
+	public ReplyPage getReplyThread(int postId, Integer parentReplyId, ReplyCursor after, int limit,
+                                    int childLimit, int maxDepth) throws SQLException {
+        StringBuilder sql = new StringBuilder("""
+            WITH RECURSIVE thread(reply_id, depth) AS (
+                SELECT reply_id, 0 FROM (
+                    SELECT reply_id
+                    FROM Replies
+                    WHERE post_id = ? AND parent_reply_id IS ?
+            """);
+        List<Object> params = new ArrayList<>();
+        params.add(postId);
+        params.add(parentReplyId);
+
+        if (after != null) {
+            sql.append(" AND (created_time, reply_id) > (?, ?)");
+            params.add(after.createdTime);
+            params.add(after.replyId);
+        }
+
+        sql.append("""
+                    ORDER BY created_time, reply_id
+                    LIMIT ?
+                )
+                UNION ALL
+                SELECT c.reply_id, t.depth + 1
+                FROM thread t
+                JOIN Replies c ON c.reply_id IN (
+                    SELECT x.reply_id
+                    FROM Replies x
+                    WHERE x.parent_reply_id = t.reply_id
+                    ORDER BY x.created_time, x.reply_id
+                    LIMIT ?
+                )
+                WHERE t.depth < ?
+            )
+            SELECT r.reply_id, r.post_id, r.parent_reply_id, r.content, r.number_of_likes, r.created_time,
+                   u.user_name,
+                   (SELECT COUNT(*) FROM Replies c WHERE c.parent_reply_id = r.reply_id) AS child_count
+            FROM thread t
+            JOIN Replies r ON r.reply_id = t.reply_id
+            JOIN Users u   ON r.user_id = u.user_id
+            """);
+        params.add(limit + 1);
+        params.add(childLimit);
+        params.add(maxDepth);
+
+        List<Reply> rows = new ArrayList<>();
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
 
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    ReplyDTO dto = new ReplyDTO();
-                    dto.replyId = rs.getInt("reply_id");
-                    dto.postId = rs.getInt("post_id");
-                    dto.content = rs.getString("content");
-                    dto.likes = rs.getInt("number_of_likes");
-                    dto.author = rs.getString("user_name");
-                    dto.parentReplyId = null;
-
-                    Timestamp ts = rs.getTimestamp("created_time");
-                    if (ts != null) {
-                        LocalDateTime created = ts.toLocalDateTime();
-                        dto.timeAgo = TimeUtil.timeAgo(created);
-                    } else {
-                        dto.timeAgo = "unknown";
-                    }
-
-                    list.add(dto);
+                    rows.add(mapReply(rs));
                 }
             }
         }
 
-        return list;
+        List<Reply> roots = buildTree(rows, parentReplyId);
+        ReplyCursor next = null;
+        if (roots.size() > limit) {
+            roots = new ArrayList<>(roots.subList(0, limit));
+            Reply last = roots.get(limit - 1);
+            next = new ReplyCursor(last.getCreatedTime(), last.getReplyId());
+        }
+        return new ReplyPage(roots, next);
+    }
+
+	// Link rows into trees in O(n): index by id, then attach each row to its parent.
+	// Rows whose parent is `rootParentId` (or not in the result) become roots; sibling order is kept.
+	public static List<Reply> buildTree(List<Reply> rows, Integer rootParentId) {
+        List<Reply> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparing(Reply::getCreatedTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparingInt(Reply::getReplyId));
+
+        Map<Integer, Reply> byId = new HashMap<>();
+        for (Reply reply : sorted) {
+            byId.put(reply.getReplyId(), reply);
+        }
+
+        List<Reply> roots = new ArrayList<>();
+        for (Reply reply : sorted) {
+            Integer parentId = reply.getParentReplyId();
+            Reply parent = parentId != null && !parentId.equals(rootParentId) ? byId.get(parentId) : null;
+            if (parent != null) {
+                parent.addChild(reply);
+            } else {
+                roots.add(reply);
+            }
+        }
+        return roots;
+    }
+
+    private Reply mapReply(ResultSet rs) throws SQLException {
+        Timestamp ts = rs.getTimestamp("created_time");
+        String timeAgo = ts != null ? TimeUtil.timeAgo(ts.toLocalDateTime()) : "unknown";
+        int parentId = rs.getInt("parent_reply_id");
+        Integer parentReplyId = rs.wasNull() ? null : parentId;
+
+        return new Reply(
+                rs.getInt("reply_id"),
+                rs.getInt("post_id"),
+                parentReplyId,
+                rs.getString("user_name"),
+                rs.getString("content"),
+                timeAgo,
+                rs.getString("created_time"),
+                rs.getInt("number_of_likes"),
+                rs.getInt("child_count"));
     }
 
     public void createReply(int postId, int userId, String content) throws SQLException {
+        createReply(postId, userId, content, null);
+    }
+
+    // Insert the reply (parentReplyId null = top-level comment) and bump the post's counter in one transaction
+    public void createReply(int postId, int userId, String content, Integer parentReplyId) throws SQLException {
         String sql = """
-            INSERT INTO Replies (post_id, user_id, content, number_of_likes, created_time)
-            VALUES (?, ?, ?, 0, CURRENT_TIMESTAMP)
+            INSERT INTO Replies (post_id, user_id, content, number_of_likes, created_time, parent_reply_id)
+            VALUES (?, ?, ?, 0, CURRENT_TIMESTAMP, ?)
             """;
 
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (Connection conn = Database.getConnection()) {
+            boolean wasAutoCommit = conn.getAutoCommit();
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                conn.setAutoCommit(false);
 
-            ps.setInt(1, postId);
-            ps.setInt(2, userId);
-            ps.setString(3, content);
-            ps.executeUpdate();
+                ps.setInt(1, postId);
+                ps.setInt(2, userId);
+                ps.setString(3, content);
+                ps.setObject(4, parentReplyId);
+                ps.executeUpdate();
 
-            updatePostReplyCount(conn, postId);
+                adjustPostReplyCount(conn, postId, 1);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(wasAutoCommit);
+            }
         }
     }
 
-    private void updatePostReplyCount(Connection conn, int postId) throws SQLException {
+    // Delete a reply together with every reply under it and decrement the post's counter by the number removed,
+    // in one transaction; false if it did not exist
+    public boolean deleteReply(int replyId) throws SQLException {
         String sql = """
-            UPDATE Posts 
-            SET number_of_replies = (
-                SELECT COUNT(*) FROM Replies WHERE post_id = ?
+            WITH RECURSIVE subtree(reply_id) AS (
+                SELECT ?
+                UNION ALL
+                SELECT r.reply_id FROM Replies r JOIN subtree s ON r.parent_reply_id = s.reply_id
             )
-            WHERE post_id = ?
+            DELETE FROM Replies WHERE reply_id IN (SELECT reply_id FROM subtree) RETURNING post_id
             """;
 
+        try (Connection conn = Database.getConnection()) {
+            boolean wasAutoCommit = conn.getAutoCommit();
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                conn.setAutoCommit(false);
+
+                ps.setInt(1, replyId);
+                Integer postId = null;
+                int removed = 0;
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        postId = rs.getInt("post_id");
+                        removed++;
+                    }
+                }
+
+                if (postId != null) {
+                    adjustPostReplyCount(conn, postId, -removed);
+                }
+                conn.commit();
+                return postId != null;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(wasAutoCommit);
+            }
+        }
+    }
+
+    // Recount replies for every post in one statement and fix the counters that drifted; returns how many
+    public int reconcileReplyCounts() throws SQLException {
+        String sql = """
+            WITH actual AS (
+                SELECT p.post_id, COUNT(r.reply_id) AS replies
+                FROM Posts p
+                LEFT JOIN Replies r ON r.post_id = p.post_id
+                GROUP BY p.post_id
+            )
+            UPDATE Posts
+            SET number_of_replies = actual.replies
+            FROM actual
+            WHERE actual.post_id = Posts.post_id
+              AND Posts.number_of_replies IS NOT actual.replies
+            """;
+
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            return ps.executeUpdate();
+        }
+    }
+
+    private void adjustPostReplyCount(Connection conn, int postId, int delta) throws SQLException {
+        String sql = "UPDATE Posts SET number_of_replies = MAX(0, number_of_replies + ?) WHERE post_id = ?";
+
         try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, postId);
+            ps.setInt(1, delta);
             ps.setInt(2, postId);
             ps.executeUpdate();
         }
@@ -0,0 +1,177 @@
+package edu.northeastern.uniforum.forum.dao;
+
+import edu.northeastern.uniforum.forum.model.User;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Bounded, TTL-based cache of Users rows shared by every UserDAO instance. Entries are indexed by id,
+// username and email; callers always get a copy so mutating a returned User never leaks into the cache.
+public final class UserCache {
+
+    private static final int MAX_SIZE = Integer.getInteger("uniforum.users.cacheSize", 1000);
+    private static final long TTL_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong("uniforum.users.cacheTtlSeconds", 300));
+
+    private final Map<Integer, CachedUser> byId = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, CachedUser> eldest) {
+            if (size() <= MAX_SIZE) {
+                return false;
+            }
+            unindex(eldest.getValue().user);
+            evictions++;
+            return true;
+        }
+    };
+    private final Map<String, Integer> idByUsername = new HashMap<>();
+    private final Map<String, Integer> idByEmail = new HashMap<>();
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+    // Bumped by every invalidation; a row read before the latest write must not be cached
+    private long writeGeneration;
+
+    private static final class CachedUser {
+        private final User user;
+        private final long expiresAt;
+
+        private CachedUser(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class Holder {
+        private static final UserCache INSTANCE = new UserCache();
+    }
+
+    static UserCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private UserCache() {
+    }
+
+    synchronized User getById(int userId) {
+        return lookup(userId);
+    }
+
+    synchronized User getByUsername(String username) {
+        return lookup(username == null ? null : idByUsername.get(username));
+    }
+
+    synchronized User getByEmail(String email) {
+        return lookup(email == null ? null : idByEmail.get(email));
+    }
+
+    synchronized long currentGeneration() {
+        return writeGeneration;
+    }
+
+	// Cache a row read from the database, unless a write happened since `readGeneration` was taken
+	synchronized void put(User user, long readGeneration) {
+        if (user == null || readGeneration != writeGeneration) {
+            return;
+        }
+        CachedUser previous = byId.remove(user.getUserId());
+        if (previous != null) {
+            unindex(previous.user);
+        }
+
+        User copy = copyOf(user);
+        byId.put(copy.getUserId(), new CachedUser(copy, System.nanoTime() + TTL_NANOS));
+        if (copy.getUsername() != null) {
+            idByUsername.put(copy.getUsername(), copy.getUserId());
+        }
+        if (copy.getEmail() != null) {
+            idByEmail.put(copy.getEmail(), copy.getUserId());
+        }
+    }
+
+	// Drop a user after any write to their row
+	synchronized void invalidate(int userId) {
+        writeGeneration++;
+        CachedUser entry = byId.remove(userId);
+        if (entry != null) {
+            unindex(entry.user);
+            invalidations++;
+        }
+    }
+
+    synchronized void invalidateByEmail(String email) {
+        Integer userId = email == null ? null : idByEmail.get(email);
+        if (userId != null) {
+            invalidate(userId);
+        } else {
+            writeGeneration++;
+        }
+    }
+
+    synchronized Stats getStats() {
+        return new Stats(byId.size(), hits, misses, evictions, invalidations);
+    }
+
+    private User lookup(Integer userId) {
+        CachedUser entry = userId == null ? null : byId.get(userId);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt > 0) {
+            byId.remove(userId);
+            unindex(entry.user);
+            evictions++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return copyOf(entry.user);
+    }
+
+    // Remove the secondary keys, unless they have since been taken over by another cached user
+    private void unindex(User user) {
+        if (user.getUsername() != null) {
+            idByUsername.remove(user.getUsername(), user.getUserId());
+        }
+        if (user.getEmail() != null) {
+            idByEmail.remove(user.getEmail(), user.getUserId());
+        }
+    }
+
+    private static User copyOf(User user) {
+        return new User(user.getUserId(), user.getUsername(), user.getPasswordHash(), user.getEmail(),
+                user.getLinkedinUrl(), user.getGithubUrl(), user.getDepartment());
+    }
+
+    public static final class Stats {
+        private final int size;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long invalidations;
+
+        private Stats(int size, long hits, long misses, long evictions, long invalidations) {
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+        }
+
+        public int getSize() { return size; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public long getInvalidations() { return invalidations; }
+
+        @Override
+        public String toString() {
+            return String.format("size=%d hits=%d misses=%d evictions=%d invalidations=%d",
+                    size, hits, misses, evictions, invalidations);
+        }
+    }
+}
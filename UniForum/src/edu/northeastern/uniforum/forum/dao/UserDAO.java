@@ -8,6 +8,9 @@ import java.sql.SQLException;
 import java.sql.ResultSet;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 public class UserDAO {
 
@@ -20,6 +23,17 @@ public class UserDAO {
     private static final String SELECT_USER_BY_EMAIL_SQL =
             "SELECT user_id, user_name, PasswordHash, Email, LinkedInURL, GitHubURL, Department FROM Users WHERE Email = ?";
 
+    private static final String SELECT_USER_BY_ID_SQL =
+            "SELECT user_id, user_name, PasswordHash, Email, LinkedInURL, GitHubURL, Department FROM Users WHERE user_id = ?";
+
+    private static final String INSERT_MEMBERSHIP_SQL =
+            "INSERT OR IGNORE INTO Community_User (community_id, user_id) VALUES (?, ?)";
+
+    private static final String DELETE_MEMBERSHIP_SQL =
+            "DELETE FROM Community_User WHERE community_id = ? AND user_id = ?";
+
+    private static final UserCache CACHE = UserCache.getInstance();
+
 	// Register new user with validation and duplicate checking
 	public boolean registerUser(User user) {
         try (Connection connection = Database.getConnection();
@@ -47,17 +61,48 @@ public class UserDAO {
         }
     }
 
-	// Retrieve user by username for authentication
+	// Retrieve user by username for authentication; served from the shared user cache when possible
 	public User getUserByUsername(String username) {
+        User cached = CACHE.getByUsername(username);
+        if (cached != null) {
+            return cached;
+        }
+        return loadUser(SELECT_USER_BY_USERNAME_SQL, username, "Error fetching user: ");
+    }
+
+    public User getUserByEmail(String email) {
+        String trimmed = email == null ? null : email.trim();
+        User cached = CACHE.getByEmail(trimmed);
+        if (cached != null) {
+            return cached;
+        }
+        return loadUser(SELECT_USER_BY_EMAIL_SQL, trimmed, "Error fetching user by email: ");
+    }
+
+    public User getUserById(int userId) {
+        User cached = CACHE.getById(userId);
+        if (cached != null) {
+            return cached;
+        }
+        return loadUser(SELECT_USER_BY_ID_SQL, userId, "Error fetching user by id: ");
+    }
+
+    public static UserCache.Stats getCacheStats() {
+        return CACHE.getStats();
+    }
+
+    // Read one user row and remember it in the cache
+    private User loadUser(String sql, Object key, String errorPrefix) {
+        long generation = CACHE.currentGeneration();
 
         try (Connection connection = Database.getConnection();
-             PreparedStatement statement = connection.prepareStatement(SELECT_USER_BY_USERNAME_SQL)) {
+             PreparedStatement statement = connection.prepareStatement(sql)) {
 
-            statement.setString(1, username);
+            statement.setObject(1, key);
 
             try (ResultSet rs = statement.executeQuery()) {
                 if (rs.next()) {
-                    return new User(
+                    User user = new User(
                         rs.getInt("user_id"),
                         rs.getString("user_name"),
                         rs.getString("PasswordHash"),
@@ -66,35 +111,12 @@ public class UserDAO {
                         rs.getString("GitHubURL"),
                         rs.getString("Department")
                     );
+                    CACHE.put(user, generation);
+                    return user;
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error fetching user: " + e.getMessage());
-        }
-        return null;
-    }
-
-    public User getUserByEmail(String email) {
-        try (Connection connection = Database.getConnection();
-             PreparedStatement statement = connection.prepareStatement(SELECT_USER_BY_EMAIL_SQL)) {
-
-            statement.setString(1, email == null ? null : email.trim());
-
-            try (ResultSet rs = statement.executeQuery()) {
-                if (rs.next()) {
-                    return new User(
-                            rs.getInt("user_id"),
-                            rs.getString("user_name"),
-                            rs.getString("PasswordHash"),
-                            rs.getString("Email"),
-                            rs.getString("LinkedInURL"),
-                            rs.getString("GitHubURL"),
-                            rs.getString("Department")
-                    );
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error fetching user by email: " + e.getMessage());
+            System.err.println(errorPrefix + e.getMessage());
             e.printStackTrace();
         }
         return null;
@@ -124,17 +146,8 @@ public class UserDAO {
             return false;
         }
 
-        String sql = "INSERT OR IGNORE INTO Community_User (community_id, user_id) VALUES (?, ?)";
-        try (Connection connection = Database.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
-
-            for (Integer communityId : communityIds) {
-                statement.setInt(1, communityId);
-                statement.setInt(2, userId);
-                statement.addBatch();
-            }
-
-            statement.executeBatch();
+        try (Connection connection = Database.getConnection()) {
+            executeMembershipBatch(connection, INSERT_MEMBERSHIP_SQL, userId, communityIds);
             return true;
         } catch (SQLException e) {
             System.err.println("Error joining user to communities: " + e.getMessage());
@@ -166,17 +179,8 @@ public class UserDAO {
             return true;
         }
 
-        String sql = "DELETE FROM Community_User WHERE community_id = ? AND user_id = ?";
-        try (Connection connection = Database.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
-
-            for (Integer communityId : communityIds) {
-                statement.setInt(1, communityId);
-                statement.setInt(2, userId);
-                statement.addBatch();
-            }
-
-            statement.executeBatch();
+        try (Connection connection = Database.getConnection()) {
+            executeMembershipBatch(connection, DELETE_MEMBERSHIP_SQL, userId, communityIds);
             return true;
         } catch (SQLException e) {
             System.err.println("Error removing user from communities: " + e.getMessage());
@@ -185,40 +189,75 @@ public class UserDAO {
         }
     }
 
-    public boolean updateUserCommunities(int userId, List<Integer> newCommunityIds) {
-        try {
-            List<Integer> currentCommunities = getUserCommunities(userId);
+	// Replace the user's memberships with `newCommunityIds` atomically: one connection, one transaction,
+	// a hash-set diff against the current rows and one batch each for removals and additions
+	public boolean updateUserCommunities(int userId, List<Integer> newCommunityIds) {
+        Set<Integer> target = newCommunityIds == null ? Set.of() : new LinkedHashSet<>(newCommunityIds);
+
+        try (Connection connection = Database.getConnection()) {
+            boolean wasAutoCommit = connection.getAutoCommit();
+            try {
+                connection.setAutoCommit(false);
+
+                Set<Integer> current = new HashSet<>();
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "SELECT community_id FROM Community_User WHERE user_id = ?")) {
+                    statement.setInt(1, userId);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        while (rs.next()) {
+                            current.add(rs.getInt("community_id"));
+                        }
+                    }
+                }
 
-            List<Integer> toRemove = new ArrayList<>();
-            for (Integer currentId : currentCommunities) {
-                if (!newCommunityIds.contains(currentId)) {
-                    toRemove.add(currentId);
+                List<Integer> toRemove = new ArrayList<>();
+                for (Integer currentId : current) {
+                    if (!target.contains(currentId)) {
+                        toRemove.add(currentId);
+                    }
                 }
-            }
 
-            List<Integer> toAdd = new ArrayList<>();
-            for (Integer newId : newCommunityIds) {
-                if (!currentCommunities.contains(newId)) {
-                    toAdd.add(newId);
+                List<Integer> toAdd = new ArrayList<>();
+                for (Integer newId : target) {
+                    if (!current.contains(newId)) {
+                        toAdd.add(newId);
+                    }
                 }
-            }
 
-            if (!toRemove.isEmpty()) {
-                removeUserFromCommunities(userId, toRemove);
-            }
+                executeMembershipBatch(connection, DELETE_MEMBERSHIP_SQL, userId, toRemove);
+                executeMembershipBatch(connection, INSERT_MEMBERSHIP_SQL, userId, toAdd);
 
-            if (!toAdd.isEmpty()) {
-                joinUserToCommunities(userId, toAdd);
+                connection.commit();
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(wasAutoCommit);
             }
-
-            return true;
-        } catch (Exception e) {
+        } catch (SQLException e) {
             System.err.println("Error updating user communities: " + e.getMessage());
             e.printStackTrace();
             return false;
         }
     }
 
+    private static void executeMembershipBatch(Connection connection, String sql, int userId,
+                                               List<Integer> communityIds) throws SQLException {
+        if (communityIds.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (Integer communityId : communityIds) {
+                statement.setInt(1, communityId);
+                statement.setInt(2, userId);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
     public boolean updatePassword(int userId, String newPasswordHash) {
         String sql = "UPDATE Users SET PasswordHash = ? WHERE user_id = ?";
         try (Connection connection = Database.getConnection();
@@ -228,6 +267,7 @@ public class UserDAO {
             statement.setInt(2, userId);
 
             int rowsAffected = statement.executeUpdate();
+            CACHE.invalidate(userId);
             return rowsAffected == 1;
         } catch (SQLException e) {
             System.err.println("Error updating password: " + e.getMessage());
@@ -244,7 +284,9 @@ public class UserDAO {
             statement.setString(1, newPasswordHash);
             statement.setString(2, email);
 
-            return statement.executeUpdate() == 1;
+            int rowsAffected = statement.executeUpdate();
+            CACHE.invalidateByEmail(email);
+            return rowsAffected == 1;
         } catch (SQLException e) {
             System.err.println("Error updating password by email: " + e.getMessage());
             e.printStackTrace();
@@ -261,6 +303,7 @@ public class UserDAO {
             statement.setInt(2, userId);
 
             int rowsAffected = statement.executeUpdate();
+            CACHE.invalidate(userId);
             return rowsAffected == 1;
         } catch (SQLException e) {
             System.err.println("Error updating username: " + e.getMessage());
@@ -278,6 +321,7 @@ public class UserDAO {
             statement.setInt(2, userId);
 
             int rowsAffected = statement.executeUpdate();
+            CACHE.invalidate(userId);
             return rowsAffected == 1;
         } catch (SQLException e) {
             System.err.println("Error updating email: " + e.getMessage());
@@ -295,6 +339,7 @@ public class UserDAO {
             statement.setInt(2, userId);
 
             int rowsAffected = statement.executeUpdate();
+            CACHE.invalidate(userId);
             return rowsAffected == 1;
         } catch (SQLException e) {
             System.err.println("Error updating LinkedIn URL: " + e.getMessage());
@@ -312,6 +357,7 @@ public class UserDAO {
             statement.setInt(2, userId);
 
             int rowsAffected = statement.executeUpdate();
+            CACHE.invalidate(userId);
             return rowsAffected == 1;
         } catch (SQLException e) {
             System.err.println("Error updating GitHub URL: " + e.getMessage());
@@ -329,6 +375,7 @@ public class UserDAO {
             statement.setInt(2, userId);
 
             int rowsAffected = statement.executeUpdate();
+            CACHE.invalidate(userId);
             return rowsAffected == 1;
         } catch (SQLException e) {
             System.err.println("Error updating Department: " + e.getMessage());
@@ -337,41 +384,139 @@ public class UserDAO {
         }
     }
 
-	// Update multiple user fields in a single operation
-	public boolean updateUser(int userId, String newUsername, String newEmail, String newPasswordHash,
-                             String newLinkedinUrl, String newGithubUrl, String newDepartment) {
-        try {
-            boolean success = true;
+	// Update the given fields (null = unchanged) with one UPDATE in one transaction. A username or email
+	// already used by another account is reported per field and nothing is written.
+	public UpdateResult updateUser(int userId, String newUsername, String newEmail, String newPasswordHash,
+                                   String newLinkedinUrl, String newGithubUrl, String newDepartment) {
+        String username = newUsername != null && !newUsername.trim().isEmpty() ? newUsername.trim() : null;
+        String email = newEmail != null && !newEmail.trim().isEmpty() ? newEmail.trim() : null;
+
+        StringBuilder sql = new StringBuilder("UPDATE Users SET ");
+        List<Object> params = new ArrayList<>();
+        if (username != null) {
+            appendAssignment(sql, params, "user_name", username);
+        }
+        if (email != null) {
+            appendAssignment(sql, params, "Email", email);
+        }
+        if (newPasswordHash != null && !newPasswordHash.isEmpty()) {
+            appendAssignment(sql, params, "PasswordHash", newPasswordHash);
+        }
+        if (newLinkedinUrl != null) {
+            appendAssignment(sql, params, "LinkedInURL", newLinkedinUrl.isEmpty() ? null : newLinkedinUrl);
+        }
+        if (newGithubUrl != null) {
+            appendAssignment(sql, params, "GitHubURL", newGithubUrl.isEmpty() ? null : newGithubUrl);
+        }
+        if (newDepartment != null) {
+            appendAssignment(sql, params, "Department", newDepartment.isEmpty() ? null : newDepartment);
+        }
 
-            if (newUsername != null && !newUsername.trim().isEmpty()) {
-                success = updateUsername(userId, newUsername.trim()) && success;
-            }
+        if (params.isEmpty()) {
+            return UpdateResult.updated();
+        }
+        sql.append(" WHERE user_id = ?");
+        params.add(userId);
+
+        try (Connection connection = Database.getConnection()) {
+            boolean wasAutoCommit = connection.getAutoCommit();
+            try {
+                connection.setAutoCommit(false);
+
+                UpdateResult conflicts = findConflicts(connection, userId, username, email);
+                if (conflicts != null) {
+                    connection.rollback();
+                    return conflicts;
+                }
 
-            if (newEmail != null && !newEmail.trim().isEmpty()) {
-                success = updateEmail(userId, newEmail.trim()) && success;
-            }
+                int rowsAffected;
+                try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+                    for (int i = 0; i < params.size(); i++) {
+                        statement.setObject(i + 1, params.get(i));
+                    }
+                    rowsAffected = statement.executeUpdate();
+                }
 
-            if (newPasswordHash != null && !newPasswordHash.isEmpty()) {
-                success = updatePassword(userId, newPasswordHash) && success;
+                connection.commit();
+                return rowsAffected == 1 ? UpdateResult.updated() : UpdateResult.failed();
+            } catch (SQLException e) {
+                connection.rollback();
+                // a concurrent registration can still win the race; the UNIQUE constraint names the column
+                String message = e.getMessage() != null ? e.getMessage() : "";
+                if (message.contains("UNIQUE") && (message.contains("user_name") || message.contains("Email"))) {
+                    return UpdateResult.conflict(message.contains("user_name"), message.contains("Email"));
+                }
+                throw e;
+            } finally {
+                connection.setAutoCommit(wasAutoCommit);
+                CACHE.invalidate(userId);
             }
+        } catch (SQLException e) {
+            System.err.println("Error updating user: " + e.getMessage());
+            e.printStackTrace();
+            return UpdateResult.failed();
+        }
+    }
 
-            if (newLinkedinUrl != null) {
-                success = updateLinkedinUrl(userId, newLinkedinUrl) && success;
-            }
+    private static void appendAssignment(StringBuilder sql, List<Object> params, String column, Object value) {
+        if (!params.isEmpty()) {
+            sql.append(", ");
+        }
+        sql.append(column).append(" = ?");
+        params.add(value);
+    }
 
-            if (newGithubUrl != null) {
-                success = updateGithubUrl(userId, newGithubUrl) && success;
-            }
+    // Check both unique columns against other accounts in one query; null when neither is taken
+    private UpdateResult findConflicts(Connection connection, int userId, String username, String email) throws SQLException {
+        if (username == null && email == null) {
+            return null;
+        }
 
-            if (newDepartment != null) {
-                success = updateDepartment(userId, newDepartment) && success;
+        String sql = """
+            SELECT EXISTS (SELECT 1 FROM Users WHERE user_name = ? AND user_id <> ?),
+                   EXISTS (SELECT 1 FROM Users WHERE Email = ? AND user_id <> ?)
+            """;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, username);
+            statement.setInt(2, userId);
+            statement.setString(3, email);
+            statement.setInt(4, userId);
+
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                boolean usernameTaken = rs.getBoolean(1);
+                boolean emailTaken = rs.getBoolean(2);
+                return usernameTaken || emailTaken ? UpdateResult.conflict(usernameTaken, emailTaken) : null;
             }
+        }
+    }
 
-            return success;
-        } catch (Exception e) {
-            System.err.println("Error updating user: " + e.getMessage());
-            e.printStackTrace();
-            return false;
+    // Outcome of updateUser: written, rejected because a unique field is taken, or failed
+    public static class UpdateResult {
+        public final boolean updated;
+        public final boolean usernameTaken;
+        public final boolean emailTaken;
+
+        private UpdateResult(boolean updated, boolean usernameTaken, boolean emailTaken) {
+            this.updated = updated;
+            this.usernameTaken = usernameTaken;
+            this.emailTaken = emailTaken;
+        }
+
+        static UpdateResult updated() {
+            return new UpdateResult(true, false, false);
+        }
+
+        static UpdateResult failed() {
+            return new UpdateResult(false, false, false);
+        }
+
+        static UpdateResult conflict(boolean usernameTaken, boolean emailTaken) {
+            return new UpdateResult(false, usernameTaken, emailTaken);
+        }
+
+        public boolean hasConflict() {
+            return usernameTaken || emailTaken;
         }
     }
-}
\ No newline at end of file
+}
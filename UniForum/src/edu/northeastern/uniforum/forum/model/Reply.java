@@ -8,10 +8,32 @@ public class Reply {
     private String text;
     private List<Reply> children = new ArrayList<>();
 
+    private int replyId;
+    private int postId;
+    private Integer parentReplyId;
+    private String author;
+    private String timeAgo;
+    private String createdTime;
+    private int likes;
+    private int childCount;
+
     public Reply(String text) {
         this.text = text;
     }
 
+    public Reply(int replyId, int postId, Integer parentReplyId, String author, String text, String timeAgo,
+                 String createdTime, int likes, int childCount) {
+        this.replyId = replyId;
+        this.postId = postId;
+        this.parentReplyId = parentReplyId;
+        this.author = author;
+        this.text = text;
+        this.timeAgo = timeAgo;
+        this.createdTime = createdTime;
+        this.likes = likes;
+        this.childCount = childCount;
+    }
+
     public String getText() {
         return text;
     }
@@ -23,4 +45,46 @@ public class Reply {
     public void addChild(Reply reply) {
         children.add(reply);
     }
+
+    public int getReplyId() {
+        return replyId;
+    }
+
+    public int getPostId() {
+        return postId;
+    }
+
+    public Integer getParentReplyId() {
+        return parentReplyId;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public String getTimeAgo() {
+        return timeAgo;
+    }
+
+    // Raw created_time as stored, used as the keyset position when loading more siblings after this reply
+    public String getCreatedTime() {
+        return createdTime;
+    }
+
+    public int getLikes() {
+        return likes;
+    }
+
+    // Number of direct replies in the database; may exceed getChildren().size() until the rest are loaded
+    public int getChildCount() {
+        return childCount;
+    }
+
+    public void setChildCount(int childCount) {
+        this.childCount = childCount;
+    }
+
+    public boolean hasUnloadedChildren() {
+        return childCount > children.size();
+    }
 }
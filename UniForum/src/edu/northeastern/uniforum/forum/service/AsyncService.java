@@ -0,0 +1,143 @@
+package edu.northeastern.uniforum.forum.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+
+public final class AsyncService {
+
+    // Daemon platform threads used when virtual threads are unavailable (JDK 17-20)
+    private static final int PLATFORM_THREADS = Math.max(1, Integer.getInteger("uniforum.async.platformThreads", 8));
+
+    // One virtual thread per job on JDK 21+; the connection pool is what actually bounds concurrent DB work
+    private static final ExecutorService EXECUTOR = newTaskExecutor("uniforum-async-", PLATFORM_THREADS);
+
+    // Runs callbacks on the JavaFX Application Thread, inline when already on it
+    public static final Executor FX = command -> {
+        if (Platform.isFxApplicationThread()) {
+            command.run();
+        } else {
+            Platform.runLater(command);
+        }
+    };
+
+    private AsyncService() {
+    }
+
+	// Executor that starts one virtual thread per task on JDK 21+, and otherwise falls back to a fixed pool of
+	// `platformThreads` daemon threads. The virtual-thread API is looked up reflectively so the project still
+	// compiles and runs on JDK 17.
+	public static ExecutorService newTaskExecutor(String namePrefix, int platformThreads) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newFixedThreadPool(platformThreads, r -> {
+                Thread t = new Thread(r, namePrefix + count.getAndIncrement());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+	// Run blocking work (JDBC, bcrypt) off the FX thread; cancelling the future interrupts the worker
+	public static <T> CompletableFuture<T> supply(Callable<T> work) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Future<?> running = EXECUTOR.submit(() -> {
+            try {
+                future.complete(work.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                running.cancel(true);
+            }
+        });
+        return future;
+    }
+
+	// Task adapter: work runs in the background, exactly one callback runs on the FX thread
+	public static <T> Task<T> submit(Callable<T> work, Consumer<? super T> onSuccess, Consumer<Throwable> onFailure) {
+        Task<T> task = newTask(work);
+        task.setOnSucceeded(e -> onSuccess.accept(task.getValue()));
+        task.setOnFailed(e -> onFailure.accept(task.getException()));
+        EXECUTOR.execute(task);
+        return task;
+    }
+
+	// Unwrap the CompletionException/ExecutionException layers added by CompletableFuture stages
+	public static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static <T> Task<T> newTask(Callable<T> work) {
+        return new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return work.call();
+            }
+        };
+    }
+
+    // Keeps only the newest request of one kind alive; starting another cancels the previous one
+    // and any result it still produces is dropped. All methods must be called on the FX thread.
+    public static final class LatestRequest {
+        private Task<?> current;
+
+        public <T> Task<T> submit(Callable<T> work, Consumer<? super T> onSuccess, Consumer<Throwable> onFailure) {
+            cancel();
+
+            Task<T> task = newTask(work);
+            task.setOnSucceeded(e -> {
+                if (current == task) {
+                    current = null;
+                    onSuccess.accept(task.getValue());
+                }
+            });
+            task.setOnFailed(e -> {
+                if (current == task) {
+                    current = null;
+                    onFailure.accept(task.getException());
+                }
+            });
+
+            current = task;
+            EXECUTOR.execute(task);
+            return task;
+        }
+
+        public boolean isRunning() {
+            return current != null;
+        }
+
+        public void cancel() {
+            if (current != null) {
+                current.cancel(true);
+                current = null;
+            }
+        }
+    }
+}
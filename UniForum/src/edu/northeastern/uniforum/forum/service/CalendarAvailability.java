@@ -0,0 +1,314 @@
+package edu.northeastern.uniforum.forum.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.api.client.util.DateTime;
+import com.google.api.services.calendar.model.FreeBusyCalendar;
+import com.google.api.services.calendar.model.FreeBusyRequest;
+import com.google.api.services.calendar.model.FreeBusyRequestItem;
+import com.google.api.services.calendar.model.FreeBusyResponse;
+import com.google.api.services.calendar.model.TimePeriod;
+
+// Free/busy lookups for meeting scheduling. Busy intervals are cached per attendee for a short TTL, and each
+// query fetches whole days so that checking a time and then asking for other slots on the same day costs one
+// API call. Slot suggestions are computed locally from the cached intervals.
+public final class CalendarAvailability {
+
+    private static final long TTL_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong("uniforum.calendar.freeBusyTtlSeconds", 120));
+    private static final int CACHE_SIZE = Integer.getInteger("uniforum.calendar.freeBusyCacheSize", 500);
+    private static final LocalTime DAY_START = LocalTime.of(Integer.getInteger("uniforum.calendar.dayStartHour", 9), 0);
+    private static final LocalTime DAY_END = LocalTime.of(Integer.getInteger("uniforum.calendar.dayEndHour", 18), 0);
+    private static final Duration SLOT_STEP = Duration.ofMinutes(Integer.getInteger("uniforum.calendar.slotStepMinutes", 30));
+    // The freebusy endpoint accepts at most 50 calendars per query
+    private static final int MAX_CALENDARS_PER_QUERY = 50;
+
+    private final Callable<? extends CalendarClient> clientFactory;
+
+    private final Map<String, CachedBusy> cache = Collections.synchronizedMap(
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedBusy> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder queries = new LongAdder();
+
+    // A half-open [start, end) busy period
+    public static final class Interval {
+        public final Instant start;
+        public final Instant end;
+
+        public Interval(Instant start, Instant end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        boolean overlaps(Instant otherStart, Instant otherEnd) {
+            return start.isBefore(otherEnd) && otherStart.isBefore(end);
+        }
+    }
+
+    // Busy intervals of one attendee over the window [from, to) that was fetched
+    private static final class CachedBusy {
+        private final Instant from;
+        private final Instant to;
+        private final List<Interval> busy;
+        private final long expiresAt;
+
+        private CachedBusy(Instant from, Instant to, List<Interval> busy) {
+            this.from = from;
+            this.to = to;
+            this.busy = busy;
+            this.expiresAt = System.nanoTime() + TTL_NANOS;
+        }
+
+        private boolean covers(Instant start, Instant end) {
+            return System.nanoTime() - expiresAt < 0 && !from.isAfter(start) && !to.isBefore(end);
+        }
+    }
+
+    public CalendarAvailability(Callable<? extends CalendarClient> clientFactory) {
+        this.clientFactory = clientFactory;
+    }
+
+	// Merged busy intervals of all attendees that overlap [from, to), sorted by start. Calendars the API
+	// cannot see (e.g. outside the organization) count as free.
+	public List<Interval> getBusy(Collection<String> emails, ZonedDateTime from, ZonedDateTime to) throws Exception {
+        Instant start = from.toInstant();
+        Instant end = to.toInstant();
+
+        List<Interval> busy = new ArrayList<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String email : emails) {
+            String key = normalize(email);
+            CachedBusy cached = cache.get(key);
+            if (cached != null && cached.covers(start, end)) {
+                hits.increment();
+                busy.addAll(cached.busy);
+            } else {
+                misses.increment();
+                missing.add(key);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            ZoneId zone = from.getZone();
+            ZonedDateTime windowStart = from.toLocalDate().atStartOfDay(zone);
+            ZonedDateTime windowEnd = to.toLocalDate().plusDays(1).atStartOfDay(zone);
+            for (List<Interval> fetched : fetch(missing, windowStart, windowEnd).values()) {
+                busy.addAll(fetched);
+            }
+        }
+
+        List<Interval> overlapping = new ArrayList<>();
+        for (Interval interval : merge(busy)) {
+            if (interval.overlaps(start, end)) {
+                overlapping.add(interval);
+            }
+        }
+        return overlapping;
+    }
+
+	// True if no attendee is busy at any point of [start, end)
+	public boolean isFree(Collection<String> emails, ZonedDateTime start, ZonedDateTime end) throws Exception {
+        return getBusy(emails, start, end).isEmpty();
+    }
+
+	// Up to `limit` start times in [from, to) at which every attendee is free for `length`. Candidates are
+	// aligned to the slot step, fall inside working hours and do not overlap each other.
+	public List<ZonedDateTime> suggestSlots(Collection<String> emails, ZonedDateTime from, ZonedDateTime to,
+	                                        Duration length, int limit) throws Exception {
+        if (limit <= 0 || !from.isBefore(to)) {
+            return new ArrayList<>();
+        }
+        return freeSlots(getBusy(emails, from, to), from, to, length, limit);
+    }
+
+	// Check [start, end) and, if someone is busy, suggest up to `limit` slots of the same length before
+	// `searchUntil`, both from one lookup over [start, searchUntil). Returns null when everyone is free.
+	public List<ZonedDateTime> suggestIfBusy(Collection<String> emails, ZonedDateTime start, ZonedDateTime end,
+	                                         ZonedDateTime searchUntil, int limit) throws Exception {
+        List<Interval> busy = getBusy(emails, start, searchUntil.isAfter(end) ? searchUntil : end);
+        Instant meetingStart = start.toInstant();
+        Instant meetingEnd = end.toInstant();
+        for (Interval interval : busy) {
+            if (interval.overlaps(meetingStart, meetingEnd)) {
+                return freeSlots(busy, start, searchUntil, Duration.between(start, end), limit);
+            }
+        }
+        return null;
+    }
+
+    // Walk candidate starts through the sorted, merged busy intervals
+    private static List<ZonedDateTime> freeSlots(List<Interval> busy, ZonedDateTime from, ZonedDateTime to,
+                                                 Duration length, int limit) {
+        List<ZonedDateTime> slots = new ArrayList<>();
+        if (limit <= 0 || !from.isBefore(to)) {
+            return slots;
+        }
+
+        int next = 0;
+        ZonedDateTime candidate = alignToStep(from);
+
+        while (slots.size() < limit && !candidate.plus(length).isAfter(to)) {
+            LocalDate day = candidate.toLocalDate();
+            ZonedDateTime dayStart = day.atTime(DAY_START).atZone(candidate.getZone());
+            ZonedDateTime dayEnd = day.atTime(DAY_END).atZone(candidate.getZone());
+            if (candidate.isBefore(dayStart)) {
+                candidate = dayStart;
+                continue;
+            }
+            if (candidate.plus(length).isAfter(dayEnd)) {
+                candidate = day.plusDays(1).atTime(DAY_START).atZone(candidate.getZone());
+                continue;
+            }
+
+            Instant slotStart = candidate.toInstant();
+            Instant slotEnd = candidate.plus(length).toInstant();
+            while (next < busy.size() && !busy.get(next).end.isAfter(slotStart)) {
+                next++;
+            }
+            if (next < busy.size() && busy.get(next).overlaps(slotStart, slotEnd)) {
+                candidate = alignToStep(busy.get(next).end.atZone(candidate.getZone()));
+            } else {
+                slots.add(candidate);
+                candidate = alignToStep(candidate.plus(length));
+            }
+        }
+        return slots;
+    }
+
+	// Forget cached intervals, e.g. after creating a meeting for these attendees
+	public void invalidate(Collection<String> emails) {
+        for (String email : emails) {
+            cache.remove(normalize(email));
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(cache.size(), hits.sum(), misses.sum(), queries.sum());
+    }
+
+    // One freebusy query per 50 calendars; every fetched calendar is cached, busy or not
+    private Map<String, List<Interval>> fetch(Collection<String> emails, ZonedDateTime from, ZonedDateTime to)
+            throws Exception {
+        CalendarClient client = clientFactory.call();
+        Map<String, List<Interval>> result = new LinkedHashMap<>();
+        List<String> pending = new ArrayList<>(emails);
+
+        for (int i = 0; i < pending.size(); i += MAX_CALENDARS_PER_QUERY) {
+            List<FreeBusyRequestItem> items = new ArrayList<>();
+            for (String email : pending.subList(i, Math.min(i + MAX_CALENDARS_PER_QUERY, pending.size()))) {
+                items.add(new FreeBusyRequestItem().setId(email));
+            }
+
+            queries.increment();
+            FreeBusyResponse response = client.queryFreeBusy(new FreeBusyRequest()
+                    .setTimeMin(new DateTime(from.toInstant().toEpochMilli()))
+                    .setTimeMax(new DateTime(to.toInstant().toEpochMilli()))
+                    .setTimeZone(from.getZone().getId())
+                    .setItems(items));
+            Map<String, FreeBusyCalendar> calendars = response.getCalendars() != null ? response.getCalendars() : Map.of();
+
+            for (FreeBusyRequestItem item : items) {
+                List<Interval> busy = toIntervals(calendars.get(item.getId()));
+                cache.put(item.getId(), new CachedBusy(from.toInstant(), to.toInstant(), busy));
+                result.put(item.getId(), busy);
+            }
+        }
+        return result;
+    }
+
+    private static List<Interval> toIntervals(FreeBusyCalendar calendar) {
+        if (calendar == null || calendar.getBusy() == null) {
+            return List.of();
+        }
+        List<Interval> busy = new ArrayList<>(calendar.getBusy().size());
+        for (TimePeriod period : calendar.getBusy()) {
+            busy.add(new Interval(Instant.ofEpochMilli(period.getStart().getValue()),
+                    Instant.ofEpochMilli(period.getEnd().getValue())));
+        }
+        return List.copyOf(merge(busy));
+    }
+
+    // Sort by start and coalesce overlapping or touching intervals
+    private static List<Interval> merge(List<Interval> intervals) {
+        if (intervals.size() < 2) {
+            return intervals;
+        }
+        List<Interval> sorted = new ArrayList<>(intervals);
+        sorted.sort(Comparator.comparing(interval -> interval.start));
+
+        List<Interval> merged = new ArrayList<>(sorted.size());
+        Interval current = sorted.get(0);
+        for (int i = 1; i < sorted.size(); i++) {
+            Interval interval = sorted.get(i);
+            if (interval.start.isAfter(current.end)) {
+                merged.add(current);
+                current = interval;
+            } else if (interval.end.isAfter(current.end)) {
+                current = new Interval(current.start, interval.end);
+            }
+        }
+        merged.add(current);
+        return merged;
+    }
+
+    // Round up to the next multiple of the slot step within the hour (e.g. 10:07 -> 10:30)
+    private static ZonedDateTime alignToStep(ZonedDateTime time) {
+        ZonedDateTime hour = time.truncatedTo(ChronoUnit.HOURS);
+        long stepNanos = SLOT_STEP.toNanos();
+        long offset = Duration.between(hour, time).toNanos();
+        return hour.plusNanos((offset + stepNanos - 1) / stepNanos * stepNanos);
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static final class Stats {
+        private final int size;
+        private final long hits;
+        private final long misses;
+        private final long queries;
+
+        private Stats(int size, long hits, long misses, long queries) {
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.queries = queries;
+        }
+
+        public int getSize() { return size; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getQueries() { return queries; }
+
+        @Override
+        public String toString() {
+            return String.format("size=%d hits=%d misses=%d queries=%d", size, hits, misses, queries);
+        }
+    }
+}
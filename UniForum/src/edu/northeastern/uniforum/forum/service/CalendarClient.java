@@ -0,0 +1,49 @@
+package edu.northeastern.uniforum.forum.service;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.FreeBusyRequest;
+import com.google.api.services.calendar.model.FreeBusyResponse;
+
+// The Calendar API calls meeting scheduling needs. GoogleCalendarClient is the real implementation; any other
+// implementation (or a GoogleCalendarClient pointed at a local HTTP stub) can be handed to MeetingScheduler.
+public interface CalendarClient {
+
+	// Insert an event, creating its Meet conference and emailing the attendees
+	Event insertEvent(String calendarId, Event event) throws IOException;
+
+	Event getEvent(String calendarId, String eventId) throws IOException;
+
+	// Insert several events like insertEvent, as few HTTP round trips as the API allows. The results are in
+	// the order of `events`; one failed insert does not fail the others.
+	List<InsertResult> insertEvents(String calendarId, List<Event> events) throws IOException;
+
+	// Busy intervals of every calendar listed in the request
+	FreeBusyResponse queryFreeBusy(FreeBusyRequest request) throws IOException;
+
+    // Outcome of one insert in insertEvents: the created event, or the error the API returned for it
+    final class InsertResult {
+        public final Event event;
+        public final GoogleJsonError error;
+
+        private InsertResult(Event event, GoogleJsonError error) {
+            this.event = event;
+            this.error = error;
+        }
+
+        public static InsertResult created(Event event) {
+            return new InsertResult(event, null);
+        }
+
+        public static InsertResult failed(GoogleJsonError error) {
+            return new InsertResult(null, error);
+        }
+
+        public boolean isCreated() {
+            return event != null;
+        }
+    }
+}
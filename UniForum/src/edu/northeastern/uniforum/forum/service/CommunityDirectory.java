@@ -0,0 +1,104 @@
+package edu.northeastern.uniforum.forum.service;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.northeastern.uniforum.forum.dao.PostDAO;
+
+// In-memory copy of the Communities table. It is loaded on first use, served from memory after that, and
+// dropped by invalidate() whenever communities are inserted so the next lookup reloads it.
+public final class CommunityDirectory {
+
+    private final PostDAO postDAO = new PostDAO();
+    private volatile Snapshot snapshot;
+
+    private static final class Snapshot {
+        private final List<PostDAO.CommunityDTO> communities;
+        private final Map<String, Integer> idByName;
+        private final Map<Integer, String> nameById;
+
+        private Snapshot(List<PostDAO.CommunityDTO> communities) {
+            Map<String, Integer> ids = new HashMap<>(communities.size() * 2);
+            Map<Integer, String> names = new HashMap<>(communities.size() * 2);
+            for (PostDAO.CommunityDTO community : communities) {
+                ids.put(community.name, community.id);
+                names.put(community.id, community.name);
+            }
+            this.communities = Collections.unmodifiableList(communities);
+            this.idByName = Collections.unmodifiableMap(ids);
+            this.nameById = Collections.unmodifiableMap(names);
+        }
+    }
+
+    private static class Holder {
+        private static final CommunityDirectory INSTANCE = new CommunityDirectory();
+    }
+
+    public static CommunityDirectory getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private CommunityDirectory() {
+    }
+
+	// All communities ordered by name, as PostDAO.getAllCommunities returns them
+	public List<PostDAO.CommunityDTO> getAll() throws SQLException {
+        return load().communities;
+    }
+
+	// Community id for an exact name, or null if there is no such community
+	public Integer getIdByName(String name) throws SQLException {
+        return name == null ? null : load().idByName.get(name);
+    }
+
+    public String getNameById(int communityId) throws SQLException {
+        return load().nameById.get(communityId);
+    }
+
+	// Read-only name -> id view of the current snapshot
+	public Map<String, Integer> getIdsByName() throws SQLException {
+        return load().idByName;
+    }
+
+	// name -> id for every name, creating the missing communities in one batched transaction. Answered from
+	// memory when all of them already exist; otherwise the snapshot is invalidated after the insert.
+	public Map<String, Integer> ensureCommunities(Collection<String> names, int moderatorId) throws SQLException {
+        Map<String, Integer> known = load().idByName;
+        Map<String, Integer> ids = new LinkedHashMap<>();
+        for (String name : names) {
+            Integer id = known.get(name);
+            if (id == null) {
+                Map<String, Integer> created = postDAO.createCommunities(names, moderatorId);
+                invalidate();
+                return created;
+            }
+            ids.put(name, id);
+        }
+        return ids;
+    }
+
+	// Drop the cached table; call after inserting communities. Synchronized so a load that started
+	// before the insert cannot publish its stale result afterwards.
+	public synchronized void invalidate() {
+        snapshot = null;
+    }
+
+    private Snapshot load() throws SQLException {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = new Snapshot(postDAO.getAllCommunities());
+            }
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package edu.northeastern.uniforum.forum.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import edu.northeastern.uniforum.forum.dao.CourseDAO;
+
+// In-memory index of the Courses table: department -> courses sorted by name, course -> department,
+// and a sorted name index for prefix search. Loaded once and rebuilt only after an import.
+public final class CourseCatalog {
+
+    private final CourseDAO courseDAO = new CourseDAO();
+    private volatile Index index;
+
+    private static final class Index {
+        private final List<String> departments;
+        private final Map<String, List<String>> coursesByDepartment;
+        private final Map<String, String> departmentByCourse;
+        private final List<String> allCourses;
+        // lower-cased name -> name; all names starting with a prefix form one contiguous key range
+        private final TreeMap<String, String> byLowerName = new TreeMap<>();
+
+        private Index(List<CourseDAO.CourseDTO> courses) {
+            Map<String, List<String>> byDepartment = new TreeMap<>();
+            Map<String, String> departmentOf = new HashMap<>(courses.size() * 2);
+            List<String> names = new ArrayList<>(courses.size());
+
+            for (CourseDAO.CourseDTO course : courses) {
+                byDepartment.computeIfAbsent(course.department, d -> new ArrayList<>()).add(course.name);
+                departmentOf.put(course.name, course.department);
+                names.add(course.name);
+                byLowerName.put(course.name.toLowerCase(Locale.ROOT), course.name);
+            }
+
+            for (Map.Entry<String, List<String>> entry : byDepartment.entrySet()) {
+                Collections.sort(entry.getValue());
+                entry.setValue(Collections.unmodifiableList(entry.getValue()));
+            }
+            Collections.sort(names);
+
+            this.departments = List.copyOf(byDepartment.keySet());
+            this.coursesByDepartment = Collections.unmodifiableMap(byDepartment);
+            this.departmentByCourse = Collections.unmodifiableMap(departmentOf);
+            this.allCourses = Collections.unmodifiableList(names);
+        }
+    }
+
+    private static class Holder {
+        private static final CourseCatalog INSTANCE = new CourseCatalog();
+    }
+
+    public static CourseCatalog getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private CourseCatalog() {
+    }
+
+	// Department codes in alphabetical order
+	public List<String> getDepartments() throws SQLException {
+        return load().departments;
+    }
+
+	// Courses of one department sorted by name; the same list instance is returned on every call
+	public List<String> getCourses(String department) throws SQLException {
+        List<String> courses = department == null ? null : load().coursesByDepartment.get(department);
+        return courses != null ? courses : List.of();
+    }
+
+    public List<String> getAllCourses() throws SQLException {
+        return load().allCourses;
+    }
+
+	// Department a course belongs to, or null if it is not in the catalog
+	public String getDepartment(String courseName) throws SQLException {
+        return courseName == null ? null : load().departmentByCourse.get(courseName);
+    }
+
+	// Case-insensitive prefix search over course names (e.g. "info 51"), at most `limit` results in name order
+	public List<String> search(String prefix, int limit) throws SQLException {
+        List<String> matches = new ArrayList<>();
+        if (prefix == null || prefix.isBlank() || limit <= 0) {
+            return matches;
+        }
+
+        String from = prefix.trim().toLowerCase(Locale.ROOT);
+        for (String name : load().byLowerName.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+            matches.add(name);
+            if (matches.size() == limit) {
+                break;
+            }
+        }
+        return matches;
+    }
+
+	// Bulk-load a catalog CSV with a department,code,title row per section (an optional header row whose
+	// first column is "department" is skipped). Returns how many new courses were added.
+	public int importCsv(Reader source) throws IOException, SQLException {
+        List<CourseDAO.CourseDTO> courses = new ArrayList<>();
+        BufferedReader reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            List<String> fields = parseCsvLine(line);
+            if (lineNumber == 1 && fields.get(0).equalsIgnoreCase("department")) {
+                continue;
+            }
+            if (fields.size() < 3 || fields.get(0).isEmpty() || fields.get(1).isEmpty() || fields.get(2).isEmpty()) {
+                System.err.println("Skipping malformed course catalog line " + lineNumber + ": " + line);
+                continue;
+            }
+            courses.add(new CourseDAO.CourseDTO(fields.get(0), fields.get(1), fields.get(2)));
+        }
+
+        int inserted = courseDAO.importCourses(courses);
+        invalidate();
+        return inserted;
+    }
+
+	// Bulk-load a catalog CSV file; see importCsv(Reader)
+	public int importCsv(Path file) throws IOException, SQLException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importCsv(reader);
+        }
+    }
+
+	// Drop the in-memory index so the next call reloads the table
+	public synchronized void invalidate() {
+        index = null;
+    }
+
+    private Index load() throws SQLException {
+        Index current = index;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (index == null) {
+                if (courseDAO.ensureTable()) {
+                    System.err.println("Courses table was missing; created it with the default sections");
+                }
+                index = new Index(courseDAO.getAllCourses());
+            }
+            return index;
+        }
+    }
+
+    // Split one CSV record; fields may be double-quoted, with "" as an escaped quote. Fields are trimmed.
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
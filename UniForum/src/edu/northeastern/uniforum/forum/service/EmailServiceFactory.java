@@ -2,19 +2,34 @@ package edu.northeastern.uniforum.forum.service;
 
 public final class EmailServiceFactory {
 
-    private static EmailService INSTANCE;
+    private static class Holder {
+        private static final ServiceRegistry.Service<EmailService> SERVICE =
+                ServiceRegistry.register("EmailService", EmailServiceFactory::create);
+    }
 
     private EmailServiceFactory() {
     }
 
-    public static EmailService getInstance() {
-        if (INSTANCE == null) {
-            INSTANCE = new ConsoleEmailService();
+	// Queued SMTP delivery when uniforum.mail.host is set, otherwise the console debug service
+	public static EmailService getInstance() {
+        try {
+            return Holder.SERVICE.get();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not create the email service", e);
         }
-        return INSTANCE;
+    }
+
+	// Registry slot, for warming the service up at startup
+	public static ServiceRegistry.Service<EmailService> service() {
+        return Holder.SERVICE;
     }
 
     public static void setCustomService(EmailService service) {
-        INSTANCE = service;
+        Holder.SERVICE.override(service);
+    }
+
+    private static EmailService create() {
+        SmtpConnection.SmtpSettings settings = SmtpConnection.SmtpSettings.fromSystemProperties();
+        return settings != null ? new QueuedEmailService(settings) : new ConsoleEmailService();
     }
 }
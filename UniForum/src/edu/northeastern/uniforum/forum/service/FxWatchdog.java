@@ -0,0 +1,95 @@
+package edu.northeastern.uniforum.forum.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javafx.application.Platform;
+
+public final class FxWatchdog {
+
+    private static final long THRESHOLD_MS = Long.getLong("uniforum.fx.watchdogThresholdMs", 250);
+    private static final long POLL_MS = Math.max(10, THRESHOLD_MS / 4);
+
+    private static final AtomicBoolean STARTED = new AtomicBoolean(false);
+    private static final LongAdder STALLS = new LongAdder();
+    private static final AtomicLong LONGEST_STALL_MS = new AtomicLong();
+
+    // nanoTime at which the outstanding ping was posted, 0 when none is pending
+    private static volatile long pingPostedAt = 0;
+    private static volatile boolean stallReported = false;
+    private static volatile Thread fxThread;
+
+    private FxWatchdog() {
+    }
+
+	// Start the watchdog thread; safe to call more than once
+	public static void start() {
+        if (!STARTED.compareAndSet(false, true)) {
+            return;
+        }
+        Thread watchdog = new Thread(FxWatchdog::watch, "fx-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+    }
+
+	// Number of times the FX thread was blocked longer than the threshold
+	public static long getStallCount() {
+        return STALLS.sum();
+    }
+
+	public static long getLongestStallMillis() {
+        return LONGEST_STALL_MS.get();
+    }
+
+    // Posts a ping to the FX thread and reports when it is not answered within the threshold
+    private static void watch() {
+        while (true) {
+            long posted = pingPostedAt;
+            if (posted == 0) {
+                pingPostedAt = System.nanoTime();
+                try {
+                    Platform.runLater(FxWatchdog::pong);
+                } catch (IllegalStateException e) {
+                    return; // toolkit has exited
+                }
+            } else {
+                long blockedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - posted);
+                if (blockedMs >= THRESHOLD_MS && !stallReported) {
+                    stallReported = true;
+                    reportStall(blockedMs);
+                }
+            }
+
+            try {
+                Thread.sleep(POLL_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private static void pong() {
+        fxThread = Thread.currentThread();
+        long blockedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pingPostedAt);
+        if (stallReported) {
+            STALLS.increment();
+            LONGEST_STALL_MS.accumulateAndGet(blockedMs, Math::max);
+            System.err.println("FX thread responsive again after " + blockedMs + " ms");
+        }
+        stallReported = false;
+        pingPostedAt = 0;
+    }
+
+    private static void reportStall(long blockedMs) {
+        System.err.println("FX thread blocked for " + blockedMs + " ms (threshold " + THRESHOLD_MS + " ms)");
+        Thread thread = fxThread;
+        if (thread == null) {
+            return;
+        }
+        for (StackTraceElement frame : thread.getStackTrace()) {
+            System.err.println("\tat " + frame);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package edu.northeastern.uniforum.forum.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.services.calendar.Calendar;
+import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.FreeBusyRequest;
+import com.google.api.services.calendar.model.FreeBusyResponse;
+
+// CalendarClient backed by the generated Google Calendar API client. Build the Calendar with a different root
+// URL (Calendar.Builder.setRootUrl) to run against a local stub server.
+public class GoogleCalendarClient implements CalendarClient {
+
+    // The Calendar batch endpoint accepts at most 50 calls per request
+    private static final int MAX_BATCH_SIZE = 50;
+
+    private final Calendar calendar;
+
+    public GoogleCalendarClient(Calendar calendar) {
+        this.calendar = calendar;
+    }
+
+	@Override
+	public Event insertEvent(String calendarId, Event event) throws IOException {
+        return insertRequest(calendarId, event).execute();
+    }
+
+	@Override
+	public Event getEvent(String calendarId, String eventId) throws IOException {
+        return calendar.events().get(calendarId, eventId).execute();
+    }
+
+	// One multipart request to the batch endpoint per 50 events
+	@Override
+	public List<InsertResult> insertEvents(String calendarId, List<Event> events) throws IOException {
+        InsertResult[] results = new InsertResult[events.size()];
+
+        for (int from = 0; from < events.size(); from += MAX_BATCH_SIZE) {
+            BatchRequest batch = calendar.batch();
+            int to = Math.min(from + MAX_BATCH_SIZE, events.size());
+            for (int i = from; i < to; i++) {
+                int index = i;
+                insertRequest(calendarId, events.get(i)).queue(batch, new JsonBatchCallback<Event>() {
+                    @Override
+                    public void onSuccess(Event created, HttpHeaders responseHeaders) {
+                        results[index] = InsertResult.created(created);
+                    }
+
+                    @Override
+                    public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+                        results[index] = InsertResult.failed(error);
+                    }
+                });
+            }
+            batch.execute();
+        }
+        return new ArrayList<>(Arrays.asList(results));
+    }
+
+	@Override
+	public FreeBusyResponse queryFreeBusy(FreeBusyRequest request) throws IOException {
+        return calendar.freebusy().query(request).execute();
+    }
+
+    private Calendar.Events.Insert insertRequest(String calendarId, Event event) throws IOException {
+        return calendar.events()
+                .insert(calendarId, event)
+                .setConferenceDataVersion(1)
+                .setSendUpdates("all");
+    }
+}
@@ -0,0 +1,345 @@
+package edu.northeastern.uniforum.forum.service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpResponseException;
+import com.google.api.client.util.DateTime;
+import com.google.api.services.calendar.model.ConferenceData;
+import com.google.api.services.calendar.model.ConferenceSolutionKey;
+import com.google.api.services.calendar.model.CreateConferenceRequest;
+import com.google.api.services.calendar.model.EntryPoint;
+import com.google.api.services.calendar.model.Event;
+import com.google.api.services.calendar.model.EventAttendee;
+import com.google.api.services.calendar.model.EventDateTime;
+
+// Creates Google Meet events off the FX thread. Each request runs on its own thread (virtual on JDK 21+), at
+// most MAX_CONCURRENT at a time, and is failed with a TimeoutException after TIMEOUT_SECONDS. Cancelling the
+// returned future interrupts the call. Rate limits and 5xx replies are retried with exponential backoff; the event id is chosen
+// up front, so a retry after a lost response finds the already-created event instead of creating a second one.
+public final class MeetingScheduler {
+
+    private static final int MAX_CONCURRENT = Math.max(1, Integer.getInteger("uniforum.meetings.maxConcurrent", 4));
+    private static final long TIMEOUT_SECONDS = Long.getLong("uniforum.meetings.timeoutSeconds", 120);
+    private static final int MAX_ATTEMPTS = Math.max(1, Integer.getInteger("uniforum.meetings.maxAttempts", 4));
+    private static final long BACKOFF_MS = Long.getLong("uniforum.meetings.backoffMs", 500);
+    private static final long MAX_BACKOFF_MS = Long.getLong("uniforum.meetings.maxBackoffMs", 8000);
+
+    private static final String CALENDAR_ID = "primary";
+    private static final Set<Integer> TRANSIENT_STATUS = Set.of(429, 500, 502, 503, 504);
+    private static final Set<String> RATE_LIMIT_REASONS = Set.of("rateLimitExceeded", "userRateLimitExceeded");
+
+    private final Callable<? extends CalendarClient> clientFactory;
+    private final ExecutorService executor = AsyncService.newTaskExecutor("meeting-", MAX_CONCURRENT);
+    private final Semaphore permits = new Semaphore(MAX_CONCURRENT);
+
+    public static final class MeetingRequest {
+        public final String summary;
+        public final String description;
+        public final ZonedDateTime start;
+        public final ZonedDateTime end;
+        public final List<String> attendeeEmails;
+
+        public MeetingRequest(String summary, String description, ZonedDateTime start, ZonedDateTime end,
+                              List<String> attendeeEmails) {
+            this.summary = summary;
+            this.description = description;
+            this.start = start;
+            this.end = end;
+            this.attendeeEmails = List.copyOf(attendeeEmails);
+        }
+    }
+
+    // Outcome of one meeting in scheduleAll: the created event and its Meet link, or why it failed
+    public static final class ScheduledMeeting {
+        public final MeetingRequest request;
+        public final String eventId;
+        public final String meetLink;
+        public final String error;
+
+        private ScheduledMeeting(MeetingRequest request, String eventId, String meetLink, String error) {
+            this.request = request;
+            this.eventId = eventId;
+            this.meetLink = meetLink;
+            this.error = error;
+        }
+
+        private static ScheduledMeeting created(MeetingRequest request, String eventId, String meetLink) {
+            return new ScheduledMeeting(request, eventId, meetLink, null);
+        }
+
+        private static ScheduledMeeting failed(MeetingRequest request, String error) {
+            return new ScheduledMeeting(request, null, null, error);
+        }
+
+        public boolean isCreated() {
+            return eventId != null;
+        }
+    }
+
+	// `clientFactory` is called once per request; it may block, e.g. on the first OAuth consent
+	public MeetingScheduler(Callable<? extends CalendarClient> clientFactory) {
+        this.clientFactory = clientFactory;
+    }
+
+	// Create the meeting in the background and complete with its Meet link. Fails immediately with a
+	// RejectedExecutionException when MAX_CONCURRENT requests are already running.
+	public CompletableFuture<String> schedule(MeetingRequest request) {
+        return submit(() -> createMeeting(request));
+    }
+
+	// Create a series of meetings (e.g. weekly office hours) through the batch endpoint, one HTTP round trip
+	// per 50 meetings. Completes with one outcome per request, in order; only the failed ones are retried.
+	public CompletableFuture<List<ScheduledMeeting>> scheduleAll(List<MeetingRequest> requests) {
+        List<MeetingRequest> copy = List.copyOf(requests);
+        return submit(() -> createMeetings(copy));
+    }
+
+	// Stop accepting requests and interrupt the ones in flight
+	public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // The permit is released exactly once, when the returned future completes: normally, exceptionally, by
+    // timeout, or by the caller cancelling it, including before the task ever started. A timed-out or cancelled
+    // call is interrupted, so its slot is handed on while the interrupted thread winds down.
+    private <T> CompletableFuture<T> submit(Callable<T> work) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (!permits.tryAcquire()) {
+            future.completeExceptionally(new RejectedExecutionException("Too many meetings are being scheduled; try again shortly"));
+            return future;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable releasePermit = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+
+        Future<?> running;
+        try {
+            running = executor.submit(() -> {
+                try {
+                    future.complete(work.call());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                } finally {
+                    releasePermit.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            releasePermit.run();
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        future.orTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS).whenComplete((result, error) -> {
+            // cancelled by the caller or timed out: stop the API call instead of letting it finish unseen
+            if (error != null) {
+                running.cancel(true);
+            }
+            releasePermit.run();
+        });
+        return future;
+    }
+
+    private String createMeeting(MeetingRequest request) throws Exception {
+        CalendarClient client = clientFactory.call();
+        Event event = buildEvent(request);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return meetLink(client.insertEvent(CALENDAR_ID, event));
+            } catch (HttpResponseException e) {
+                if (e.getStatusCode() == 409 && attempt > 1) {
+                    // an earlier attempt went through but its response was lost
+                    return meetLink(client.getEvent(CALENDAR_ID, event.getId()));
+                }
+                if (!isTransient(e) || attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                backOff(attempt, e);
+            } catch (InterruptedIOException e) {
+                if (Thread.currentThread().isInterrupted() || attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                backOff(attempt, e); // socket timeout
+            }
+        }
+    }
+
+    // Batch insert; each round resends only the events that failed with a transient error
+    private List<ScheduledMeeting> createMeetings(List<MeetingRequest> requests) throws Exception {
+        CalendarClient client = clientFactory.call();
+        List<Event> events = new ArrayList<>(requests.size());
+        List<Integer> pending = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            events.add(buildEvent(requests.get(i)));
+            pending.add(i);
+        }
+        ScheduledMeeting[] outcomes = new ScheduledMeeting[requests.size()];
+
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            List<Event> batch = new ArrayList<>(pending.size());
+            for (int index : pending) {
+                batch.add(events.get(index));
+            }
+
+            List<CalendarClient.InsertResult> results;
+            try {
+                results = client.insertEvents(CALENDAR_ID, batch);
+            } catch (HttpResponseException e) {
+                if (!isTransient(e) || attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                backOff(attempt, e);
+                continue;
+            } catch (InterruptedIOException e) {
+                if (Thread.currentThread().isInterrupted() || attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                backOff(attempt, e);
+                continue;
+            }
+
+            List<Integer> retry = new ArrayList<>();
+            String lastError = null;
+            for (int k = 0; k < pending.size(); k++) {
+                int index = pending.get(k);
+                CalendarClient.InsertResult result = results.get(k);
+                MeetingRequest request = requests.get(index);
+
+                if (result == null) {
+                    outcomes[index] = ScheduledMeeting.failed(request, "No response from the batch endpoint");
+                } else if (result.isCreated()) {
+                    outcomes[index] = ScheduledMeeting.created(request, result.event.getId(), findMeetLink(result.event));
+                } else if (result.error.getCode() == 409 && attempt > 1) {
+                    outcomes[index] = recoverLost(client, request, events.get(index).getId());
+                } else if (attempt < MAX_ATTEMPTS && isTransient(result.error.getCode(), result.error)) {
+                    retry.add(index);
+                    lastError = result.error.getCode() + " " + result.error.getMessage();
+                } else {
+                    outcomes[index] = ScheduledMeeting.failed(request, result.error.getCode() + " " + result.error.getMessage());
+                }
+            }
+
+            pending = retry;
+            if (!pending.isEmpty()) {
+                backOff(attempt, new IOException(pending.size() + " batched inserts failed: " + lastError));
+            }
+        }
+        return List.of(outcomes);
+    }
+
+    // A retried insert hit 409: the earlier attempt created the event, so look it up instead
+    private static ScheduledMeeting recoverLost(CalendarClient client, MeetingRequest request, String eventId)
+            throws InterruptedIOException {
+        try {
+            Event existing = client.getEvent(CALENDAR_ID, eventId);
+            return ScheduledMeeting.created(request, existing.getId(), findMeetLink(existing));
+        } catch (InterruptedIOException e) {
+            throw e;
+        } catch (IOException e) {
+            return ScheduledMeeting.failed(request, e.getMessage());
+        }
+    }
+
+    private static Event buildEvent(MeetingRequest request) {
+        List<EventAttendee> attendees = new ArrayList<>(request.attendeeEmails.size());
+        for (String email : request.attendeeEmails) {
+            attendees.add(new EventAttendee().setEmail(email));
+        }
+
+        String zone = request.start.getZone().getId();
+        String requestId = UUID.randomUUID().toString().replace("-", "");
+        return new Event()
+                // event ids use base32hex (0-9, a-v); hex digits are a subset of it
+                .setId("uf" + requestId)
+                .setSummary(request.summary)
+                .setDescription(request.description)
+                .setStart(new EventDateTime()
+                        .setDateTime(new DateTime(request.start.toInstant().toEpochMilli()))
+                        .setTimeZone(zone))
+                .setEnd(new EventDateTime()
+                        .setDateTime(new DateTime(request.end.toInstant().toEpochMilli()))
+                        .setTimeZone(zone))
+                .setAttendees(attendees)
+                .setConferenceData(new ConferenceData().setCreateRequest(new CreateConferenceRequest()
+                        .setRequestId("meet-" + requestId)
+                        .setConferenceSolutionKey(new ConferenceSolutionKey().setType("hangoutsMeet"))));
+    }
+
+    private static String meetLink(Event created) throws IOException {
+        String link = findMeetLink(created);
+        if (link == null) {
+            throw new IOException("Event " + created.getId() + " was created but has no Google Meet link");
+        }
+        return link;
+    }
+
+    // The video entry point of the conference, falling back to the legacy hangoutLink; null if neither is set
+    private static String findMeetLink(Event created) {
+        if (created.getConferenceData() != null && created.getConferenceData().getEntryPoints() != null) {
+            for (EntryPoint entryPoint : created.getConferenceData().getEntryPoints()) {
+                if ("video".equals(entryPoint.getEntryPointType()) && entryPoint.getUri() != null) {
+                    return entryPoint.getUri();
+                }
+            }
+        }
+        if (created.getHangoutLink() != null && !created.getHangoutLink().isEmpty()) {
+            return created.getHangoutLink();
+        }
+        return null;
+    }
+
+    private static boolean isTransient(HttpResponseException e) {
+        return isTransient(e.getStatusCode(), e instanceof GoogleJsonResponseException json ? json.getDetails() : null);
+    }
+
+    // 429/5xx, or a 403 whose reason is a rate limit
+    private static boolean isTransient(int status, GoogleJsonError details) {
+        if (TRANSIENT_STATUS.contains(status)) {
+            return true;
+        }
+        if (status == 403 && details != null && details.getErrors() != null) {
+            for (GoogleJsonError.ErrorInfo info : details.getErrors()) {
+                if (RATE_LIMIT_REASONS.contains(info.getReason())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Sleep BACKOFF_MS * 2^(attempt - 1), capped and with up to 25% jitter
+    private static void backOff(int attempt, IOException cause) throws IOException {
+        long delay = Math.min(MAX_BACKOFF_MS, BACKOFF_MS << Math.min(attempt - 1, 20));
+        delay += ThreadLocalRandom.current().nextLong(delay / 4 + 1);
+        System.err.println("Calendar call failed (attempt " + attempt + "), retrying in " + delay + " ms: " + cause.getMessage());
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException interrupted = new InterruptedIOException("Meeting scheduling was cancelled");
+            interrupted.initCause(cause);
+            throw interrupted;
+        }
+    }
+}
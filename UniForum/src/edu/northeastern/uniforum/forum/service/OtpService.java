@@ -1,59 +1,342 @@
 package edu.northeastern.uniforum.forum.service;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.security.SecureRandom;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 public final class OtpService {
 
     private static final SecureRandom RANDOM = new SecureRandom();
     private static final int OTP_LENGTH = 6;
     private static final Duration OTP_EXPIRY = Duration.ofMinutes(10);
+    private static final int MAX_ENTRIES = Integer.getInteger("uniforum.otp.maxEntries", 10_000);
+    private static final long SWEEP_SECONDS = Long.getLong("uniforum.otp.sweepSeconds", 30);
+
     private static final Map<String, OtpRecord> OTP_STORE = new ConcurrentHashMap<>();
+    // Every issued record in issue order. All codes share one lifetime, so this is also deadline order: the
+    // sweeper and the capacity bound only ever look at the head. Entries already verified, invalidated or
+    // replaced stay queued until they reach the head and are then dropped.
+    private static final Queue<OtpRecord> ISSUE_ORDER = new ConcurrentLinkedQueue<>();
+    // ConcurrentLinkedQueue.size() is a full traversal, so the queue length is tracked separately
+    private static final AtomicInteger QUEUED = new AtomicInteger();
+
+    // Token buckets keyed by normalized email or by origin; idle ones are dropped by the sweeper
+    private static final Limit SEND_EMAIL_LIMIT = new Limit("sendPerEmail", 3, 5, 0);
+    private static final Limit SEND_ORIGIN_LIMIT = new Limit("sendPerOrigin", 10, 30, 0);
+    private static final Limit VERIFY_EMAIL_LIMIT = new Limit("verifyPerEmail", 5, 10, 15);
+    private static final Limit VERIFY_ORIGIN_LIMIT = new Limit("verifyPerOrigin", 20, 60, 15);
+    private static final Map<String, TokenBucket> SEND_BY_EMAIL = new ConcurrentHashMap<>();
+    private static final Map<String, TokenBucket> SEND_BY_ORIGIN = new ConcurrentHashMap<>();
+    private static final Map<String, TokenBucket> VERIFY_BY_EMAIL = new ConcurrentHashMap<>();
+    private static final Map<String, TokenBucket> VERIFY_BY_ORIGIN = new ConcurrentHashMap<>();
+    private static final String LOCAL_ORIGIN = resolveLocalOrigin();
+
+    private static final LongAdder ISSUED = new LongAdder();
+    private static final LongAdder EXPIRED = new LongAdder();
+    private static final LongAdder EVICTED = new LongAdder();
+    private static final LongAdder SEND_THROTTLED = new LongAdder();
+    private static final LongAdder VERIFY_THROTTLED = new LongAdder();
+    private static final LongAdder LOCKOUTS = new LongAdder();
+
+    private static final ScheduledExecutorService SWEEPER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "otp-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        SWEEPER.scheduleWithFixedDelay(OtpService::sweepExpired, SWEEP_SECONDS, SWEEP_SECONDS, TimeUnit.SECONDS);
+    }
 
     private OtpService() {
     }
 
-	// Generate 6-digit OTP with 10-minute expiry
-	public static String generateOtp(String email) {
+	// Issue a code for `email` unless the address or the requesting origin is over its send rate
+	public static OtpRequest requestOtp(String email, String origin) {
         String normalizedEmail = normalize(email);
-        String otp = String.format("%06d", RANDOM.nextInt(1_000_000));
-        OTP_STORE.put(normalizedEmail, new OtpRecord(otp, Instant.now().plus(OTP_EXPIRY)));
-        return otp;
+        long now = System.nanoTime();
+
+        long retryAfter = acquire(SEND_BY_EMAIL, SEND_EMAIL_LIMIT, normalizedEmail, now);
+        if (retryAfter == 0) {
+            retryAfter = acquire(SEND_BY_ORIGIN, SEND_ORIGIN_LIMIT, normalizeOrigin(origin), now);
+        }
+        if (retryAfter > 0) {
+            SEND_THROTTLED.increment();
+            return new OtpRequest(null, toSeconds(retryAfter));
+        }
+        return new OtpRequest(issueOtp(normalizedEmail), 0);
     }
 
-	// Verify OTP and remove from store if valid or expired
-	public static boolean verifyOtp(String email, String otp) {
+	// Check a code, counting the attempt against the address and the origin. When the address runs out of
+	// attempts it is locked out and its outstanding code is discarded, so guessing cannot continue with it.
+	public static Verification verifyOtp(String email, String origin, String otp) {
         String normalizedEmail = normalize(email);
+        long now = System.nanoTime();
+
+        long retryAfter = acquire(VERIFY_BY_EMAIL, VERIFY_EMAIL_LIMIT, normalizedEmail, now);
+        if (retryAfter > 0) {
+            VERIFY_THROTTLED.increment();
+            OTP_STORE.remove(normalizedEmail);
+            return Verification.LOCKED_OUT;
+        }
+        retryAfter = acquire(VERIFY_BY_ORIGIN, VERIFY_ORIGIN_LIMIT, normalizeOrigin(origin), now);
+        if (retryAfter > 0) {
+            VERIFY_THROTTLED.increment();
+            return Verification.LOCKED_OUT;
+        }
+
+        if (!checkCode(normalizedEmail, otp)) {
+            return Verification.INVALID;
+        }
+        // a successful reset should not leave the next one short of attempts
+        VERIFY_BY_EMAIL.remove(normalizedEmail);
+        return Verification.VALID;
+    }
+
+	// Identifier for requests coming from this machine; the desktop client has no remote address to key on
+	public static String localOrigin() {
+        return LOCAL_ORIGIN;
+    }
+
+    // Generate 6-digit OTP with 10-minute expiry; the oldest codes are evicted once the store is full
+    private static String issueOtp(String normalizedEmail) {
+        String otp = String.format("%0" + OTP_LENGTH + "d", RANDOM.nextInt(1_000_000));
+        OtpRecord record = new OtpRecord(normalizedEmail, otp, Instant.now().plus(OTP_EXPIRY));
+
+        OTP_STORE.put(normalizedEmail, record);
+        ISSUE_ORDER.add(record);
+        QUEUED.incrementAndGet();
+        ISSUED.increment();
+        enforceCapacity();
+        return otp;
+    }
+
+    // Verify OTP and remove from store if valid or expired
+    private static boolean checkCode(String normalizedEmail, String otp) {
         OtpRecord record = OTP_STORE.get(normalizedEmail);
 
         if (record == null || record.isExpired()) {
-            OTP_STORE.remove(normalizedEmail);
+            if (record != null && OTP_STORE.remove(normalizedEmail, record)) {
+                EXPIRED.increment();
+            }
             return false;
         }
         boolean valid = record.code.equals(otp);
         if (valid) {
-            OTP_STORE.remove(normalizedEmail);
+            OTP_STORE.remove(normalizedEmail, record);
         }
         return valid;
     }
 
+    // Take one token from the key's bucket; 0 when allowed, otherwise nanos until the next attempt may pass
+    private static long acquire(Map<String, TokenBucket> buckets, Limit limit, String key, long now) {
+        TokenBucket bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(limit, now));
+        long retryAfter = bucket.tryAcquire(now);
+        if (retryAfter < 0) {
+            LOCKOUTS.increment();
+            return -retryAfter;
+        }
+        return retryAfter;
+    }
+
 	// Manually invalidate OTP for security purposes
 	public static void invalidateOtp(String email) {
         OTP_STORE.remove(normalize(email));
     }
 
+    public static Stats getStats() {
+        return new Stats(OTP_STORE.size(), ISSUED.sum(), EXPIRED.sum(), EVICTED.sum(),
+                SEND_THROTTLED.sum(), VERIFY_THROTTLED.sum(), LOCKOUTS.sum());
+    }
+
+    // Drop every record whose deadline has passed and every bucket that has refilled; runs on the sweeper thread
+    private static synchronized void sweepExpired() {
+        try {
+            OtpRecord head;
+            while ((head = ISSUE_ORDER.peek()) != null && head.isExpired()) {
+                ISSUE_ORDER.poll();
+                QUEUED.decrementAndGet();
+                if (OTP_STORE.remove(head.email, head)) {
+                    EXPIRED.increment();
+                }
+            }
+            long now = System.nanoTime();
+            for (Map<String, TokenBucket> buckets : List.of(SEND_BY_EMAIL, SEND_BY_ORIGIN, VERIFY_BY_EMAIL, VERIFY_BY_ORIGIN)) {
+                buckets.values().removeIf(bucket -> bucket.isIdle(now));
+            }
+        } catch (RuntimeException e) {
+            System.err.println("OTP sweep failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    // Evict oldest-first until the store is back under its bound. Queue removals (here, in the sweep and in
+    // compaction) are serialized on the class so QUEUED stays exact.
+    private static synchronized void enforceCapacity() {
+        if (QUEUED.get() > 2 * MAX_ENTRIES) {
+            compactQueue();
+        }
+        while (OTP_STORE.size() > MAX_ENTRIES) {
+            OtpRecord oldest = ISSUE_ORDER.poll();
+            if (oldest == null) {
+                return;
+            }
+            QUEUED.decrementAndGet();
+            if (OTP_STORE.remove(oldest.email, oldest)) {
+                EVICTED.increment();
+            }
+        }
+    }
+
+    // Drop queued records that were verified, invalidated or superseded, so repeated requests for one address
+    // cannot grow the queue. Runs at most once per MAX_ENTRIES issued codes, so the scan is amortized O(1).
+    private static void compactQueue() {
+        Iterator<OtpRecord> it = ISSUE_ORDER.iterator();
+        while (it.hasNext()) {
+            OtpRecord record = it.next();
+            if (OTP_STORE.get(record.email) != record) {
+                it.remove();
+                QUEUED.decrementAndGet();
+            }
+        }
+    }
+
     private static String normalize(String email) {
         return email == null ? "" : email.trim().toLowerCase();
     }
 
+    private static String normalizeOrigin(String origin) {
+        return origin == null || origin.isBlank() ? LOCAL_ORIGIN : origin.trim();
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private static String resolveLocalOrigin() {
+        try {
+            return System.getProperty("user.name", "unknown") + "@" + InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return System.getProperty("user.name", "unknown") + "@localhost";
+        }
+    }
+
+    // Result of requestOtp: the code to send, or how long the caller has to wait
+    public static final class OtpRequest {
+        public final String otp;
+        public final long retryAfterSeconds;
+
+        private OtpRequest(String otp, long retryAfterSeconds) {
+            this.otp = otp;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public boolean isAllowed() {
+            return otp != null;
+        }
+    }
+
+    public enum Verification {
+        VALID,
+        INVALID,
+        LOCKED_OUT
+    }
+
+    // Bucket size, refill rate and the lockout applied once a bucket runs dry
+    private static final class Limit {
+        private final double burst;
+        private final double tokensPerNano;
+        private final long lockoutNanos;
+
+        private Limit(String name, int defaultBurst, int defaultPerHour, int defaultLockoutMinutes) {
+            this.burst = Math.max(1, Integer.getInteger("uniforum.otp." + name + ".burst", defaultBurst));
+            int perHour = Math.max(1, Integer.getInteger("uniforum.otp." + name + ".perHour", defaultPerHour));
+            this.tokensPerNano = perHour / (double) TimeUnit.HOURS.toNanos(1);
+            this.lockoutNanos = TimeUnit.MINUTES.toNanos(
+                    Integer.getInteger("uniforum.otp." + name + ".lockoutMinutes", defaultLockoutMinutes));
+        }
+    }
+
+    // Lock-free token bucket: the whole state is one immutable snapshot swapped with compareAndSet
+    private static final class TokenBucket {
+        private final Limit limit;
+        private final AtomicReference<BucketState> state;
+
+        private TokenBucket(Limit limit, long now) {
+            this.limit = limit;
+            this.state = new AtomicReference<>(new BucketState(limit.burst, now, 0));
+        }
+
+        // 0 if a token was taken; otherwise nanos until one is available, negated when this call started a lockout
+        private long tryAcquire(long now) {
+            while (true) {
+                BucketState current = state.get();
+                if (now - current.lockedUntil < 0) {
+                    return current.lockedUntil - now;
+                }
+
+                double tokens = Math.min(limit.burst,
+                        current.tokens + Math.max(0, now - current.updatedAt) * limit.tokensPerNano);
+                BucketState next;
+                long result;
+                if (tokens >= 1) {
+                    next = new BucketState(tokens - 1, now, 0);
+                    result = 0;
+                } else if (limit.lockoutNanos > 0) {
+                    next = new BucketState(tokens, now, now + limit.lockoutNanos);
+                    result = -limit.lockoutNanos;
+                } else {
+                    next = new BucketState(tokens, now, 0);
+                    result = (long) Math.ceil((1 - tokens) / limit.tokensPerNano);
+                }
+
+                if (state.compareAndSet(current, next)) {
+                    return result;
+                }
+            }
+        }
+
+        // Full and not locked out, so forgetting it changes nothing
+        private boolean isIdle(long now) {
+            BucketState current = state.get();
+            double tokens = current.tokens + Math.max(0, now - current.updatedAt) * limit.tokensPerNano;
+            return tokens >= limit.burst && now - current.lockedUntil >= 0;
+        }
+    }
+
+    private static final class BucketState {
+        private final double tokens;
+        private final long updatedAt;
+        private final long lockedUntil;
+
+        private BucketState(double tokens, long updatedAt, long lockedUntil) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+            this.lockedUntil = lockedUntil;
+        }
+    }
+
     private static final class OtpRecord {
+        private final String email;
         private final String code;
         private final Instant expiresAt;
 
-        private OtpRecord(String code, Instant expiresAt) {
+        private OtpRecord(String email, String code, Instant expiresAt) {
+            this.email = email;
             this.code = code;
             this.expiresAt = expiresAt;
         }
@@ -62,4 +345,39 @@ public final class OtpService {
             return Instant.now().isAfter(expiresAt);
         }
     }
+
+    public static final class Stats {
+        private final int live;
+        private final long issued;
+        private final long expired;
+        private final long evicted;
+        private final long sendThrottled;
+        private final long verifyThrottled;
+        private final long lockouts;
+
+        private Stats(int live, long issued, long expired, long evicted,
+                      long sendThrottled, long verifyThrottled, long lockouts) {
+            this.live = live;
+            this.issued = issued;
+            this.expired = expired;
+            this.evicted = evicted;
+            this.sendThrottled = sendThrottled;
+            this.verifyThrottled = verifyThrottled;
+            this.lockouts = lockouts;
+        }
+
+        public int getLive() { return live; }
+        public long getIssued() { return issued; }
+        public long getExpired() { return expired; }
+        public long getEvicted() { return evicted; }
+        public long getSendThrottled() { return sendThrottled; }
+        public long getVerifyThrottled() { return verifyThrottled; }
+        public long getLockouts() { return lockouts; }
+
+        @Override
+        public String toString() {
+            return String.format("live=%d issued=%d expired=%d evicted=%d sendThrottled=%d verifyThrottled=%d lockouts=%d",
+                    live, issued, expired, evicted, sendThrottled, verifyThrottled, lockouts);
+        }
+    }
 }
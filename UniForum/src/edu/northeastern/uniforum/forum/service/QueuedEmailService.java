@@ -0,0 +1,288 @@
+package edu.northeastern.uniforum.forum.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// EmailService that only enqueues: callers (the FX thread included) return immediately and a small pool of
+// workers delivers through the SMTP relay. Each worker keeps its own relay session open and sends everything
+// it drains from the queue over it. Transient failures are retried with exponential backoff; messages that
+// fail permanently or run out of attempts are appended to a dead-letter log.
+public final class QueuedEmailService implements EmailService {
+
+    private static final int QUEUE_CAPACITY = Integer.getInteger("uniforum.mail.queueCapacity", 500);
+    private static final int WORKERS = Math.max(1, Integer.getInteger("uniforum.mail.workers", 2));
+    private static final int BATCH_SIZE = Math.max(1, Integer.getInteger("uniforum.mail.batchSize", 20));
+    private static final int MAX_ATTEMPTS = Math.max(1, Integer.getInteger("uniforum.mail.maxAttempts", 4));
+    private static final long BACKOFF_MS = Long.getLong("uniforum.mail.backoffMs", 1000);
+    private static final long MAX_BACKOFF_MS = Long.getLong("uniforum.mail.maxBackoffMs", 60_000);
+    private static final long IDLE_CLOSE_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong("uniforum.mail.idleCloseSeconds", 30));
+    private static final Path DEAD_LETTER_LOG = Path.of(System.getProperty("uniforum.mail.deadLetterFile", "mail-dead-letter.log"));
+
+    private static final String OTP_SUBJECT = "Your UniForum password reset code";
+    private static final String OTP_BODY = """
+            Your UniForum password reset code is %s.
+
+            It expires in 10 minutes. If you did not request a password reset, you can ignore this email.
+            """;
+
+    private final SmtpConnection.SmtpSettings settings;
+    private final String from;
+    private final BlockingQueue<OutgoingMail> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final ScheduledExecutorService retryScheduler;
+    private final List<Thread> workers = new ArrayList<>(WORKERS);
+    private final LatencyWindow latencies = new LatencyWindow(1024);
+    private volatile boolean running = true;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private static final class OutgoingMail {
+        private final String to;
+        private final String subject;
+        private final String body;
+        private int attempts;
+
+        private OutgoingMail(String to, String subject, String body) {
+            this.to = to;
+            this.subject = subject;
+            this.body = body;
+        }
+    }
+
+    QueuedEmailService(SmtpConnection.SmtpSettings settings) {
+        this.settings = settings;
+        this.from = System.getProperty("uniforum.mail.from", "no-reply@uniforum.local");
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "mail-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (int i = 0; i < WORKERS; i++) {
+            Thread worker = new Thread(this::runWorker, "mail-worker-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+	// Queue the OTP email; fails fast instead of blocking the caller when the queue is full
+	@Override
+	public void sendOtpEmail(String recipientEmail, String otp) {
+        enqueue(new OutgoingMail(recipientEmail, OTP_SUBJECT, OTP_BODY.formatted(otp)));
+    }
+
+	// Stop accepting mail, let the workers drain the queue for up to `timeout`, then close their sessions.
+	// Messages still waiting for a retry are dropped.
+	public void shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        running = false;
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Thread worker : workers) {
+            TimeUnit.NANOSECONDS.timedJoin(worker, Math.max(1, deadline - System.nanoTime()));
+        }
+        List<Runnable> pendingRetries = retryScheduler.shutdownNow();
+        if (!pendingRetries.isEmpty()) {
+            System.err.println("Mail queue shut down with " + pendingRetries.size() + " retries pending");
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(queue.size(), enqueued.sum(), sent.sum(), retried.sum(), deadLettered.sum(),
+                rejected.sum(), latencies.messagesPerSecond(), latencies.p99Millis());
+    }
+
+    private void enqueue(OutgoingMail mail) {
+        if (!running) {
+            throw new IllegalStateException("Mail queue has been shut down");
+        }
+        if (!queue.offer(mail)) {
+            rejected.increment();
+            throw new IllegalStateException("Mail queue is full");
+        }
+        enqueued.increment();
+    }
+
+    // Worker loop: take a message, drain up to a batch behind it and send them all over one session
+    private void runWorker() {
+        List<OutgoingMail> batch = new ArrayList<>(BATCH_SIZE);
+        SmtpConnection connection = new SmtpConnection(settings);
+        try {
+            while (running || !queue.isEmpty()) {
+                OutgoingMail first;
+                try {
+                    first = queue.poll(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (first == null) {
+                    // relays drop idle clients anyway; close politely instead of failing the next send
+                    if (connection.isOpen() && System.nanoTime() - connection.getLastUsedAt() > IDLE_CLOSE_NANOS) {
+                        connection.close();
+                    }
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                for (OutgoingMail mail : batch) {
+                    deliver(connection, mail);
+                }
+                batch.clear();
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    private void deliver(SmtpConnection connection, OutgoingMail mail) {
+        long start = System.nanoTime();
+        mail.attempts++;
+        try {
+            connection.open();
+            connection.send(from, mail.to, mail.subject, mail.body);
+            latencies.record(System.nanoTime() - start);
+            sent.increment();
+        } catch (SmtpConnection.SmtpException e) {
+            if (e.isPermanent()) {
+                deadLetter(mail, e.getMessage());
+            } else {
+                retryLater(mail, e);
+            }
+        } catch (IOException e) {
+            retryLater(mail, e);
+        }
+    }
+
+    // Re-queue after BACKOFF_MS * 2^(attempts - 1), capped and with up to 25% jitter
+    private void retryLater(OutgoingMail mail, IOException error) {
+        if (mail.attempts >= MAX_ATTEMPTS || !running) {
+            deadLetter(mail, error.getMessage());
+            return;
+        }
+
+        long delay = Math.min(MAX_BACKOFF_MS, BACKOFF_MS << Math.min(mail.attempts - 1, 20));
+        delay += ThreadLocalRandom.current().nextLong(delay / 4 + 1);
+        retried.increment();
+        retryScheduler.schedule(() -> {
+            if (!queue.offer(mail)) {
+                deadLetter(mail, "queue full on retry after: " + error.getMessage());
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    // The body is left out on purpose: it carries the one-time code
+    private synchronized void deadLetter(OutgoingMail mail, String reason) {
+        deadLettered.increment();
+        String entry = String.format("%s\tto=%s\tsubject=%s\tattempts=%d\terror=%s%n",
+                Instant.now(), mail.to, mail.subject, mail.attempts, reason);
+        System.err.print("Mail dead-lettered: " + entry);
+        try {
+            Files.writeString(DEAD_LETTER_LOG, entry, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Could not write mail dead-letter log: " + e.getMessage());
+        }
+    }
+
+    // Send latency and completion time of the last `capacity` delivered messages
+    private static final class LatencyWindow {
+        private static final long RATE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+        private final long[] latencyNanos;
+        private final long[] completedAt;
+        private final long createdAt = System.nanoTime();
+        private int next;
+        private int count;
+
+        private LatencyWindow(int capacity) {
+            this.latencyNanos = new long[capacity];
+            this.completedAt = new long[capacity];
+        }
+
+        synchronized void record(long nanos) {
+            latencyNanos[next] = nanos;
+            completedAt[next] = System.nanoTime();
+            next = (next + 1) % latencyNanos.length;
+            count = Math.min(count + 1, latencyNanos.length);
+        }
+
+        // Deliveries per second over the last minute (or since start, if that is shorter)
+        synchronized double messagesPerSecond() {
+            long now = System.nanoTime();
+            int recent = 0;
+            for (int i = 0; i < count; i++) {
+                if (now - completedAt[i] <= RATE_WINDOW_NANOS) {
+                    recent++;
+                }
+            }
+            long window = Math.max(1, Math.min(RATE_WINDOW_NANOS, now - createdAt));
+            return recent / (window / 1e9);
+        }
+
+        synchronized double p99Millis() {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencyNanos, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(count * 0.99) - 1;
+            return sorted[index] / 1e6;
+        }
+    }
+
+    public static final class Stats {
+        private final int queueDepth;
+        private final long enqueued;
+        private final long sent;
+        private final long retried;
+        private final long deadLettered;
+        private final long rejected;
+        private final double messagesPerSecond;
+        private final double p99LatencyMillis;
+
+        private Stats(int queueDepth, long enqueued, long sent, long retried, long deadLettered, long rejected,
+                      double messagesPerSecond, double p99LatencyMillis) {
+            this.queueDepth = queueDepth;
+            this.enqueued = enqueued;
+            this.sent = sent;
+            this.retried = retried;
+            this.deadLettered = deadLettered;
+            this.rejected = rejected;
+            this.messagesPerSecond = messagesPerSecond;
+            this.p99LatencyMillis = p99LatencyMillis;
+        }
+
+        public int getQueueDepth() { return queueDepth; }
+        public long getEnqueued() { return enqueued; }
+        public long getSent() { return sent; }
+        public long getRetried() { return retried; }
+        public long getDeadLettered() { return deadLettered; }
+        public long getRejected() { return rejected; }
+        public double getMessagesPerSecond() { return messagesPerSecond; }
+        public double getP99LatencyMillis() { return p99LatencyMillis; }
+
+        @Override
+        public String toString() {
+            return String.format("queue=%d enqueued=%d sent=%d retried=%d deadLettered=%d rejected=%d rate=%.1f/s p99=%.1fms",
+                    queueDepth, enqueued, sent, retried, deadLettered, rejected, messagesPerSecond, p99LatencyMillis);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package edu.northeastern.uniforum.forum.service;
+
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import edu.northeastern.uniforum.forum.dao.ReplyDAO;
+
+// Posts.number_of_replies is maintained incrementally; this periodically recounts in bulk and repairs drift
+// (e.g. rows edited by hand or by an older client that still recomputed counts)
+public final class ReplyCountReconciler {
+
+    private static final long INTERVAL_MINUTES = Long.getLong("uniforum.replies.reconcileMinutes", 30);
+    private static final long INITIAL_DELAY_MINUTES = 1;
+
+    private static final AtomicBoolean STARTED = new AtomicBoolean(false);
+    private static final ReplyDAO REPLY_DAO = new ReplyDAO();
+
+    private ReplyCountReconciler() {
+    }
+
+	// Schedule the reconciler on a daemon thread; safe to call more than once
+	public static void start() {
+        if (!STARTED.compareAndSet(false, true)) {
+            return;
+        }
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "reply-count-reconciler");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(ReplyCountReconciler::reconcile, INITIAL_DELAY_MINUTES, INTERVAL_MINUTES,
+                TimeUnit.MINUTES);
+    }
+
+	// Run one pass now; returns the number of posts whose counter was repaired
+	public static int reconcile() {
+        try {
+            long start = System.nanoTime();
+            int repaired = REPLY_DAO.reconcileReplyCounts();
+            if (repaired > 0) {
+                System.err.println("Repaired reply counters on " + repaired + " posts in "
+                        + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+            }
+            return repaired;
+        } catch (SQLException e) {
+            System.err.println("Reply counter reconciliation failed: " + e.getMessage());
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package edu.northeastern.uniforum.forum.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Initialize-once slots for expensive shared services (mail relay, Google Calendar client). Owners keep their
+// slot in a lazy holder class; the first get() builds the service while concurrent callers wait for it, and
+// the build time is recorded. A failed build is not cached, so e.g. an abandoned OAuth consent can be retried.
+public final class ServiceRegistry {
+
+    private static final List<Service<?>> SERVICES = new CopyOnWriteArrayList<>();
+
+    private ServiceRegistry() {
+    }
+
+    public static final class Service<T> {
+        private final String name;
+        private final Callable<? extends T> factory;
+        private volatile T instance;
+        private volatile long initNanos = -1;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private Service(String name, Callable<? extends T> factory) {
+            this.name = name;
+            this.factory = factory;
+        }
+
+		// The service, built on the first call; later calls are a single volatile read. Waiting callers block
+		// on a ReentrantLock rather than a monitor so a virtual thread waiting out a slow build (e.g. a pending
+		// OAuth consent) unmounts instead of pinning its carrier, and can be interrupted.
+		public T get() throws Exception {
+            T current = instance;
+            if (current != null) {
+                return current;
+            }
+
+            lock.lockInterruptibly();
+            try {
+                if (instance == null) {
+                    long start = System.nanoTime();
+                    T built = factory.call();
+                    if (built == null) {
+                        throw new IllegalStateException(name + " factory returned null");
+                    }
+                    initNanos = System.nanoTime() - start;
+                    instance = built;
+                    System.out.printf("%s initialized in %d ms%n", name, TimeUnit.NANOSECONDS.toMillis(initNanos));
+                }
+                return instance;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+		// Replace the instance, e.g. with a test double; no build time is recorded for it
+		public void override(T replacement) {
+            lock.lock();
+            try {
+                instance = replacement;
+                initNanos = -1;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isInitialized() {
+            return instance != null;
+        }
+
+		// How long the factory took, or -1 if the service has not been built by this slot
+		public long getInitMillis() {
+            long nanos = initNanos;
+            return nanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(nanos);
+        }
+    }
+
+	// Create a slot; nothing is built until get() or warmUpInBackground
+	public static <T> Service<T> register(String name, Callable<? extends T> factory) {
+        Service<T> service = new Service<>(name, factory);
+        SERVICES.add(service);
+        return service;
+    }
+
+	// Build the given services one after another on a daemon thread so the first real use does not pay for it.
+	// Failures are only logged; the service is built again on its next get().
+	public static void warmUpInBackground(Service<?>... services) {
+        Thread warmUp = new Thread(() -> {
+            for (Service<?> service : services) {
+                try {
+                    service.get();
+                } catch (Exception e) {
+                    System.err.println("Warm-up of " + service.getName() + " failed: " + e.getMessage());
+                }
+            }
+        }, "service-warmup");
+        warmUp.setDaemon(true);
+        warmUp.start();
+    }
+
+	// name -> build time in ms (-1 if not built yet) for every registered service, in registration order
+	public static Map<String, Long> getInitTimes() {
+        Map<String, Long> times = new LinkedHashMap<>();
+        for (Service<?> service : SERVICES) {
+            times.put(service.getName(), service.getInitMillis());
+        }
+        return times;
+    }
+}
@@ -0,0 +1,230 @@
+package edu.northeastern.uniforum.forum.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+// One plain SMTP session (RFC 5321) kept open across messages: EHLO, optional STARTTLS and AUTH LOGIN once,
+// then one MAIL/RCPT/DATA transaction per message. Not thread-safe; each mail worker owns its own connection.
+final class SmtpConnection implements AutoCloseable {
+
+    private final SmtpSettings settings;
+    private Socket socket;
+    private BufferedReader in;
+    private OutputStream out;
+    private long lastUsedAt;
+
+    // Reply from the relay that was not 2xx/3xx; 5xx replies are permanent and must not be retried
+    static final class SmtpException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private final int code;
+
+        SmtpException(int code, String reply) {
+            super(reply);
+            this.code = code;
+        }
+
+        boolean isPermanent() {
+            return code >= 500;
+        }
+    }
+
+    SmtpConnection(SmtpSettings settings) {
+        this.settings = settings;
+    }
+
+    boolean isOpen() {
+        return socket != null && !socket.isClosed();
+    }
+
+    long getLastUsedAt() {
+        return lastUsedAt;
+    }
+
+	// Connect, greet and authenticate; a no-op when the session is already open
+	void open() throws IOException {
+        if (isOpen()) {
+            return;
+        }
+        try {
+            socket = new Socket();
+            socket.connect(new InetSocketAddress(settings.host, settings.port), settings.connectTimeoutMs);
+            socket.setSoTimeout(settings.readTimeoutMs);
+            bindStreams();
+
+            expect(220);
+            command("EHLO " + settings.heloName, 250);
+            if (settings.startTls) {
+                command("STARTTLS", 220);
+                SSLSocket tls = (SSLSocket) ((SSLSocketFactory) SSLSocketFactory.getDefault())
+                        .createSocket(socket, settings.host, settings.port, true);
+                tls.startHandshake();
+                socket = tls;
+                bindStreams();
+                command("EHLO " + settings.heloName, 250);
+            }
+            if (settings.username != null) {
+                command("AUTH LOGIN", 334);
+                command(base64(settings.username), 334);
+                command(base64(settings.password == null ? "" : settings.password), 235);
+            }
+            lastUsedAt = System.nanoTime();
+        } catch (IOException e) {
+            abort();
+            throw e;
+        }
+    }
+
+	// Send one message over the open session; a failed transaction is reset so the session stays usable
+	void send(String from, String to, String subject, String body) throws IOException {
+        try {
+            command("MAIL FROM:<" + from + ">", 250);
+            command("RCPT TO:<" + to + ">", 250);
+            command("DATA", 354);
+            write(formatMessage(from, to, subject, body));
+            expect(250);
+            lastUsedAt = System.nanoTime();
+        } catch (SmtpException e) {
+            reset();
+            throw e;
+        } catch (IOException e) {
+            abort();
+            throw e;
+        }
+    }
+
+	// Say QUIT and close; errors are ignored because the session is being discarded anyway
+	@Override
+	public void close() {
+        if (isOpen()) {
+            try {
+                command("QUIT", 221);
+            } catch (IOException ignored) {
+                // relay may already have dropped the connection
+            }
+        }
+        abort();
+    }
+
+    private void reset() {
+        try {
+            command("RSET", 250);
+        } catch (IOException e) {
+            abort();
+        }
+    }
+
+    private void abort() {
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // nothing left to release
+            }
+        }
+        socket = null;
+        in = null;
+        out = null;
+    }
+
+    private void bindStreams() throws IOException {
+        in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        out = socket.getOutputStream();
+    }
+
+    private void command(String line, int expectedCode) throws IOException {
+        write(line + "\r\n");
+        expect(expectedCode);
+    }
+
+    private void write(String data) throws IOException {
+        out.write(data.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    // Read a possibly multi-line reply ("250-..." continued, "250 ..." final) and check its code
+    private void expect(int expectedCode) throws IOException {
+        String line;
+        do {
+            line = in.readLine();
+            if (line == null || line.length() < 3) {
+                throw new IOException("SMTP connection closed by relay");
+            }
+        } while (line.length() > 3 && line.charAt(3) == '-');
+
+        int code;
+        try {
+            code = Integer.parseInt(line.substring(0, 3));
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed SMTP reply: " + line);
+        }
+        if (code != expectedCode) {
+            throw new SmtpException(code, line);
+        }
+    }
+
+    // Headers plus a dot-stuffed body terminated by <CRLF>.<CRLF>
+    private static String formatMessage(String from, String to, String subject, String body) {
+        StringBuilder message = new StringBuilder(body.length() + 256);
+        message.append("Date: ").append(ZonedDateTime.now().format(DateTimeFormatter.RFC_1123_DATE_TIME)).append("\r\n");
+        message.append("From: <").append(from).append(">\r\n");
+        message.append("To: <").append(to).append(">\r\n");
+        message.append("Subject: ").append(subject).append("\r\n");
+        message.append("MIME-Version: 1.0\r\n");
+        message.append("Content-Type: text/plain; charset=UTF-8\r\n");
+        message.append("Content-Transfer-Encoding: 8bit\r\n\r\n");
+
+        for (String line : body.split("\r?\n", -1)) {
+            if (line.startsWith(".")) {
+                message.append('.');
+            }
+            message.append(line).append("\r\n");
+        }
+        message.append(".\r\n");
+        return message.toString();
+    }
+
+    private static String base64(String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Relay settings, read from uniforum.mail.* system properties
+    static final class SmtpSettings {
+        final String host;
+        final int port;
+        final boolean startTls;
+        final String username;
+        final String password;
+        final String heloName;
+        final int connectTimeoutMs;
+        final int readTimeoutMs;
+
+        private SmtpSettings(String host) {
+            this.host = host;
+            this.port = Integer.getInteger("uniforum.mail.port", 25);
+            this.startTls = Boolean.getBoolean("uniforum.mail.startTls");
+            this.username = System.getProperty("uniforum.mail.username");
+            this.password = System.getProperty("uniforum.mail.password");
+            this.heloName = System.getProperty("uniforum.mail.heloName", "uniforum.local");
+            this.connectTimeoutMs = Integer.getInteger("uniforum.mail.connectTimeoutMs", 10_000);
+            this.readTimeoutMs = Integer.getInteger("uniforum.mail.readTimeoutMs", 30_000);
+        }
+
+        // null when no relay is configured
+        static SmtpSettings fromSystemProperties() {
+            String host = System.getProperty("uniforum.mail.host");
+            return host == null || host.isBlank() ? null : new SmtpSettings(host.trim());
+        }
+    }
+}
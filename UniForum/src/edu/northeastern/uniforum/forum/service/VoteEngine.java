@@ -0,0 +1,612 @@
+package edu.northeastern.uniforum.forum.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+import edu.northeastern.uniforum.forum.dao.PostDAO;
+
+// Write-behind votes: a click flips the (post, user) state in memory, journals it and returns the new count
+// at once; a background flusher writes the coalesced final states to Post_Votes/Posts in one transaction.
+// State is striped by post: each stripe has its own lock, dirty set and journal, so clicks on different posts
+// never wait on each other's append or fsync. Journal segments are only deleted after the transaction that
+// covers them commits, and are replayed on startup, so a crash loses no acknowledged vote. Flushed votes and
+// counts stay cached in a per-stripe LRU, so repeat clicks do not go back to the DB.
+public final class VoteEngine {
+
+    private static final long FLUSH_INTERVAL_MS = Long.getLong("uniforum.votes.flushMs", 200);
+    private static final Path JOURNAL_DIR = Path.of(System.getProperty("uniforum.votes.journalDir", "db"));
+    private static final boolean JOURNAL_FSYNC = Boolean.getBoolean("uniforum.votes.journalFsync");
+    private static final int STRIPES = Math.max(1, Integer.getInteger("uniforum.votes.stripes", 16));
+    private static final int VOTE_CACHE_SIZE = Integer.getInteger("uniforum.votes.cacheSize", 50_000);
+    private static final int COUNT_CACHE_SIZE = Integer.getInteger("uniforum.votes.countCacheSize", 10_000);
+
+    private final PostDAO postDAO = new PostDAO();
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    // Serializes flushes so segments are deleted in the order their batches commit
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService flusher;
+
+    private final LongAdder votesCast = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder rowsFlushed = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+
+    private static final class Holder {
+        private static final VoteEngine INSTANCE = new VoteEngine();
+    }
+
+    public static VoteEngine getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private VoteEngine() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(i);
+        }
+        replayJournal();
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "vote-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "vote-engine-shutdown"));
+    }
+
+	// Toggle an upvote (direction 1) or downvote (direction -1); only the first touch of a post or vote that is
+	// not cached reads the DB
+	public VoteResult vote(int postId, int userId, int direction) throws SQLException {
+        if (direction != 1 && direction != -1) {
+            throw new IllegalArgumentException("direction must be 1 or -1");
+        }
+
+        long key = key(postId, userId);
+        Stripe stripe = stripe(postId);
+        while (true) {
+            long seen;
+            boolean voteCached;
+            boolean countCached;
+            stripe.lock.lock();
+            try {
+                seen = stripe.evictions;
+                voteCached = stripe.votes.containsKey(key);
+                countCached = stripe.counters.containsKey(postId);
+            } finally {
+                stripe.lock.unlock();
+            }
+
+            // The DB reads stay outside the lock; if a flush evicts state meanwhile they are retried
+            Integer stored = voteCached ? null : postDAO.getUserVote(postId, userId);
+            Integer loaded = countCached ? null : postDAO.getVoteCount(postId);
+
+            stripe.lock.lock();
+            try {
+                if (seen != stripe.evictions) {
+                    continue;
+                }
+
+                Integer current = stripe.votes.get(key);
+                int before = current != null ? current : stored;
+                int updated = before == direction ? 0 : direction;
+                try {
+                    stripe.journal.append(postId, userId, updated);
+                } catch (UncheckedIOException e) {
+                    throw new SQLException("Could not journal vote", e.getCause());
+                }
+
+                stripe.votes.put(key, updated);
+                stripe.dirty.add(key);
+                PostCounter counter = stripe.counters.computeIfAbsent(postId, id -> new PostCounter(loaded, 0));
+                counter.delta += updated - before;
+                votesCast.increment();
+                return new VoteResult(counter.count(), updated);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+	// Lay cached votes over rows just read from the DB; posts the engine has not seen keep the row as it is
+	public Map<Integer, Integer> overlay(Integer userId, List<PostDAO.PostDTO> posts, Map<Integer, Integer> storedVotes) {
+        Map<Integer, Integer> merged = new HashMap<>();
+        for (PostDAO.PostDTO post : posts) {
+            Integer pending = null;
+            Stripe stripe = stripe(post.postId);
+            stripe.lock.lock();
+            try {
+                PostCounter counter = stripe.counters.get(post.postId);
+                if (counter != null) {
+                    post.upvotes = counter.count();
+                }
+                if (userId != null) {
+                    pending = stripe.votes.get(key(post.postId, userId));
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+
+            if (userId != null) {
+                int vote = pending != null ? pending : storedVotes.getOrDefault(post.postId, 0);
+                if (vote != 0) {
+                    merged.put(post.postId, vote);
+                }
+            }
+        }
+        return merged;
+    }
+
+	// Write every pending vote now; used by the flusher and on shutdown
+	public void flush() throws SQLException {
+        flushLock.lock();
+        try {
+            List<Stripe> flushing = new ArrayList<>();
+            List<PostDAO.VoteState> batch = new ArrayList<>();
+            for (Stripe stripe : stripes) {
+                stripe.lock.lock();
+                try {
+                    if (stripe.dirty.isEmpty()) {
+                        continue;
+                    }
+                    // Rotating and swapping the dirty set under the append lock means every record in the stripe's
+                    // segments up to `covered` belongs to a key of this batch, snapshotted no earlier than the record
+                    stripe.covered = stripe.journal.rotate();
+                    Set<Long> keys = stripe.dirty;
+                    stripe.dirty = stripe.inFlight;
+                    stripe.inFlight = keys;
+                    for (long key : keys) {
+                        int postId = postId(key);
+                        batch.add(new PostDAO.VoteState(postId, userId(key), stripe.votes.get(key)));
+                        if (!stripe.inFlightDeltas.containsKey(postId)) {
+                            PostCounter counter = stripe.counters.get(postId);
+                            stripe.inFlightDeltas.put(postId, counter != null ? counter.delta : 0);
+                        }
+                    }
+                    flushing.add(stripe);
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+            if (flushing.isEmpty()) {
+                return;
+            }
+
+            try {
+                postDAO.saveVotes(batch);
+            } catch (SQLException e) {
+                for (Stripe stripe : flushing) {
+                    stripe.restore();
+                }
+                throw e;
+            }
+
+            for (Stripe stripe : flushing) {
+                stripe.journal.deleteUpTo(stripe.covered);
+                stripe.settle();
+            }
+            flushes.increment();
+            rowsFlushed.add(batch.size());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public Stats getStats() {
+        int pending = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                pending += stripe.dirty.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return new Stats(votesCast.sum(), pending, flushes.sum(), rowsFlushed.sum(), flushFailures.sum());
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (SQLException | RuntimeException e) {
+            flushFailures.increment();
+            System.err.println("Vote flush failed, will retry: " + e.getMessage());
+        }
+    }
+
+    private void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+        for (Stripe stripe : stripes) {
+            stripe.journal.close();
+        }
+    }
+
+    // Apply segments left behind by a crash, whatever stripe count wrote them; last state per (post, user) wins
+    private void replayJournal() {
+        Map<Long, Integer> finalStates = new TreeMap<>();
+        List<Path> segments = VoteJournal.leftBehind(JOURNAL_DIR);
+        for (Path segment : segments) {
+            VoteJournal.read(segment, (postId, userId, vote) -> finalStates.put(key(postId, userId), vote));
+        }
+        if (finalStates.isEmpty()) {
+            VoteJournal.delete(segments);
+            return;
+        }
+
+        List<PostDAO.VoteState> batch = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : finalStates.entrySet()) {
+            batch.add(new PostDAO.VoteState(postId(entry.getKey()), userId(entry.getKey()), entry.getValue()));
+        }
+
+        try {
+            postDAO.saveVotes(batch);
+            System.out.println("Replayed " + batch.size() + " journaled votes");
+        } catch (SQLException e) {
+            // Re-journal the states into the current stripes and keep them pending so the regular flusher retries
+            System.err.println("Could not replay vote journal, will retry: " + e.getMessage());
+            for (PostDAO.VoteState state : batch) {
+                Stripe stripe = stripe(state.postId);
+                stripe.journal.append(state.postId, state.userId, state.vote);
+                stripe.votes.put(key(state.postId, state.userId), state.vote);
+                stripe.dirty.add(key(state.postId, state.userId));
+                stripe.replayed.add(state.postId);
+            }
+        }
+        VoteJournal.delete(segments);
+    }
+
+    private Stripe stripe(int postId) {
+        return stripes[Math.floorMod(postId, STRIPES)];
+    }
+
+    private static long key(int postId, int userId) {
+        return ((long) postId << 32) | (userId & 0xFFFFFFFFL);
+    }
+
+    private static int postId(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static int userId(long key) {
+        return (int) key;
+    }
+
+    // Like count as of the last commit plus the transitions applied in memory since; the clamp matches the
+    // MAX(0, ...) the flush applies to each committed delta, because base is re-clamped after every flush
+    private static final class PostCounter {
+        private int base;
+        private int delta;
+
+        private PostCounter(int base, int delta) {
+            this.base = base;
+            this.delta = delta;
+        }
+
+        private int count() {
+            return Math.max(0, base + delta);
+        }
+    }
+
+    // The votes of the posts hashed to one stripe. Everything but the journal is guarded by the lock, which is
+    // held around each append and rotation so the dirty set always names every key with a record in the open
+    // segment. Keys being flushed are pinned in inFlight, and their posts in inFlightDeltas, until settled.
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Long, Integer> votes = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<Integer, PostCounter> counters = new LinkedHashMap<>(16, 0.75f, true);
+        private Set<Long> dirty = new HashSet<>();
+        private Set<Long> inFlight = new HashSet<>();
+        private final Map<Integer, Integer> inFlightDeltas = new HashMap<>();
+        // Posts whose replayed votes were never counted in memory; their counters are reloaded once idle
+        private final Set<Integer> replayed = new HashSet<>();
+        private final VoteJournal journal;
+        private long covered;
+        // Bumped whenever cached state is evicted; a DB read taken before the bump may be stale
+        private long evictions;
+
+        private Stripe(int index) {
+            this.journal = new VoteJournal(JOURNAL_DIR, "votes-s" + index + "-");
+        }
+
+        // After a commit: fold each post's committed delta into its base with the same MAX(0, ...) clamp the
+        // UPDATE applied, unpin the batch and trim the caches back to their share of the bound
+        private void settle() {
+            lock.lock();
+            try {
+                for (Map.Entry<Integer, Integer> entry : inFlightDeltas.entrySet()) {
+                    int postId = entry.getKey();
+                    PostCounter counter = counters.get(postId);
+                    if (counter == null) {
+                        replayed.remove(postId);
+                        continue;
+                    }
+                    counter.base = Math.max(0, counter.base + entry.getValue());
+                    counter.delta -= entry.getValue();
+                    if (counter.delta == 0 && replayed.remove(postId)) {
+                        counters.remove(postId);
+                    }
+                }
+                inFlight.clear();
+                inFlightDeltas.clear();
+
+                int evicted = trim(votes, VOTE_CACHE_SIZE / STRIPES, entry -> !dirty.contains(entry.getKey()));
+                evicted += trim(counters, COUNT_CACHE_SIZE / STRIPES, entry -> entry.getValue().delta == 0);
+                if (evicted > 0) {
+                    evictions++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // After a failed commit: put the batch back so the next flush retries it with the segments kept so far
+        private void restore() {
+            lock.lock();
+            try {
+                dirty.addAll(inFlight);
+                inFlight.clear();
+                inFlightDeltas.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Drop least recently used entries the predicate allows until the map fits; returns how many went
+    private static <K, V> int trim(LinkedHashMap<K, V> map, int capacity, Predicate<Map.Entry<K, V>> evictable) {
+        int evicted = 0;
+        Iterator<Map.Entry<K, V>> it = map.entrySet().iterator();
+        while (map.size() > Math.max(1, capacity) && it.hasNext()) {
+            if (evictable.test(it.next())) {
+                it.remove();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public static final class VoteResult {
+        public final int upvotes;
+        public final int userVote;
+
+        private VoteResult(int upvotes, int userVote) {
+            this.upvotes = upvotes;
+            this.userVote = userVote;
+        }
+    }
+
+    public static final class Stats {
+        private final long votesCast;
+        private final int pending;
+        private final long flushes;
+        private final long rowsFlushed;
+        private final long flushFailures;
+
+        private Stats(long votesCast, int pending, long flushes, long rowsFlushed, long flushFailures) {
+            this.votesCast = votesCast;
+            this.pending = pending;
+            this.flushes = flushes;
+            this.rowsFlushed = rowsFlushed;
+            this.flushFailures = flushFailures;
+        }
+
+        public long getVotesCast() { return votesCast; }
+        public int getPending() { return pending; }
+        public long getFlushes() { return flushes; }
+        public long getRowsFlushed() { return rowsFlushed; }
+        public long getFlushFailures() { return flushFailures; }
+
+        @Override
+        public String toString() {
+            return String.format("votes=%d pending=%d flushes=%d rowsFlushed=%d failures=%d",
+                    votesCast, pending, flushes, rowsFlushed, flushFailures);
+        }
+    }
+
+    private interface JournalEntryHandler {
+        void accept(int postId, int userId, int vote);
+    }
+
+    // Append-only segments named <prefix><seq>.journal holding "postId,userId,vote" lines
+    private static final class VoteJournal {
+        private static final String PREFIX = "votes-";
+        private static final String SUFFIX = ".journal";
+
+        private final Path dir;
+        private final String prefix;
+        private long sequence;
+        private BufferedWriter writer;
+        private FileChannel channel;
+
+        private VoteJournal(Path dir, String prefix) {
+            this.dir = dir;
+            this.prefix = prefix;
+            try {
+                Files.createDirectories(dir);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create vote journal directory " + dir, e);
+            }
+            for (long existing : segments()) {
+                sequence = Math.max(sequence, existing);
+            }
+        }
+
+        private synchronized void append(int postId, int userId, int vote) {
+            try {
+                if (writer == null) {
+                    open(sequence + 1);
+                }
+                writer.write(postId + "," + userId + "," + vote + "\n");
+                writer.flush();
+                if (JOURNAL_FSYNC) {
+                    channel.force(false);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // Close the current segment and return its sequence; the next append starts a new one
+        private synchronized long rotate() {
+            closeWriter();
+            return sequence;
+        }
+
+        private synchronized void deleteUpTo(long lastSequence) {
+            List<Path> covered = new ArrayList<>();
+            for (long seq : segments()) {
+                if (seq <= lastSequence && !(writer != null && seq == sequence)) {
+                    covered.add(segment(seq));
+                }
+            }
+            delete(covered);
+        }
+
+        private synchronized void close() {
+            closeWriter();
+        }
+
+        private void open(long seq) throws IOException {
+            channel = FileChannel.open(segment(seq), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+            sequence = seq;
+        }
+
+        private void closeWriter() {
+            if (writer == null) {
+                return;
+            }
+            try {
+                writer.flush();
+                channel.force(false);
+                writer.close();
+            } catch (IOException e) {
+                System.err.println("Could not close vote journal segment: " + e.getMessage());
+            }
+            writer = null;
+            channel = null;
+        }
+
+        private List<Long> segments() {
+            List<Long> result = new ArrayList<>();
+            for (Path path : list(dir, prefix)) {
+                Long seq = sequenceOf(path, prefix);
+                if (seq != null) {
+                    result.add(seq);
+                }
+            }
+            result.sort(null);
+            return result;
+        }
+
+        private Path segment(long seq) {
+            return dir.resolve(prefix + seq + SUFFIX);
+        }
+
+        // Every segment in the directory, the unstriped votes-<seq> ones first, then each stripe's oldest first;
+        // a key only ever lands in one stripe, so the order across stripes does not matter
+        private static List<Path> leftBehind(Path dir) {
+            List<Path> legacy = new ArrayList<>();
+            List<Path> striped = new ArrayList<>();
+            for (Path path : list(dir, PREFIX)) {
+                if (sequenceOf(path, PREFIX) != null) {
+                    legacy.add(path);
+                } else if (sequenceOf(path, stripePrefix(path)) != null) {
+                    striped.add(path);
+                }
+            }
+            legacy.sort(Comparator.comparingLong(path -> sequenceOf(path, PREFIX)));
+            striped.sort(Comparator.comparing((Path path) -> stripePrefix(path))
+                    .thenComparingLong(path -> sequenceOf(path, stripePrefix(path))));
+            legacy.addAll(striped);
+            return legacy;
+        }
+
+        // Feed every complete line of one segment
+        private static void read(Path segment, JournalEntryHandler handler) {
+            try {
+                for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+                    String[] parts = line.split(",");
+                    if (parts.length != 3) {
+                        continue; // torn write from a crash
+                    }
+                    try {
+                        handler.accept(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+                                Integer.parseInt(parts[2]));
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Could not read vote journal segment " + segment + ": " + e.getMessage());
+            }
+        }
+
+        private static void delete(List<Path> segments) {
+            for (Path path : segments) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    System.err.println("Could not delete vote journal segment " + path + ": " + e.getMessage());
+                }
+            }
+        }
+
+        private static List<Path> list(Path dir, String prefix) {
+            List<Path> result = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, prefix + "*" + SUFFIX)) {
+                for (Path path : stream) {
+                    result.add(path);
+                }
+            } catch (IOException e) {
+                System.err.println("Could not list vote journal segments: " + e.getMessage());
+            }
+            return result;
+        }
+
+        private static Long sequenceOf(Path path, String prefix) {
+            String name = path.getFileName().toString();
+            try {
+                return Long.parseLong(name.substring(prefix.length(), name.length() - SUFFIX.length()));
+            } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                return null;
+            }
+        }
+
+        // "votes-s3-" for votes-s3-12.journal
+        private static String stripePrefix(Path path) {
+            String name = path.getFileName().toString();
+            return name.substring(0, name.lastIndexOf('-') + 1);
+        }
+    }
+}
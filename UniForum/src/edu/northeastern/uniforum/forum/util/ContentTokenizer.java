@@ -0,0 +1,151 @@
+package edu.northeastern.uniforum.forum.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class ContentTokenizer {
+
+    // http(s) URLs; compiled once instead of on every rendered post or reply
+    private static final Pattern URL_PATTERN = Pattern.compile(
+            "\\b(https?://[\\w\\-]+\\.[a-z]{2,}(?:\\.[a-z]{2,})?(?:/[\\w\\-.,@?^=%&:/~+#]*)?)",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final int CACHE_SIZE = Integer.getInteger("uniforum.content.tokenCacheSize", 2048);
+
+    // Keyed by the post or reply id plus the content's hash; the cached content is only compared after both
+    // match, so an edited body misses and a lookup never hashes a long body more than String itself does
+    private static final Map<Key, Entry> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    public enum TokenType {
+        TEXT,
+        LINK
+    }
+
+    // A run of plain text, or a link whose text is also the target URL
+    public static final class Token {
+        private final TokenType type;
+        private final String text;
+
+        private Token(TokenType type, String text) {
+            this.type = type;
+            this.text = text;
+        }
+
+        public TokenType getType() {
+            return type;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+
+    private ContentTokenizer() {
+    }
+
+	// Split a post body into text and link tokens; repeated calls for the same post and content hit the cache
+	public static List<Token> tokenizePost(int postId, String content) {
+        return tokenize(new Key(false, postId, content), content);
+    }
+
+	// Same as tokenizePost, for a reply body
+	public static List<Token> tokenizeReply(int replyId, String content) {
+        return tokenize(new Key(true, replyId, content), content);
+    }
+
+	public static long getCacheHits() {
+        return HITS.sum();
+    }
+
+	public static long getCacheMisses() {
+        return MISSES.sum();
+    }
+
+    private static List<Token> tokenize(Key key, String content) {
+        if (content == null || content.isEmpty()) {
+            return List.of();
+        }
+
+        Entry entry = CACHE.get(key);
+        if (entry != null && entry.content.equals(content)) {
+            HITS.increment();
+            return entry.tokens;
+        }
+
+        MISSES.increment();
+        List<Token> tokens = scan(content);
+        CACHE.put(key, new Entry(content, tokens));
+        return tokens;
+    }
+
+    // One pass over the content: text between matches becomes TEXT, each match a LINK
+    private static List<Token> scan(String content) {
+        List<Token> tokens = new ArrayList<>();
+        Matcher matcher = URL_PATTERN.matcher(content);
+        int lastEnd = 0;
+
+        while (matcher.find()) {
+            if (matcher.start() > lastEnd) {
+                tokens.add(new Token(TokenType.TEXT, content.substring(lastEnd, matcher.start())));
+            }
+            tokens.add(new Token(TokenType.LINK, matcher.group(1)));
+            lastEnd = matcher.end();
+        }
+
+        if (lastEnd < content.length()) {
+            tokens.add(new Token(TokenType.TEXT, lastEnd == 0 ? content : content.substring(lastEnd)));
+        }
+        return List.copyOf(tokens);
+    }
+
+    private static final class Key {
+        private final boolean reply;
+        private final int id;
+        private final int contentHash;
+
+        private Key(boolean reply, int id, String content) {
+            this.reply = reply;
+            this.id = id;
+            this.contentHash = content != null ? content.hashCode() : 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return reply == other.reply && id == other.id && contentHash == other.contentHash;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * Boolean.hashCode(reply) + id) + contentHash;
+        }
+    }
+
+    private static final class Entry {
+        private final String content;
+        private final List<Token> tokens;
+
+        private Entry(String content, List<Token> tokens) {
+            this.content = content;
+            this.tokens = tokens;
+        }
+    }
+}